@@ -0,0 +1,54 @@
+package compass.career.evaluationsapi.client;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Map;
+
+/**
+ * Búsquedas públicas (sin autenticación) en Reddit. Cada búsqueda se identifica por una clave
+ * estable que usa la caché de datos sociales; la respuesta se lee en streaming con RedditListingParser.
+ */
+@Component
+@RequiredArgsConstructor
+public class RedditClient {
+
+    private static final String REDDIT_BASE_URL = "https://www.reddit.com";
+    private static final String USER_AGENT = "VocationalGuidanceApp/1.0 (Educational Purpose)";
+
+    @Qualifier("redditRestTemplate")
+    private final RestTemplate restTemplate;
+    private final RedditListingParser listingParser;
+
+    public record Search(String cacheKey, String url) {
+    }
+
+    public static Search search(String query) {
+        return new Search("search:" + query, REDDIT_BASE_URL + "/search.json?q=" +
+                query.replace(" ", "+") + "&limit=10&sort=relevance&t=year");
+    }
+
+    public static Search subredditSearch(String query, String subreddit) {
+        return new Search("r/" + subreddit + ":" + query, REDDIT_BASE_URL + "/r/" + subreddit + "/search.json?q=" +
+                query.replace(" ", "+") + "&restrict_sr=1&limit=10&sort=relevance");
+    }
+
+    // Lanza excepción ante cualquier fallo para que la caché no guarde resultados vacíos
+    public Map<String, Object> fetch(Search search) {
+        Map<String, Object> result = restTemplate.execute(
+                search.url(),
+                HttpMethod.GET,
+                request -> request.getHeaders().set(HttpHeaders.USER_AGENT, USER_AGENT),
+                response -> listingParser.parse(response.getBody())
+        );
+
+        if (result == null) {
+            throw new IllegalStateException("Empty response from Reddit");
+        }
+        return result;
+    }
+}
@@ -0,0 +1,166 @@
+package compass.career.evaluationsapi.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lectura en streaming de un listing de búsqueda de Reddit (data.children[].data). Sólo toma los
+ * siete campos que muestra el detalle y los primeros caracteres de selftext; el resto de cada post
+ * se salta sin materializarse.
+ */
+@Component
+public class RedditListingParser {
+
+    public static final int SNIPPET_LENGTH = 200;
+
+    private final JsonFactory jsonFactory;
+
+    public RedditListingParser(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * @return el mismo formato que se guarda en caché: posts, totalPosts, totalUpvotes,
+     *         totalComments y averageScore
+     */
+    public Map<String, Object> parse(InputStream body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            return readListing(parser);
+        }
+    }
+
+    public Map<String, Object> parse(String body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            return readListing(parser);
+        }
+    }
+
+    private Map<String, Object> readListing(JsonParser parser) throws IOException {
+        expect(parser.nextToken(), JsonToken.START_OBJECT, "listing");
+
+        List<Map<String, Object>> posts = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            if ("data".equals(field) && value == JsonToken.START_OBJECT) {
+                posts = readListingData(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if (posts == null) {
+            throw new IOException("Reddit listing has no data.children");
+        }
+
+        int totalUpvotes = 0;
+        int totalComments = 0;
+        for (Map<String, Object> post : posts) {
+            totalUpvotes += ((Number) post.getOrDefault("score", 0)).intValue();
+            totalComments += ((Number) post.getOrDefault("numComments", 0)).intValue();
+        }
+
+        Map<String, Object> extracted = new HashMap<>();
+        extracted.put("posts", posts);
+        extracted.put("totalPosts", posts.size());
+        extracted.put("totalUpvotes", totalUpvotes);
+        extracted.put("totalComments", totalComments);
+        extracted.put("averageScore", posts.isEmpty() ? 0 : totalUpvotes / posts.size());
+        return extracted;
+    }
+
+    private List<Map<String, Object>> readListingData(JsonParser parser) throws IOException {
+        List<Map<String, Object>> posts = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            if ("children".equals(field) && value == JsonToken.START_ARRAY) {
+                posts = new ArrayList<>();
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    Map<String, Object> post = readChild(parser);
+                    if (post != null) {
+                        posts.add(post);
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return posts;
+    }
+
+    // {"kind": "t3", "data": {...}}
+    private Map<String, Object> readChild(JsonParser parser) throws IOException {
+        Map<String, Object> post = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            if ("data".equals(field) && value == JsonToken.START_OBJECT) {
+                post = readPost(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return post;
+    }
+
+    private Map<String, Object> readPost(JsonParser parser) throws IOException {
+        Map<String, Object> post = new HashMap<>();
+        post.put("score", 0);
+        post.put("numComments", 0);
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "title", "author", "subreddit" -> post.put(field, parser.getText());
+                case "score" -> post.put("score", parser.getNumberValue());
+                case "num_comments" -> post.put("numComments", parser.getNumberValue());
+                case "created_utc" -> post.put("created", parser.getNumberValue());
+                case "permalink" -> post.put("url", "https://reddit.com" + parser.getText());
+                case "selftext" -> putSnippet(parser, post);
+                default -> parser.skipChildren();
+            }
+        }
+        return post;
+    }
+
+    // Copia sólo el prefijo del buffer del token en lugar de crear el String completo
+    private void putSnippet(JsonParser parser, Map<String, Object> post) throws IOException {
+        int length = parser.getTextLength();
+        if (length == 0) {
+            return;
+        }
+
+        char[] text = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        post.put("snippet", length > SNIPPET_LENGTH
+                ? new String(text, offset, SNIPPET_LENGTH) + "..."
+                : new String(text, offset, length));
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected, String what) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Malformed Reddit " + what + ": expected " + expected + " but found " + actual);
+        }
+    }
+}
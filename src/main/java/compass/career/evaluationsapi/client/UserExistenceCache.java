@@ -0,0 +1,112 @@
+package compass.career.evaluationsapi.client;
+
+import compass.career.evaluationsapi.service.BoundedTtlCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Caché acotada de la existencia de usuarios en UsersAPI. Un usuario existente se recuerda durante
+ * positive-ttl y uno inexistente sólo durante negative-ttl (puede registrarse en cualquier momento);
+ * las consultas simultáneas del mismo id comparten una única llamada. UsersAPI puede invalidar
+ * entradas mediante el endpoint interno, pero sólo en la instancia que recibe la llamada: en las
+ * demás la entrada dura hasta positive-ttl, por eso se mantiene en minutos.
+ */
+@Component
+@Slf4j
+public class UserExistenceCache {
+
+    private final MeterRegistry meterRegistry;
+    private final Duration positiveTtl;
+    private final Duration negativeTtl;
+
+    private final BoundedTtlCache<Integer, Boolean> entries;
+    private final Map<Integer, CompletableFuture<Boolean>> inFlight = new ConcurrentHashMap<>();
+
+    public UserExistenceCache(
+            MeterRegistry meterRegistry,
+            @Value("${usersapi.exists-cache.positive-ttl:PT5M}") Duration positiveTtl,
+            @Value("${usersapi.exists-cache.negative-ttl:PT30S}") Duration negativeTtl,
+            @Value("${usersapi.exists-cache.max-entries:50000}") int maxEntries) {
+
+        this.meterRegistry = meterRegistry;
+        this.positiveTtl = positiveTtl;
+        this.negativeTtl = negativeTtl;
+        this.entries = new BoundedTtlCache<>(maxEntries);
+
+        Gauge.builder("usersapi.exists.cache.size", entries, BoundedTtlCache::size)
+                .description("Existence results currently cached")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param loader consulta a UsersAPI; si lanza excepción el error no se cachea y se propaga a
+     *               todas las peticiones que esperaban el mismo id
+     */
+    public boolean get(Integer userId, Callable<Boolean> loader) throws Exception {
+        Boolean cached = entries.get(userId);
+        if (cached != null) {
+            record("hit");
+            return cached;
+        }
+
+        CompletableFuture<Boolean> mine = new CompletableFuture<>();
+        CompletableFuture<Boolean> running = inFlight.putIfAbsent(userId, mine);
+        if (running != null) {
+            record("coalesced");
+            return await(running);
+        }
+
+        record("miss");
+        try {
+            boolean exists = loader.call();
+            // Si se invalidó mientras tanto, el resultado se entrega pero no se guarda
+            if (inFlight.remove(userId, mine)) {
+                entries.put(userId, exists, exists ? positiveTtl : negativeTtl);
+            }
+            mine.complete(exists);
+            return exists;
+        } catch (Exception e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(userId, mine);
+        }
+    }
+
+    public void invalidate(Integer userId) {
+        inFlight.remove(userId);
+        entries.remove(userId);
+        log.debug("Invalidated cached existence of user {}", userId);
+    }
+
+    public void invalidateAll() {
+        inFlight.clear();
+        entries.clear();
+        log.info("Invalidated all cached user existence results");
+    }
+
+    private static boolean await(CompletableFuture<Boolean> running) throws Exception {
+        try {
+            return running.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void record(String result) {
+        meterRegistry.counter("usersapi.exists.cache", "result", result).increment();
+    }
+}
@@ -1,12 +1,16 @@
 package compass.career.evaluationsapi.client;
 
+import compass.career.evaluationsapi.configuration.JwtUserDetails;
 import compass.career.evaluationsapi.dto.SkillsDTO;
 import compass.career.evaluationsapi.dto.UserBasicInfoDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
@@ -16,7 +20,9 @@ import org.springframework.web.client.RestTemplate;
 @Slf4j
 public class UsersApiClient {
 
+    @Qualifier("usersApiRestTemplate")
     private final RestTemplate restTemplate;
+    private final UserExistenceCache userExistenceCache;
 
     @Value("${usersapi.url}")
     private String usersApiUrl;
@@ -63,20 +69,48 @@ public class UsersApiClient {
         }
     }
 
+    /**
+     * Resuelve desde UserExistenceCache; sólo los fallos de caché llegan a UsersAPI. Un error de
+     * comunicación se trata como inexistente pero no se cachea.
+     */
     public boolean userExists(Integer userId) {
+        // El JWT verificado ya prueba que el usuario existe (ver JwtAuthenticationFilter)
+        if (isAuthenticatedAs(userId)) {
+            return true;
+        }
+
         try {
-            String url = usersApiUrl + "/api/v1/users/" + userId + "/exists";
-            log.info("Checking if user exists in UsersAPI: {}", url);
+            return userExistenceCache.get(userId, () -> fetchUserExists(userId));
+        } catch (Exception e) {
+            log.error("Error checking if user exists: {}", userId, e);
+            return false;
+        }
+    }
+
+    private static boolean isAuthenticatedAs(Integer userId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null
+                && authentication.getDetails() instanceof JwtUserDetails verified
+                && verified.userId().equals(userId);
+    }
 
+    private boolean fetchUserExists(Integer userId) {
+        String url = usersApiUrl + "/api/v1/users/" + userId + "/exists";
+        log.debug("Checking if user exists in UsersAPI: {}", url);
+
+        try {
             ResponseEntity<Boolean> response = restTemplate.getForEntity(
                     url,
                     Boolean.class
             );
 
             return Boolean.TRUE.equals(response.getBody());
-        } catch (Exception e) {
-            log.error("Error checking if user exists: {}", userId, e);
-            return false;
+        } catch (HttpClientErrorException e) {
+            // Un 404 es una respuesta válida (y cacheable) de inexistencia
+            if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
+                return false;
+            }
+            throw e;
         }
     }
 }
\ No newline at end of file
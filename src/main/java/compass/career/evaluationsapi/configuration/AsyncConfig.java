@@ -0,0 +1,109 @@
+package compass.career.evaluationsapi.configuration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@Slf4j
+// Proxies de clase: los listeners @Async (p. ej. RecommendationDeltaServiceImpl) no están en sus interfaces
+@EnableAsync(proxyTargetClass = true)
+public class AsyncConfig {
+
+    // Recálculos de recomendaciones en segundo plano; un solo hilo evita competir con las peticiones por Groq
+    @Bean(name = "recommendationTaskExecutor")
+    public ThreadPoolTaskExecutor recommendationTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("recommendations-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    // Coordinador del refresco masivo: espera a sus workers durante todo el job, así que no comparte hilo con los recálculos
+    @Bean(name = "recommendationRefreshJobExecutor")
+    public ThreadPoolTaskExecutor recommendationRefreshJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("recommendation-refresh-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+
+    // Conexiones de Hikari que el refresco masivo nunca puede ocupar, reservadas al tráfico interactivo
+    private static final int INTERACTIVE_CONNECTION_RESERVE = 2;
+
+    // Workers del refresco masivo; el tamaño acota las llamadas concurrentes a Groq del job
+    @Bean(name = "recommendationRefreshExecutor")
+    public ThreadPoolTaskExecutor recommendationRefreshExecutor(
+            @Value("${recommendations.refresh.parallelism:4}") int requestedParallelism,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize) {
+        // Cada worker escribe sus filas en una transacción propia; se acota para no agotar el pool
+        int parallelism = Math.max(1, Math.min(requestedParallelism, connectionPoolSize - INTERACTIVE_CONNECTION_RESERVE));
+        if (parallelism < requestedParallelism) {
+            log.warn("recommendations.refresh.parallelism={} exceeds the connection pool ({}) minus the interactive reserve; using {}",
+                    requestedParallelism, connectionPoolSize, parallelism);
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setThreadNamePrefix("recommendation-refresh-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+
+    // Revalidación en segundo plano de la caché de Reddit; las entradas obsoletas se sirven mientras tanto
+    @Bean(name = "socialDataRefreshExecutor")
+    public ThreadPoolTaskExecutor socialDataRefreshExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("social-refresh-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Búsquedas en Reddit de los detalles; cada petición lanza dos en paralelo y espera hasta su deadline
+    @Bean(name = "redditSearchExecutor")
+    public ThreadPoolTaskExecutor redditSearchExecutor(
+            @Value("${social.reddit.search-threads:8}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("reddit-search-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Entradas remotas de las recomendaciones (UsersAPI); si se satura, la tarea corre en el hilo de la petición
+    @Bean(name = "recommendationInputExecutor")
+    public ThreadPoolTaskExecutor recommendationInputExecutor(
+            @Value("${recommendations.inputs.threads:16}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(0);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("recommendation-input-");
+        executor.initialize();
+        return executor;
+    }
+}
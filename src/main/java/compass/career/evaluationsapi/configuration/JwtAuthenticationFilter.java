@@ -1,13 +1,18 @@
 package compass.career.evaluationsapi.configuration;
 
 import compass.career.evaluationsapi.service.JwtService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -15,13 +20,25 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final String USER_ID_PARAMETER = "userId";
+
     private final JwtService jwtService;
 
+    // Modo opcional: el userId sale del claim verificado en lugar de confiar en el parámetro
+    @Value("${security.jwt.trusted-user-id.enabled:false}")
+    private boolean trustedUserId;
+
+    @Value("${security.jwt.trusted-user-id.claim:userId}")
+    private String userIdClaim;
+
     @Override
     protected void doFilterInternal(
             @NonNull HttpServletRequest request,
@@ -40,16 +57,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             // Extraer el token JWT
             final String jwt = authHeader.substring(7);
-            final String userEmail = jwtService.extractUsername(jwt);
+
+            // Una sola verificación de firma por token (JwtService cachea los claims verificados)
+            final Claims claims = jwtService.parseClaims(jwt);
+            final String userEmail = claims.getSubject();
 
             // Si el token es válido y no hay autenticación previa
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
                 // Validar el token
-                if (jwtService.isTokenValid(jwt)) {
+                if (jwtService.isTokenValid(claims)) {
 
                     // ✅ SOLUCIÓN: Extraer rol y validar que NO sea null
-                    String userRole = jwtService.extractClaim(jwt, claims -> claims.get("role", String.class));
+                    String userRole = claims.get("role", String.class);
 
                     // ✅ Si el rol es null, asignar un rol por defecto o rechazar
                     if (userRole == null || userRole.isEmpty()) {
@@ -72,6 +92,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                             Collections.singletonList(authority)
                     );
 
+                    if (trustedUserId) {
+                        Integer verifiedUserId = jwtService.extractUserId(claims, userIdClaim);
+                        if (verifiedUserId != null) {
+                            authToken.setDetails(new JwtUserDetails(verifiedUserId));
+                        }
+                    }
+
                     // Establecer autenticación en el contexto de seguridad
                     SecurityContextHolder.getContext().setAuthentication(authToken);
 
@@ -83,6 +110,77 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // No propagar la excepción, solo logearla
         }
 
-        filterChain.doFilter(request, response);
+        HttpServletRequest chainRequest = request;
+        if (trustedUserId) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getDetails() instanceof JwtUserDetails verified) {
+                String requested = request.getParameter(USER_ID_PARAMETER);
+
+                if (requested == null) {
+                    chainRequest = new VerifiedUserIdRequest(request, verified.userId());
+                } else if (isOtherUser(requested, verified.userId())) {
+                    logger.warn("userId " + requested + " no coincide con el del token (" + verified.userId() + ")");
+                    writeUserIdMismatch(request, response);
+                    return;
+                }
+            }
+        }
+
+        filterChain.doFilter(chainRequest, response);
+    }
+
+    // Un valor no numérico se deja pasar para que el controlador responda 400 como siempre
+    private static boolean isOtherUser(String requested, Integer verifiedUserId) {
+        try {
+            return !Integer.valueOf(requested.trim()).equals(verifiedUserId);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static void writeUserIdMismatch(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.FORBIDDEN.value());
+        response.setContentType("application/json");
+        response.getWriter().write(String.format(
+                "{\"timestamp\":\"%s\",\"status\":403,\"error\":\"Forbidden\",\"message\":\"The userId does not match the authenticated user\",\"path\":\"%s\"}",
+                java.time.Instant.now(),
+                request.getRequestURI()
+        ));
+    }
+
+    /**
+     * Añade el parámetro userId con el valor del token cuando el cliente no lo envía, para que los
+     * @RequestParam existentes lo reciban sin cambios en los controladores.
+     */
+    private static class VerifiedUserIdRequest extends HttpServletRequestWrapper {
+
+        private final String userId;
+
+        VerifiedUserIdRequest(HttpServletRequest request, Integer userId) {
+            super(request);
+            this.userId = userId.toString();
+        }
+
+        @Override
+        public String getParameter(String name) {
+            return USER_ID_PARAMETER.equals(name) ? userId : super.getParameter(name);
+        }
+
+        @Override
+        public String[] getParameterValues(String name) {
+            return USER_ID_PARAMETER.equals(name) ? new String[]{userId} : super.getParameterValues(name);
+        }
+
+        @Override
+        public Map<String, String[]> getParameterMap() {
+            Map<String, String[]> parameters = new HashMap<>(super.getParameterMap());
+            parameters.put(USER_ID_PARAMETER, new String[]{userId});
+            return Collections.unmodifiableMap(parameters);
+        }
+
+        @Override
+        public Enumeration<String> getParameterNames() {
+            return Collections.enumeration(getParameterMap().keySet());
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package compass.career.evaluationsapi.configuration;
+
+/**
+ * Detalles de la autenticación en modo security.jwt.trusted-user-id: el id de usuario que trae el
+ * JWT ya verificado, usado para enlazar el parámetro userId y omitir la consulta de existencia.
+ */
+public record JwtUserDetails(Integer userId) {
+}
@@ -1,14 +1,110 @@
 package compass.career.evaluationsapi.configuration;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Un RestTemplate por integración, cada uno con su propio pool de Apache HttpClient 5: límites por
+ * destino, timeouts de conexión, lectura y espera de conexión del pool, y expulsión de conexiones
+ * inactivas. La configuración se lee de http.clients.&lt;nombre&gt;.* y las métricas del pool se
+ * publican como httpcomponents.httpclient.pool.* con la etiqueta httpclient=&lt;nombre&gt;.
+ */
 @Configuration
+@RequiredArgsConstructor
+@Slf4j
 public class RestTemplateConfig {
 
-    @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    private final List<CloseableHttpClient> httpClients = new CopyOnWriteArrayList<>();
+
+    @Bean(name = "usersApiRestTemplate")
+    public RestTemplate usersApiRestTemplate() {
+        return pooledRestTemplate("usersapi");
+    }
+
+    @Bean(name = "azureRestTemplate")
+    public RestTemplate azureRestTemplate() {
+        return pooledRestTemplate("azure");
+    }
+
+    // Reddit es opcional para el detalle: timeouts cortos para que un socket colgado no retenga hilos
+    @Bean(name = "redditRestTemplate")
+    public RestTemplate redditRestTemplate() {
+        return pooledRestTemplate("reddit");
+    }
+
+    @PreDestroy
+    public void closeHttpClients() {
+        for (CloseableHttpClient httpClient : httpClients) {
+            try {
+                httpClient.close();
+            } catch (IOException e) {
+                log.warn("Error closing HTTP client: {}", e.getMessage());
+            }
+        }
+    }
+
+    private RestTemplate pooledRestTemplate(String name) {
+        String prefix = "http.clients." + name + ".";
+        Duration connectTimeout = environment.getProperty(prefix + "connect-timeout", Duration.class, Duration.ofSeconds(2));
+        Duration readTimeout = environment.getProperty(prefix + "read-timeout", Duration.class, Duration.ofSeconds(10));
+        Duration connectionRequestTimeout = environment.getProperty(prefix + "connection-request-timeout", Duration.class, Duration.ofSeconds(1));
+        Duration idleEviction = environment.getProperty(prefix + "idle-eviction", Duration.class, Duration.ofSeconds(30));
+        Duration timeToLive = environment.getProperty(prefix + "time-to-live", Duration.class, Duration.ofMinutes(5));
+        int maxTotal = environment.getProperty(prefix + "max-total", Integer.class, 50);
+        int maxPerRoute = environment.getProperty(prefix + "max-per-route", Integer.class, 20);
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setTimeToLive(TimeValue.of(timeToLive))
+                        // Evita reutilizar sockets que el servidor cerró mientras estaban en el pool
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .evictIdleConnections(TimeValue.of(idleEviction))
+                .evictExpiredConnections()
+                .build();
+        httpClients.add(httpClient);
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, name).bindTo(meterRegistry);
+
+        log.info("HTTP client '{}': pool {}/{} per route, connect {}, read {}, pool wait {}",
+                name, maxTotal, maxPerRoute, connectTimeout, readTimeout, connectionRequestTimeout);
+
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
     }
-}
\ No newline at end of file
+}
@@ -1,9 +1,12 @@
 package compass.career.evaluationsapi.configuration;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -15,6 +18,8 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Arrays;
 import java.util.List;
 
@@ -24,8 +29,14 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SecurityConfig {
 
+    private static final String INTERNAL_API_KEY_HEADER = "X-Internal-Api-Key";
+
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    // Secreto compartido con UsersAPI; vacío deshabilita los endpoints internos
+    @Value("${usersapi.internal-api-key:}")
+    private String internalApiKey;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -37,16 +48,23 @@ public class SecurityConfig {
                                 "/api/v1/evaluations/personality-test",
                                 "/api/v1/evaluations/vocational-interests-test",
                                 "/api/v1/evaluations/cognitive-skills-test",
-                                "/actuator/**",
+                                "/actuator/health",
+                                "/actuator/health/**",
+                                "/actuator/info",
                                 "/v3/api-docs/**",
                                 "/swagger-ui/**",
                                 "/swagger-ui.html"
                         ).permitAll()
 
+                        // Internos (UsersAPI) - Sin JWT, con secreto compartido
+                        .requestMatchers("/api/v1/internal/**").access((authentication, context) ->
+                                new AuthorizationDecision(hasInternalApiKey(context.getRequest())))
+
                         // Careers - Endpoints con acceso mixto
                         .requestMatchers("GET", "/api/v1/careers").authenticated()
                         .requestMatchers("GET", "/api/v1/careers/{careerId}").authenticated()
                         .requestMatchers("GET", "/api/v1/careers/details/{careerId}").authenticated()
+                        .requestMatchers("GET", "/api/v1/careers/details/{careerId}/social").authenticated()
                         .requestMatchers("POST", "/api/v1/careers/recommendations").hasRole("UNIVERSITY_STUDENT")
                         .requestMatchers("POST", "/api/v1/careers").hasRole("ADMIN")
                         .requestMatchers("PUT", "/api/v1/careers/**").hasRole("ADMIN")
@@ -67,6 +85,12 @@ public class SecurityConfig {
                         // Tests (Admin) - Solo ADMIN
                         .requestMatchers("/api/v1/tests/**").hasRole("ADMIN")
 
+                        // Procesos administrativos - Solo ADMIN
+                        .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
+
+                        // Resto de Actuator (métricas, circuit breakers) - Solo ADMIN
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session
@@ -99,6 +123,16 @@ public class SecurityConfig {
         return http.build();
     }
 
+    private boolean hasInternalApiKey(HttpServletRequest request) {
+        String provided = request.getHeader(INTERNAL_API_KEY_HEADER);
+        if (internalApiKey.isBlank() || provided == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(
+                internalApiKey.getBytes(StandardCharsets.UTF_8),
+                provided.getBytes(StandardCharsets.UTF_8));
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -116,13 +150,15 @@ public class SecurityConfig {
                 "Accept",
                 "Origin",
                 "Access-Control-Request-Method",
-                "Access-Control-Request-Headers"
+                "Access-Control-Request-Headers",
+                "If-None-Match"
         ));
 
         configuration.setExposedHeaders(Arrays.asList(
                 "Access-Control-Allow-Origin",
                 "Access-Control-Allow-Credentials",
-                "Authorization"
+                "Authorization",
+                "ETag"
         ));
 
         configuration.setAllowCredentials(true);
@@ -9,6 +9,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.net.URI;
 import java.util.List;
@@ -21,6 +22,7 @@ import java.util.List;
 public class CareerController {
 
     private final CareerService careerService;
+    private final ConditionalResponses conditionalResponses;
 
     @PostMapping("/recommendations")
     @Operation(
@@ -34,34 +36,48 @@ public class CareerController {
     @GetMapping("/details/{careerId}")
     @Operation(
             summary = "Get complete career details",
-            description = "Retrieves detailed information about a specific career including social media data."
+            description = "Retrieves detailed information about a specific career. Served from cache with a strong ETag; "
+                    + "send If-None-Match to receive 304 when unchanged. Social media data is available at /details/{careerId}/social."
     )
-    public CareerDetailResponse getCareerDetails(@PathVariable Integer careerId) {
-        return careerService.getCareerDetails(careerId);
+    public ResponseEntity<CareerDetailResponse> getCareerDetails(@PathVariable Integer careerId, WebRequest webRequest) {
+        return conditionalResponses.respond("career-detail", careerService.getCareerDetails(careerId), webRequest);
+    }
+
+    @GetMapping("/details/{careerId}/social")
+    @Operation(
+            summary = "Get career social media data",
+            description = "Retrieves community data from Reddit for a specific career. Supports If-None-Match; "
+                    + "the ETag changes whenever the underlying social data is refreshed."
+    )
+    public ResponseEntity<Object> getCareerSocialData(@PathVariable Integer careerId, WebRequest webRequest) {
+        return conditionalResponses.respond("career-social", careerService.getCareerSocialData(careerId), webRequest);
     }
 
     @GetMapping
     @Operation(
             summary = "List all available careers with pagination",
-            description = "Retrieves the catalog of university careers with pagination support."
+            description = "Retrieves the catalog of university careers with pagination support. "
+                    + "Each page carries a strong ETag; send If-None-Match to receive 304 when unchanged."
     )
-    public List<CareerResponse> getAllCareers(
+    public ResponseEntity<List<CareerResponse>> getAllCareers(
             @Parameter(description = "Page number (starts at 0)", example = "0")
             @RequestParam(value = "page", defaultValue = "0") int page,
 
             @Parameter(description = "Number of careers per page", example = "10")
-            @RequestParam(value = "pageSize", defaultValue = "10") int pageSize) {
+            @RequestParam(value = "pageSize", defaultValue = "10") int pageSize,
+
+            WebRequest webRequest) {
 
-        return careerService.getAllCareers(page, pageSize);
+        return conditionalResponses.respond("careers", careerService.getAllCareers(page, pageSize), webRequest);
     }
 
     @GetMapping("/{careerId}")
     @Operation(
             summary = "Get basic career information by ID",
-            description = "Retrieves the basic data of a specific career."
+            description = "Retrieves the basic data of a specific career. Supports If-None-Match."
     )
-    public CareerResponse getCareerById(@PathVariable Integer careerId) {
-        return careerService.getCareerById(careerId);
+    public ResponseEntity<CareerResponse> getCareerById(@PathVariable Integer careerId, WebRequest webRequest) {
+        return conditionalResponses.respond("career", careerService.getCareerById(careerId), webRequest);
     }
 
     @PostMapping
@@ -0,0 +1,34 @@
+package compass.career.evaluationsapi.controller;
+
+import compass.career.evaluationsapi.dto.Versioned;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * GET condicional sobre respuestas con ETag: 304 sin cuerpo si If-None-Match coincide, 200 con
+ * ETag en otro caso. Cuenta ambos resultados en http.conditional.requests{resource, result}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalResponses {
+
+    private final MeterRegistry meterRegistry;
+
+    public <T> ResponseEntity<T> respond(String resource, Versioned<T> versioned, WebRequest request) {
+        if (request.checkNotModified(versioned.etag())) {
+            record(resource, "not_modified");
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(versioned.etag()).build();
+        }
+
+        record(resource, "full");
+        return ResponseEntity.ok().eTag(versioned.etag()).body(versioned.body());
+    }
+
+    private void record(String resource, String result) {
+        meterRegistry.counter("http.conditional.requests", "resource", resource, "result", result).increment();
+    }
+}
@@ -0,0 +1,44 @@
+package compass.career.evaluationsapi.controller;
+
+import compass.career.evaluationsapi.client.UserExistenceCache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Invalidación de la caché de existencia de usuarios, llamada por UsersAPI al crear o eliminar un
+ * usuario. Protegido con la cabecera X-Internal-Api-Key (ver SecurityConfig). La invalidación es
+ * local: sólo afecta a la instancia que atiende la petición; el resto expira por positive-ttl.
+ */
+@RestController
+@RequestMapping("/api/v1/internal/users")
+@RequiredArgsConstructor
+@Tag(name = "Internal", description = "Service-to-service endpoints for UsersAPI")
+public class InternalUserCacheController {
+
+    private final UserExistenceCache userExistenceCache;
+
+    @DeleteMapping("/{userId}/existence")
+    @Operation(
+            summary = "Invalidate the cached existence of a user (Internal)",
+            description = "Forgets the cached UsersAPI existence result for the user on the instance that serves the call; "
+                    + "other instances expire it after usersapi.exists-cache.positive-ttl. Requires the X-Internal-Api-Key header."
+    )
+    public ResponseEntity<Void> invalidateUser(@PathVariable Integer userId) {
+        userExistenceCache.invalidate(userId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/existence")
+    @Operation(
+            summary = "Invalidate every cached user existence result (Internal)",
+            description = "Clears the whole existence cache of the instance that serves the call. "
+                    + "Requires the X-Internal-Api-Key header."
+    )
+    public ResponseEntity<Void> invalidateAll() {
+        userExistenceCache.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,59 @@
+package compass.career.evaluationsapi.controller;
+
+import compass.career.evaluationsapi.dto.RecommendationRefreshJobResponse;
+import compass.career.evaluationsapi.dto.RecommendationRefreshRequest;
+import compass.career.evaluationsapi.service.RecommendationRefreshService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/v1/admin/recommendation-refresh-jobs")
+@RequiredArgsConstructor
+//@CrossOrigin(origins = "*", methods = {RequestMethod.GET, RequestMethod.POST})
+@Tag(name = "Recommendation refresh (Admin)", description = "Bulk regeneration of stored recommendations")
+public class RecommendationRefreshController {
+
+    private final RecommendationRefreshService recommendationRefreshService;
+
+    @PostMapping
+    @Operation(
+            summary = "Start a bulk recommendation refresh (Admin)",
+            description = "Regenerates the recommendations of every user with completed evaluations in the background, within a Groq token budget."
+    )
+    public ResponseEntity<RecommendationRefreshJobResponse> startJob(
+            @Valid @RequestBody(required = false) RecommendationRefreshRequest request) {
+        RecommendationRefreshJobResponse response = recommendationRefreshService.startJob(request);
+        return ResponseEntity
+                .accepted()
+                .location(URI.create("/api/v1/admin/recommendation-refresh-jobs/" + response.getId()))
+                .body(response);
+    }
+
+    @PostMapping("/{jobId}/resume")
+    @Operation(
+            summary = "Resume a paused or interrupted refresh job (Admin)",
+            description = "Continues the job from its last checkpoint, optionally with a new token budget."
+    )
+    public ResponseEntity<RecommendationRefreshJobResponse> resumeJob(
+            @PathVariable Long jobId,
+            @Parameter(description = "New total token budget for the job")
+            @RequestParam(value = "tokenBudget", required = false) Long tokenBudget) {
+        return ResponseEntity.accepted().body(recommendationRefreshService.resumeJob(jobId, tokenBudget));
+    }
+
+    @GetMapping("/{jobId}")
+    @Operation(
+            summary = "Get refresh job progress (Admin)",
+            description = "Returns processed users, throughput, tokens used and estimated cost of the job."
+    )
+    public RecommendationRefreshJobResponse getJob(@PathVariable Long jobId) {
+        return recommendationRefreshService.getJob(jobId);
+    }
+}
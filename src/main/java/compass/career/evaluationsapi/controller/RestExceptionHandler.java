@@ -1,7 +1,10 @@
 package compass.career.evaluationsapi.controller;
 
+import compass.career.evaluationsapi.exception.TokenBudgetExceededException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -209,6 +212,35 @@ public class RestExceptionHandler {
         return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(body);
     }
 
+    @ExceptionHandler(CallNotPermittedException.class)
+    public ResponseEntity<Map<String, Object>> handleCallNotPermitted(CallNotPermittedException ex) {
+        Map<String, Object> body = buildErrorResponse(
+                "EXTERNAL_SERVICE_CIRCUIT_OPEN",
+                "The recommendation service is temporarily unavailable. Please try again later",
+                HttpStatus.SERVICE_UNAVAILABLE
+        );
+
+        if (isDevelopmentMode()) {
+            body.put("details", ex.getMessage());
+        }
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(body);
+    }
+
+    @ExceptionHandler(TokenBudgetExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleTokenBudgetExceeded(TokenBudgetExceededException ex) {
+        String message = "user".equals(ex.getScope())
+                ? "You have reached the recommendation generation limit. Please try again later"
+                : "The recommendation service has reached its usage limit. Please try again later";
+
+        Map<String, Object> body = buildErrorResponse("TOKEN_BUDGET_EXCEEDED", message, HttpStatus.TOO_MANY_REQUESTS);
+        body.put("retryAfterSeconds", ex.getRetryAfterSeconds());
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(body);
+    }
+
     @ExceptionHandler(SocketTimeoutException.class)
     public ResponseEntity<Map<String, Object>> handleSocketTimeout(SocketTimeoutException ex) {
         String message = "Request timeout. The operation took too long to complete";
@@ -3,11 +3,13 @@ package compass.career.evaluationsapi.controller;
 import compass.career.evaluationsapi.dto.*;
 import compass.career.evaluationsapi.service.SpecializationService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.net.URI;
 import java.util.List;
@@ -20,6 +22,7 @@ import java.util.List;
 public class SpecializationController {
 
     private final SpecializationService specializationService;
+    private final ConditionalResponses conditionalResponses;
 
     @PostMapping("/recommendations")
     @Operation(
@@ -33,28 +36,58 @@ public class SpecializationController {
     @GetMapping("/details/{specializationId}")
     @Operation(
             summary = "Get complete specialization details",
-            description = "Retrieves detailed information about a specific specialization."
+            description = "Retrieves detailed information about a specific specialization. Served from cache with a strong ETag; "
+                    + "send If-None-Match to receive 304 when unchanged. Social media data is available at /details/{specializationId}/social."
     )
-    public SpecializationDetailResponse getSpecializationDetails(@PathVariable Integer specializationId) {
-        return specializationService.getSpecializationDetails(specializationId);
+    public ResponseEntity<SpecializationDetailResponse> getSpecializationDetails(@PathVariable Integer specializationId,
+                                                                                 WebRequest webRequest) {
+        return conditionalResponses.respond("specialization-detail",
+                specializationService.getSpecializationDetails(specializationId), webRequest);
+    }
+
+    @GetMapping("/details/{specializationId}/social")
+    @Operation(
+            summary = "Get specialization social media data",
+            description = "Retrieves community data from Reddit for a specific specialization. Supports If-None-Match; "
+                    + "the ETag changes whenever the underlying social data is refreshed."
+    )
+    public ResponseEntity<Object> getSpecializationSocialData(@PathVariable Integer specializationId,
+                                                              WebRequest webRequest) {
+        return conditionalResponses.respond("specialization-social",
+                specializationService.getSpecializationSocialData(specializationId), webRequest);
     }
 
     @GetMapping
     @Operation(
-            summary = "List all available specializations",
-            description = "Retrieves the catalog of academic specializations."
+            summary = "List all available specializations with pagination",
+            description = "Retrieves the catalog of academic specializations ordered by name, optionally filtered by career. "
+                    + "Each page carries a strong ETag; send If-None-Match to receive 304 when unchanged."
     )
-    public List<SpecializationAreaResponse> getAllSpecializations() {
-        return specializationService.getAllSpecializations();
+    public ResponseEntity<List<SpecializationAreaResponse>> getAllSpecializations(
+            @Parameter(description = "Only specializations of this career")
+            @RequestParam(value = "careerId", required = false) Integer careerId,
+
+            @Parameter(description = "Page number (starts at 0)", example = "0")
+            @RequestParam(value = "page", defaultValue = "0") int page,
+
+            @Parameter(description = "Number of specializations per page", example = "10")
+            @RequestParam(value = "pageSize", defaultValue = "10") int pageSize,
+
+            WebRequest webRequest) {
+
+        return conditionalResponses.respond("specializations",
+                specializationService.getAllSpecializations(careerId, page, pageSize), webRequest);
     }
 
     @GetMapping("/{specializationId}")
     @Operation(
             summary = "Get basic specialization information by ID",
-            description = "Retrieves the basic data of a specific specialization."
+            description = "Retrieves the basic data of a specific specialization. Supports If-None-Match."
     )
-    public SpecializationAreaResponse getSpecializationById(@PathVariable Integer specializationId) {
-        return specializationService.getSpecializationById(specializationId);
+    public ResponseEntity<SpecializationAreaResponse> getSpecializationById(@PathVariable Integer specializationId,
+                                                                            WebRequest webRequest) {
+        return conditionalResponses.respond("specialization",
+                specializationService.getSpecializationById(specializationId), webRequest);
     }
 
     @PostMapping
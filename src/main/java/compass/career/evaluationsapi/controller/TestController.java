@@ -1,16 +1,16 @@
 package compass.career.evaluationsapi.controller;
 
-import compass.career.evaluationsapi.dto.CreateTestRequest;
-import compass.career.evaluationsapi.dto.TestListResponse;
-import compass.career.evaluationsapi.dto.TestResponse;
+import compass.career.evaluationsapi.dto.*;
 import compass.career.evaluationsapi.service.TestService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.net.URI;
 import java.util.List;
 
@@ -51,4 +51,22 @@ public class TestController {
             @Valid @RequestBody CreateTestRequest request) {
         return testService.updateTest(testId, request);
     }
-}
\ No newline at end of file
+
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "application/jsonl", "application/json", "text/csv"})
+    @Operation(
+            summary = "Import a new test from a question bank file (Admin)",
+            description = "Creates a new test streaming its questions from the request body: NDJSON with one question "
+                    + "per line (same fields as QuestionRequest) or CSV with the columns questionText, orderNumber, "
+                    + "optionText, weightValue, category (one row per option). The body may be gzip-compressed. "
+                    + "Any invalid question rolls back the whole import and is reported with its line number."
+    )
+    public ResponseEntity<TestImportResponse> importTest(
+            @Valid TestImportRequest request,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        TestImportResponse response = testService.importTest(request, contentType, body);
+        return ResponseEntity
+                .created(URI.create("/api/v1/tests/" + response.getTestId()))
+                .body(response);
+    }
+}
@@ -29,7 +29,4 @@ public class CareerDetailResponse {
 
     @JsonProperty("Average Salary")
     BigDecimal averageSalary;
-
-    @JsonProperty("Social Media Data")
-    Object socialMediaData;
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package compass.career.evaluationsapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Value
+@Builder
+public class RecommendationRefreshJobResponse {
+    @JsonProperty("Id")
+    Long id;
+
+    @JsonProperty("Status")
+    String status;
+
+    @JsonProperty("Include specializations")
+    Boolean includeSpecializations;
+
+    @JsonProperty("Last user id")
+    Integer lastUserId;
+
+    @JsonProperty("Processed")
+    Integer processedCount;
+
+    @JsonProperty("Failed")
+    Integer failedCount;
+
+    @JsonProperty("Skipped")
+    Integer skippedCount;
+
+    @JsonProperty("Users per minute")
+    BigDecimal usersPerMinute;
+
+    @JsonProperty("Tokens used")
+    Long tokensUsed;
+
+    @JsonProperty("Token budget")
+    Long tokenBudget;
+
+    @JsonProperty("Estimated cost USD")
+    BigDecimal estimatedCostUsd;
+
+    @JsonProperty("Message")
+    String message;
+
+    @JsonProperty("Started at")
+    LocalDateTime startedAt;
+
+    @JsonProperty("Updated at")
+    LocalDateTime updatedAt;
+
+    @JsonProperty("Finished at")
+    LocalDateTime finishedAt;
+}
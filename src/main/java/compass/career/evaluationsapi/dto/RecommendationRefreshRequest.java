@@ -0,0 +1,23 @@
+package compass.career.evaluationsapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecommendationRefreshRequest {
+
+    // Máximo de tokens de Groq que puede consumir el job; si se omite se usa el valor configurado
+    @Min(1)
+    @JsonProperty("Token budget")
+    private Long tokenBudget;
+
+    @JsonProperty("Include specializations")
+    private Boolean includeSpecializations;
+}
@@ -12,5 +12,4 @@ public class SpecializationDetailResponse {
     String applicationFields;
     String jobProjection;
     String careerName;
-    Object socialMediaData;
 }
\ No newline at end of file
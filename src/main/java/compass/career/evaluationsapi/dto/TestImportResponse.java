@@ -0,0 +1,18 @@
+package compass.career.evaluationsapi.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class TestImportResponse {
+    Integer testId;
+    String name;
+    String testType;
+    String format;
+    Boolean compressed;
+    Integer questionsImported;
+    Integer optionsImported;
+    Integer batches;
+    Long durationMs;
+}
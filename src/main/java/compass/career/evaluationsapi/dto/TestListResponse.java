@@ -10,5 +10,6 @@ public class TestListResponse {
     String name;
     String testType;
     Integer questionsCount;
+    Integer activeQuestionsCount;
     Boolean active;    
-}
\ No newline at end of file
+}
@@ -0,0 +1,8 @@
+package compass.career.evaluationsapi.dto;
+
+/**
+ * Respuesta junto con su ETag fuerte (ya entrecomillado), para que el controlador pueda responder
+ * 304 cuando coincide con If-None-Match.
+ */
+public record Versioned<T>(T body, String etag) {
+}
@@ -0,0 +1,23 @@
+package compass.career.evaluationsapi.event;
+
+import java.util.List;
+
+/**
+ * Se publica cuando un administrador crea o modifica elementos del catálogo. Los listeners lo
+ * reciben después del commit, con los ids ya persistidos.
+ */
+public record CatalogChangedEvent(Catalog catalog, List<Integer> ids) {
+
+    public enum Catalog {
+        CAREERS,
+        SPECIALIZATIONS
+    }
+
+    public static CatalogChangedEvent careers(Integer... ids) {
+        return new CatalogChangedEvent(Catalog.CAREERS, List.of(ids));
+    }
+
+    public static CatalogChangedEvent specializations(Integer... ids) {
+        return new CatalogChangedEvent(Catalog.SPECIALIZATIONS, List.of(ids));
+    }
+}
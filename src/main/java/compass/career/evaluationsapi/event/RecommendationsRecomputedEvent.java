@@ -0,0 +1,10 @@
+package compass.career.evaluationsapi.event;
+
+import java.util.Collection;
+
+/**
+ * Indica que las recomendaciones persistidas de estos usuarios cambiaron fuera del flujo normal
+ * de generación, por lo que cualquier copia en caché debe descartarse.
+ */
+public record RecommendationsRecomputedEvent(CatalogChangedEvent.Catalog catalog, Collection<Integer> userIds) {
+}
@@ -0,0 +1,20 @@
+package compass.career.evaluationsapi.exception;
+
+import lombok.Getter;
+
+/**
+ * Se lanza antes de llamar a Groq cuando el usuario o la instancia agotaron su presupuesto de tokens
+ * para la ventana actual. retryAfterSeconds indica cuándo se reinicia esa ventana.
+ */
+@Getter
+public class TokenBudgetExceededException extends RuntimeException {
+
+    private final String scope;
+    private final long retryAfterSeconds;
+
+    public TokenBudgetExceededException(String scope, long retryAfterSeconds) {
+        super("Groq token budget exceeded (" + scope + "), retry in " + retryAfterSeconds + " seconds");
+        this.scope = scope;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
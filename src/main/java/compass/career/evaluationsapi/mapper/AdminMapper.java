@@ -2,22 +2,29 @@ package compass.career.evaluationsapi.mapper;
 
 import compass.career.evaluationsapi.dto.*;
 import compass.career.evaluationsapi.model.*;
+import compass.career.evaluationsapi.repository.projection.SpecializationAreaView;
+import compass.career.evaluationsapi.repository.projection.TestListView;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 public final class AdminMapper {
 
-    public static TestListResponse toTestListResponse(Test entity) {
-        if (entity == null)
+    public static TestListResponse toTestListResponse(TestListView view) {
+        if (view == null)
             return null;
 
         return TestListResponse.builder()
-                .id(entity.getId())
-                .name(entity.getName())
-                .testType(entity.getTestType().getName())
-                .questionsCount(entity.getQuestions() != null ? entity.getQuestions().size() : 0)
-                .active(entity.getActive())
+                .id(view.getId())
+                .name(view.getName())
+                .testType(view.getTestType())
+                .questionsCount(view.getQuestionsCount() != null ? view.getQuestionsCount().intValue() : 0)
+                .activeQuestionsCount(view.getActiveQuestionsCount() != null ? view.getActiveQuestionsCount().intValue() : 0)
+                .active(view.getActive())
                 .build();
     }
 
@@ -136,6 +143,21 @@ public final class AdminMapper {
                 .build();
     }
 
+    public static SpecializationAreaResponse toSpecializationResponse(SpecializationAreaView view) {
+        if (view == null)
+            return null;
+
+        return SpecializationAreaResponse.builder()
+                .id(view.getId())
+                .name(view.getName())
+                .description(view.getDescription())
+                .applicationFields(view.getApplicationFields())
+                .jobProjection(view.getJobProjection())
+                .careerId(view.getCareerId())
+                .careerName(view.getCareerName())
+                .build();
+    }
+
     public static SpecializationArea toSpecializationEntity(SpecializationAreaRequest dto, Career career) {
         if (dto == null || career == null)
             return null;
@@ -160,4 +182,32 @@ public final class AdminMapper {
         entity.setApplicationFields(dto.getApplicationFields());
         entity.setJobProjection(dto.getJobProjection());
     }
-}
\ No newline at end of file
+
+    public static RecommendationRefreshJobResponse toRefreshJobResponse(RecommendationRefreshJob entity, BigDecimal usdPerMillionTokens) {
+        if (entity == null)
+            return null;
+
+        LocalDateTime end = entity.getFinishedAt() != null ? entity.getFinishedAt() : LocalDateTime.now();
+        long elapsedSeconds = Math.max(1, Duration.between(entity.getStartedAt(), end).getSeconds());
+        int handled = entity.getProcessedCount() + entity.getFailedCount() + entity.getSkippedCount();
+
+        return RecommendationRefreshJobResponse.builder()
+                .id(entity.getId())
+                .status(entity.getStatus().name())
+                .includeSpecializations(entity.getIncludeSpecializations())
+                .lastUserId(entity.getLastUserId())
+                .processedCount(entity.getProcessedCount())
+                .failedCount(entity.getFailedCount())
+                .skippedCount(entity.getSkippedCount())
+                .usersPerMinute(BigDecimal.valueOf(handled * 60.0 / elapsedSeconds).setScale(2, RoundingMode.HALF_UP))
+                .tokensUsed(entity.getTokensUsed())
+                .tokenBudget(entity.getTokenBudget())
+                .estimatedCostUsd(usdPerMillionTokens.multiply(BigDecimal.valueOf(entity.getTokensUsed()))
+                        .divide(BigDecimal.valueOf(1_000_000), 4, RoundingMode.HALF_UP))
+                .message(entity.getMessage())
+                .startedAt(entity.getStartedAt())
+                .updatedAt(entity.getUpdatedAt())
+                .finishedAt(entity.getFinishedAt())
+                .build();
+    }
+}
@@ -25,7 +25,7 @@ public final class CareerMapper {
                 .build();
     }
 
-    public static CareerDetailResponse toDetailResponse(Career entity, Object socialMediaData) {
+    public static CareerDetailResponse toDetailResponse(Career entity) {
         if (entity == null)
             return null;
 
@@ -37,7 +37,6 @@ public final class CareerMapper {
                 .graduateProfile(entity.getGraduateProfile())
                 .jobField(entity.getJobField())
                 .averageSalary(entity.getAverageSalary())
-                .socialMediaData(socialMediaData)
                 .build();
     }
 
@@ -24,7 +24,7 @@ public final class SpecializationMapper {
                 .build();
     }
 
-    public static SpecializationDetailResponse toDetailResponse(SpecializationArea entity, Object socialMediaData) {
+    public static SpecializationDetailResponse toDetailResponse(SpecializationArea entity) {
         if (entity == null)
             return null;
 
@@ -35,7 +35,6 @@ public final class SpecializationMapper {
                 .applicationFields(entity.getApplicationFields())
                 .jobProjection(entity.getJobProjection())
                 .careerName(entity.getCareer().getName())
-                .socialMediaData(socialMediaData)
                 .build();
     }
 
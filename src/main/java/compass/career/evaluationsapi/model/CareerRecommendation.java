@@ -27,4 +27,8 @@ public class CareerRecommendation {
 
     @Column(name = "compatibility_percentage", nullable = false, precision = 5, scale = 2)
     private BigDecimal compatibilityPercentage;
+
+    // Huella del catálogo de carreras con el que se generó (ver CatalogVersion)
+    @Column(name = "catalog_version", length = 32)
+    private String catalogVersion;
 }
\ No newline at end of file
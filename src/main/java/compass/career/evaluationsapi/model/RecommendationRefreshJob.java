@@ -0,0 +1,78 @@
+package compass.career.evaluationsapi.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * Checkpoint de un refresco masivo de recomendaciones. last_user_id es el cursor: todos los usuarios
+ * con id menor o igual ya fueron procesados, por lo que un job interrumpido se reanuda desde ahí.
+ * completed_after_cursor guarda los pocos usuarios que terminaron en paralelo tras el corte.
+ */
+@Entity
+@Table(name = "recommendation_refresh_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecommendationRefreshJob {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        PAUSED,
+        BUDGET_EXHAUSTED,
+        FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "include_specializations", nullable = false)
+    private Boolean includeSpecializations;
+
+    @Column(name = "last_user_id")
+    private Integer lastUserId;
+
+    // Usuarios ya tratados por encima del cursor cuando una página se cortó; se saltan al reanudar
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "completed_after_cursor", columnDefinition = "INTEGER[]")
+    private Integer[] completedAfterCursor;
+
+    @Column(name = "processed_count", nullable = false)
+    private Integer processedCount;
+
+    @Column(name = "failed_count", nullable = false)
+    private Integer failedCount;
+
+    @Column(name = "skipped_count", nullable = false)
+    private Integer skippedCount;
+
+    @Column(name = "tokens_used", nullable = false)
+    private Long tokensUsed;
+
+    @Column(name = "token_budget", nullable = false)
+    private Long tokenBudget;
+
+    @Column(name = "message", length = 500)
+    private String message;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
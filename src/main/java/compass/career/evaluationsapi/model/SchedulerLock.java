@@ -0,0 +1,30 @@
+package compass.career.evaluationsapi.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Lease de una tarea programada que sólo debe ejecutar un nodo a la vez. El nodo que la tiene
+ * la renueva mientras trabaja; si muere, otro puede tomarla cuando vence locked_until.
+ */
+@Entity
+@Table(name = "scheduler_locks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulerLock {
+
+    @Id
+    @Column(name = "lock_name", length = 100)
+    private String lockName;
+
+    @Column(name = "locked_by", length = 200)
+    private String lockedBy;
+
+    @Column(name = "locked_until", nullable = false)
+    private Instant lockedUntil;
+}
@@ -0,0 +1,30 @@
+package compass.career.evaluationsapi.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Nivel persistente (L2) de la caché de datos de Reddit. cache_key identifica la búsqueda y payload
+ * guarda el resultado ya extraído en JSON, de modo que sobrevive a reinicios y se comparte entre nodos.
+ */
+@Entity
+@Table(name = "social_data_cache")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SocialDataCacheEntry {
+
+    @Id
+    @Column(name = "cache_key", length = 500)
+    private String cacheKey;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "fetched_at", nullable = false)
+    private Instant fetchedAt;
+}
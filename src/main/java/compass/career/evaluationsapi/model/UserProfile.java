@@ -0,0 +1,78 @@
+package compass.career.evaluationsapi.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * Vector de perfil desnormalizado por usuario. Se actualiza en la misma transacción que cada
+ * evaluación enviada para que recomendaciones y análisis no tengan que re-parsear result_json.
+ */
+@Entity
+@Table(name = "user_profiles")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserProfile {
+    @Id
+    @Column(name = "user_id")
+    private Integer userId;
+
+    // Big Five (0-100), null si el usuario no ha completado el test de personalidad
+    @Column(name = "openness")
+    private Double openness;
+
+    @Column(name = "conscientiousness")
+    private Double conscientiousness;
+
+    @Column(name = "extraversion")
+    private Double extraversion;
+
+    @Column(name = "agreeableness")
+    private Double agreeableness;
+
+    @Column(name = "neuroticism")
+    private Double neuroticism;
+
+    // Áreas vocacionales principales ordenadas por ranking, con su porcentaje en la misma posición
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "vocational_areas", columnDefinition = "TEXT[]")
+    private String[] vocationalAreas;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "vocational_percentages", columnDefinition = "DOUBLE PRECISION[]")
+    private Double[] vocationalPercentages;
+
+    // Áreas cognitivas ordenadas por puntaje, con su puntaje (0-100) en la misma posición
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "cognitive_areas", columnDefinition = "TEXT[]")
+    private String[] cognitiveAreas;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "cognitive_scores", columnDefinition = "DOUBLE PRECISION[]")
+    private Double[] cognitiveScores;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public boolean hasPersonality() {
+        return openness != null;
+    }
+
+    public boolean hasVocationalInterests() {
+        return vocationalAreas != null && vocationalAreas.length > 0;
+    }
+
+    public boolean hasCognitiveSkills() {
+        return cognitiveAreas != null && cognitiveAreas.length > 0;
+    }
+
+    public boolean isEmpty() {
+        return !hasPersonality() && !hasVocationalInterests() && !hasCognitiveSkills();
+    }
+}
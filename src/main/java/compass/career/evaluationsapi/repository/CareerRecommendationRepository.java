@@ -12,5 +12,8 @@ public interface CareerRecommendationRepository extends JpaRepository<CareerReco
     @Query("SELECT cr FROM CareerRecommendation cr JOIN FETCH cr.career WHERE cr.userId = :userId ORDER BY cr.compatibilityPercentage DESC")
     List<CareerRecommendation> findByUserIdOrderByCompatibilityPercentageDesc(@Param("userId") Integer userId);
 
+    @Query("SELECT DISTINCT cr.userId FROM CareerRecommendation cr")
+    List<Integer> findDistinctUserIds();
+
     void deleteByUserId(Integer userId);
 }
\ No newline at end of file
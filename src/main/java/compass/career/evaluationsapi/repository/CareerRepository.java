@@ -2,6 +2,12 @@ package compass.career.evaluationsapi.repository;
 
 import compass.career.evaluationsapi.model.Career;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface CareerRepository extends JpaRepository<Career, Integer> {
+
+    @Query("SELECT c.name FROM Career c ORDER BY c.id")
+    List<String> findAllNames();
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package compass.career.evaluationsapi.repository;
 
 import compass.career.evaluationsapi.model.CompletedEvaluation;
+import compass.career.evaluationsapi.repository.projection.LatestEvaluationResultView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,4 +14,22 @@ public interface CompletedEvaluationRepository extends JpaRepository<CompletedEv
 
     @Query("SELECT ce FROM CompletedEvaluation ce JOIN FETCH ce.test t JOIN FETCH t.testType WHERE ce.id = :id AND ce.userId = :userId")
     Optional<CompletedEvaluation> findByIdAndUserId(@Param("id") Integer id, @Param("userId") Integer userId);
-}
\ No newline at end of file
+
+    // Última evaluación (y su result_json) de cada tipo de test en una sola consulta
+    @Query(value = "SELECT DISTINCT ON (tt.name) tt.name AS \"testType\", ce.id AS \"evaluationId\", " +
+            "CAST(er.result_json AS TEXT) AS \"resultJson\" " +
+            "FROM completed_evaluations ce " +
+            "JOIN tests t ON t.id = ce.test_id " +
+            "JOIN test_types tt ON tt.id = t.test_type_id " +
+            "LEFT JOIN evaluation_results er ON er.evaluation_id = ce.id " +
+            "WHERE ce.user_id = :userId " +
+            "ORDER BY tt.name, ce.completion_date DESC NULLS LAST, ce.id DESC",
+            nativeQuery = true)
+    List<LatestEvaluationResultView> findLatestResultsByUserId(@Param("userId") Integer userId);
+
+    // Cursor por keyset para recorrer todos los usuarios con evaluaciones sin OFFSET
+    @Query(value = "SELECT DISTINCT ce.user_id FROM completed_evaluations ce " +
+            "WHERE ce.user_id > :afterUserId ORDER BY ce.user_id LIMIT :limit",
+            nativeQuery = true)
+    List<Integer> findUserIdsAfter(@Param("afterUserId") Integer afterUserId, @Param("limit") int limit);
+}
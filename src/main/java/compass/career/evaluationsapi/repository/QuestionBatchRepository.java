@@ -0,0 +1,76 @@
+package compass.career.evaluationsapi.repository;
+
+import compass.career.evaluationsapi.dto.AnswerOptionRequest;
+import compass.career.evaluationsapi.dto.QuestionRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserción por lotes de preguntas y opciones con JDBC, para importaciones grandes en las que los
+ * INSERT uno a uno de JPA (IDENTITY) no escalan. Los ids de las preguntas los genera la columna
+ * IDENTITY y se leen del propio lote (INSERT ... RETURNING id), sin depender de cómo esté declarada
+ * la secuencia, para enlazar las opciones.
+ */
+@Repository
+@RequiredArgsConstructor
+public class QuestionBatchRepository {
+
+    private static final String INSERT_QUESTION =
+            "INSERT INTO questions (test_id, question_text, order_number, active) VALUES (?, ?, ?, true)";
+
+    private static final String INSERT_OPTION =
+            "INSERT INTO answer_options (question_id, option_text, weight_value, category) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserta el lote en la transacción en curso (dos lotes JDBC: preguntas y opciones).
+     *
+     * @return número de opciones insertadas
+     */
+    public int insertAll(Integer testId, List<QuestionRequest> questions) {
+        if (questions.isEmpty()) {
+            return 0;
+        }
+
+        // El driver devuelve las claves generadas en el orden en que se añadieron al lote
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_QUESTION, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        QuestionRequest question = questions.get(i);
+                        ps.setInt(1, testId);
+                        ps.setString(2, question.getQuestionText());
+                        ps.setObject(3, question.getOrderNumber());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return questions.size();
+                    }
+                },
+                keyHolder);
+
+        List<Object[]> optionRows = new ArrayList<>();
+        for (int i = 0; i < questions.size(); i++) {
+            Number questionId = (Number) keyHolder.getKeyList().get(i).get("id");
+            for (AnswerOptionRequest option : questions.get(i).getOptions()) {
+                optionRows.add(new Object[]{questionId.intValue(), option.getOptionText(), option.getWeightValue(), option.getCategory()});
+            }
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_OPTION, optionRows);
+        return optionRows.size();
+    }
+}
@@ -0,0 +1,8 @@
+package compass.career.evaluationsapi.repository;
+
+import compass.career.evaluationsapi.model.RecommendationRefreshJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface RecommendationRefreshJobRepository extends JpaRepository<RecommendationRefreshJob, Long> {
+    boolean existsByStatus(RecommendationRefreshJob.Status status);
+}
@@ -0,0 +1,36 @@
+package compass.career.evaluationsapi.repository;
+
+import compass.career.evaluationsapi.model.SchedulerLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+public interface SchedulerLockRepository extends JpaRepository<SchedulerLock, String> {
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO scheduler_locks (lock_name, locked_by, locked_until) " +
+            "VALUES (:name, NULL, TIMESTAMP WITH TIME ZONE 'epoch') ON CONFLICT (lock_name) DO NOTHING",
+            nativeQuery = true)
+    int insertIfMissing(@Param("name") String name);
+
+    // Toma o renueva el lease en una sola sentencia; devuelve 0 si otro nodo lo tiene vigente
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE scheduler_locks SET locked_by = :owner, locked_until = :until " +
+            "WHERE lock_name = :name AND (locked_until < :now OR locked_by = :owner)",
+            nativeQuery = true)
+    int acquire(@Param("name") String name, @Param("owner") String owner,
+                @Param("now") Instant now, @Param("until") Instant until);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE scheduler_locks SET locked_by = NULL, locked_until = :now " +
+            "WHERE lock_name = :name AND locked_by = :owner",
+            nativeQuery = true)
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") Instant now);
+}
@@ -0,0 +1,7 @@
+package compass.career.evaluationsapi.repository;
+
+import compass.career.evaluationsapi.model.SocialDataCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SocialDataCacheRepository extends JpaRepository<SocialDataCacheEntry, String> {
+}
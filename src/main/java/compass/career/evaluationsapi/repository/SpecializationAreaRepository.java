@@ -1,10 +1,36 @@
 package compass.career.evaluationsapi.repository;
 
 import compass.career.evaluationsapi.model.SpecializationArea;
+import compass.career.evaluationsapi.repository.projection.SpecializationAreaView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface SpecializationAreaRepository extends JpaRepository<SpecializationArea, Integer> {
-    List<SpecializationArea> findByCareerId(Integer careerId);
-}
\ No newline at end of file
+
+    @Query("SELECT s.name FROM SpecializationArea s ORDER BY s.id")
+    List<String> findAllNames();
+
+    // Listado del catálogo con el nombre de la carrera en la misma consulta (sin cargar entidades)
+    @Query("SELECT s.id AS id, s.name AS name, s.description AS description, " +
+            "s.applicationFields AS applicationFields, s.jobProjection AS jobProjection, " +
+            "c.id AS careerId, c.name AS careerName " +
+            "FROM SpecializationArea s JOIN s.career c ORDER BY s.name, s.id")
+    List<SpecializationAreaView> findAllViews(Pageable pageable);
+
+    @Query("SELECT s.id AS id, s.name AS name, s.description AS description, " +
+            "s.applicationFields AS applicationFields, s.jobProjection AS jobProjection, " +
+            "c.id AS careerId, c.name AS careerName " +
+            "FROM SpecializationArea s JOIN s.career c WHERE c.id = :careerId ORDER BY s.name, s.id")
+    List<SpecializationAreaView> findViewsByCareerId(@Param("careerId") Integer careerId, Pageable pageable);
+
+    @Query("SELECT s.id AS id, s.name AS name, s.description AS description, " +
+            "s.applicationFields AS applicationFields, s.jobProjection AS jobProjection, " +
+            "c.id AS careerId, c.name AS careerName " +
+            "FROM SpecializationArea s JOIN s.career c WHERE s.id = :id")
+    Optional<SpecializationAreaView> findViewById(@Param("id") Integer id);
+}
@@ -12,5 +12,8 @@ public interface SpecializationRecommendationRepository extends JpaRepository<Sp
     @Query("SELECT sr FROM SpecializationRecommendation sr JOIN FETCH sr.specializationArea sa JOIN FETCH sa.career WHERE sr.userId = :userId ORDER BY sr.compatibilityPercentage DESC")
     List<SpecializationRecommendation> findByUserIdOrderByCompatibilityPercentageDesc(@Param("userId") Integer userId);
 
+    @Query("SELECT DISTINCT sr.userId FROM SpecializationRecommendation sr")
+    List<Integer> findDistinctUserIds();
+
     void deleteByUserId(Integer userId);
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package compass.career.evaluationsapi.repository;
 
 import compass.career.evaluationsapi.model.Test;
+import compass.career.evaluationsapi.repository.projection.TestListView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -20,4 +21,12 @@ public interface TestRepository extends JpaRepository<Test, Integer> {
     // ✅ NUEVO MÉTODO: Buscar test activo por tipo
     @Query("SELECT t FROM Test t WHERE t.testType.id = :testTypeId AND t.active = true")
     Optional<Test> findByTestTypeIdAndActiveTrue(@Param("testTypeId") Integer testTypeId);
-}
\ No newline at end of file
+
+    // Listado de administración: conteo de preguntas agregado en la consulta, sin cargar preguntas ni opciones
+    @Query("SELECT t.id AS id, t.name AS name, tt.name AS testType, t.active AS active, " +
+            "COUNT(q.id) AS questionsCount, " +
+            "SUM(CASE WHEN q.active = true THEN 1 ELSE 0 END) AS activeQuestionsCount " +
+            "FROM Test t JOIN t.testType tt LEFT JOIN t.questions q " +
+            "GROUP BY t.id, t.name, tt.name, t.active ORDER BY t.id")
+    List<TestListView> findAllListViews();
+}
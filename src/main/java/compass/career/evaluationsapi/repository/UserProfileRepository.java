@@ -0,0 +1,26 @@
+package compass.career.evaluationsapi.repository;
+
+import compass.career.evaluationsapi.model.UserProfile;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface UserProfileRepository extends JpaRepository<UserProfile, Integer> {
+
+    // Crea la fila vacía si no existe; con dos envíos simultáneos uno inserta y el otro espera y no hace nada
+    @Modifying
+    @Query(value = "INSERT INTO user_profiles (user_id, updated_at) VALUES (:userId, now()) " +
+            "ON CONFLICT (user_id) DO NOTHING",
+            nativeQuery = true)
+    int insertIfMissing(@Param("userId") Integer userId);
+
+    // Bloquea la fila hasta el fin de la transacción para que dos tests del mismo usuario no se pisen
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM UserProfile p WHERE p.userId = :userId")
+    Optional<UserProfile> findForUpdate(@Param("userId") Integer userId);
+}
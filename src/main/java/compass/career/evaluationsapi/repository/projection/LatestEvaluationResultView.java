@@ -0,0 +1,7 @@
+package compass.career.evaluationsapi.repository.projection;
+
+public interface LatestEvaluationResultView {
+    String getTestType();
+    Integer getEvaluationId();
+    String getResultJson();
+}
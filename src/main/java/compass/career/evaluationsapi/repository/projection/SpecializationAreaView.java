@@ -0,0 +1,11 @@
+package compass.career.evaluationsapi.repository.projection;
+
+public interface SpecializationAreaView {
+    Integer getId();
+    String getName();
+    String getDescription();
+    String getApplicationFields();
+    String getJobProjection();
+    Integer getCareerId();
+    String getCareerName();
+}
@@ -0,0 +1,10 @@
+package compass.career.evaluationsapi.repository.projection;
+
+public interface TestListView {
+    Integer getId();
+    String getName();
+    String getTestType();
+    Boolean getActive();
+    Long getQuestionsCount();
+    Long getActiveQuestionsCount();
+}
@@ -1,6 +1,7 @@
 package compass.career.evaluationsapi.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -18,6 +19,7 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class AzureCognitiveServiceImpl implements AzureCognitiveService {
 
+    @Qualifier("azureRestTemplate")
     private final RestTemplate restTemplate;
 
     @Value("${azure.cognitive.endpoint}")
@@ -0,0 +1,76 @@
+package compass.career.evaluationsapi.service;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Mapa concurrente con expiración por entrada y un máximo de entradas. Al llenarse descarta primero
+ * las expiradas y, si no basta, entradas arbitrarias hasta dejar un 10% libre.
+ */
+public class BoundedTtlCache<K, V> {
+
+    private final int maxEntries;
+    private final LongSupplier nanoClock;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    private record Entry<V>(V value, long expiresAtNanos) {
+    }
+
+    public BoundedTtlCache(int maxEntries) {
+        this(maxEntries, System::nanoTime);
+    }
+
+    BoundedTtlCache(int maxEntries, LongSupplier nanoClock) {
+        this.maxEntries = maxEntries;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @return el valor, o null si no está o ya expiró
+     */
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (nanoClock.getAsLong() - entry.expiresAtNanos() < 0) {
+            return entry.value();
+        }
+        entries.remove(key, entry);
+        return null;
+    }
+
+    public void put(K key, V value, Duration ttl) {
+        if (entries.size() >= maxEntries) {
+            evict();
+        }
+        entries.put(key, new Entry<>(value, nanoClock.getAsLong() + ttl.toNanos()));
+    }
+
+    public void remove(K key) {
+        entries.remove(key);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evict() {
+        long now = nanoClock.getAsLong();
+        entries.values().removeIf(entry -> now - entry.expiresAtNanos() >= 0);
+
+        int target = maxEntries - Math.max(1, maxEntries / 10);
+        Iterator<K> keys = entries.keySet().iterator();
+        while (entries.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+}
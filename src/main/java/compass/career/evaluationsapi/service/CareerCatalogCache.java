@@ -0,0 +1,143 @@
+package compass.career.evaluationsapi.service;
+
+import compass.career.evaluationsapi.dto.CareerResponse;
+import compass.career.evaluationsapi.dto.Versioned;
+import compass.career.evaluationsapi.event.CatalogChangedEvent;
+import compass.career.evaluationsapi.mapper.AdminMapper;
+import compass.career.evaluationsapi.repository.CareerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Copia en memoria del catálogo de carreras (ordenado por nombre) para el listado paginado y la
+ * consulta por id. Se carga completa en el primer acceso y se descarta tras cada cambio de catálogo;
+ * cada carrera lleva su ETag y las páginas calculan el suyo la primera vez que se piden.
+ * El evento de cambio sólo llega a la instancia que hizo la escritura, así que además la copia se
+ * recarga cada catalog.cache.ttl: es lo máximo que otra instancia sirve (o responde 304 con) el
+ * catálogo anterior.
+ */
+@Component
+@Slf4j
+public class CareerCatalogCache {
+
+    // Combinaciones page/pageSize cuyo ETag se memoriza por versión del catálogo
+    private static final int MAX_MEMOIZED_PAGES = 256;
+
+    private final CareerRepository careerRepository;
+    private final ContentETags contentETags;
+    private final MeterRegistry meterRegistry;
+    private final Duration ttl;
+    private final LongSupplier nanoClock;
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    private record Snapshot(List<CareerResponse> careers,
+                            Map<Integer, Versioned<CareerResponse>> byId,
+                            Map<String, Versioned<List<CareerResponse>>> pages,
+                            long expiresAtNanos) {
+    }
+
+    @Autowired
+    public CareerCatalogCache(
+            CareerRepository careerRepository,
+            ContentETags contentETags,
+            MeterRegistry meterRegistry,
+            @Value("${catalog.cache.ttl:PT1M}") Duration ttl) {
+        this(careerRepository, contentETags, meterRegistry, ttl, System::nanoTime);
+    }
+
+    CareerCatalogCache(CareerRepository careerRepository, ContentETags contentETags, MeterRegistry meterRegistry,
+                       Duration ttl, LongSupplier nanoClock) {
+        this.careerRepository = careerRepository;
+        this.contentETags = contentETags;
+        this.meterRegistry = meterRegistry;
+        this.ttl = ttl;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Página del catálogo; una página fuera de rango es una lista vacía.
+     */
+    public Versioned<List<CareerResponse>> getPage(int page, int pageSize) {
+        Snapshot current = current();
+        String key = page + ":" + pageSize;
+
+        Versioned<List<CareerResponse>> cached = current.pages().get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long from = (long) page * pageSize;
+        List<CareerResponse> content = from >= current.careers().size()
+                ? List.of()
+                : current.careers().subList((int) from, (int) Math.min(from + pageSize, current.careers().size()));
+        Versioned<List<CareerResponse>> versioned = new Versioned<>(content, contentETags.of(content));
+
+        if (current.pages().size() < MAX_MEMOIZED_PAGES) {
+            current.pages().putIfAbsent(key, versioned);
+        }
+        return versioned;
+    }
+
+    public Optional<Versioned<CareerResponse>> getById(Integer careerId) {
+        return Optional.ofNullable(current().byId().get(careerId));
+    }
+
+    public int size() {
+        return current().careers().size();
+    }
+
+    @TransactionalEventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.catalog() == CatalogChangedEvent.Catalog.CAREERS) {
+            generation.incrementAndGet();
+            snapshot = null;
+            log.debug("Career catalog cache invalidated by change of careers {}", event.ids());
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null && nanoClock.getAsLong() - current.expiresAtNanos() < 0) {
+            record("hit");
+            return current;
+        }
+
+        record(current == null ? "miss" : "expired");
+        long loadedGeneration = generation.get();
+        List<CareerResponse> careers = careerRepository.findAll(Sort.by("name").ascending()).stream()
+                .map(AdminMapper::toCareerResponse)
+                .collect(Collectors.toUnmodifiableList());
+
+        Map<Integer, Versioned<CareerResponse>> byId = new HashMap<>();
+        for (CareerResponse career : careers) {
+            byId.put(career.getId(), new Versioned<>(career, contentETags.of(career)));
+        }
+
+        Snapshot loaded = new Snapshot(careers, Map.copyOf(byId), new ConcurrentHashMap<>(),
+                nanoClock.getAsLong() + ttl.toNanos());
+        // Si hubo un cambio durante la carga se entrega lo leído pero no se publica
+        if (generation.get() == loadedGeneration) {
+            snapshot = loaded;
+        }
+        log.info("Loaded career catalog cache with {} careers", careers.size());
+        return loaded;
+    }
+
+    private void record(String result) {
+        meterRegistry.counter("catalog.cache.lookups", "catalog", "careers", "result", result).increment();
+    }
+}
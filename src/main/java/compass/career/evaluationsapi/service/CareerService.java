@@ -6,9 +6,11 @@ import java.util.List;
 
 public interface CareerService {
     List<CareerRecommendationResponse> getRecommendedCareers(Integer userId);
-    CareerDetailResponse getCareerDetails(Integer careerId);
-    List<CareerResponse> getAllCareers(int page, int pageSize);
-    CareerResponse getCareerById(Integer careerId);
+    void refreshRecommendations(Integer userId);
+    Versioned<CareerDetailResponse> getCareerDetails(Integer careerId);
+    Versioned<Object> getCareerSocialData(Integer careerId);
+    Versioned<List<CareerResponse>> getAllCareers(int page, int pageSize);
+    Versioned<CareerResponse> getCareerById(Integer careerId);
     CareerResponse createCareer(CareerRequest request);
     CareerResponse updateCareer(Integer careerId, CareerRequest request);
 }
\ No newline at end of file
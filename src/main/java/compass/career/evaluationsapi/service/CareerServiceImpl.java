@@ -1,26 +1,35 @@
 package compass.career.evaluationsapi.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import compass.career.evaluationsapi.client.UsersApiClient;
 import compass.career.evaluationsapi.dto.*;
+import compass.career.evaluationsapi.event.CatalogChangedEvent;
+import compass.career.evaluationsapi.event.RecommendationsRecomputedEvent;
+import compass.career.evaluationsapi.exception.TokenBudgetExceededException;
 import compass.career.evaluationsapi.mapper.AdminMapper;
 import compass.career.evaluationsapi.mapper.CareerMapper;
 import compass.career.evaluationsapi.model.*;
 import compass.career.evaluationsapi.repository.*;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,36 +39,62 @@ public class CareerServiceImpl implements CareerService {
 
     private final CareerRepository careerRepository;
     private final CareerRecommendationRepository careerRecommendationRepository;
-    private final CompletedEvaluationRepository completedEvaluationRepository;
+    private final UserProfileService userProfileService;
     private final SocialMediaApiService socialMediaApiService;
     private final GroqService groqService;
     private final UsersApiClient usersApiClient;
-    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ProfileSimilarityIndex profileSimilarityIndex;
+    private final MeterRegistry meterRegistry;
+    private final RecommendationRepairer recommendationRepairer;
+    private final LocalRecommendationScorer localRecommendationScorer;
+    private final ContentETags contentETags;
+    private final RecommendationInputFetcher recommendationInputFetcher;
+    private final CareerCatalogCache careerCatalogCache;
+
+    private static final int MAX_CACHED_DETAILS = 5_000;
 
     // Caché simple de recomendaciones (1 hora)
     private final Map<Integer, CachedRecommendations> cache = new ConcurrentHashMap<>();
 
+    // Detalle base de cada carrera con su ETag; se invalida con CatalogChangedEvent
+    // y, como mucho, tras catalog.cache.ttl: el evento sólo llega a la instancia que hizo el cambio
+    private final BoundedTtlCache<Integer, Versioned<CareerDetailResponse>> detailCache = new BoundedTtlCache<>(MAX_CACHED_DETAILS);
+    private final AtomicLong detailGeneration = new AtomicLong();
+
+    @Value("${catalog.cache.ttl:PT1M}")
+    private Duration detailTtl;
+
     @Override
     @Transactional
     public List<CareerRecommendationResponse> getRecommendedCareers(Integer userId) {
         log.info("Generating career recommendations for user {}", userId);
 
-        // Validar que el usuario existe
-        if (!usersApiClient.userExists(userId)) {
-            throw new IllegalArgumentException("User not found");
-        }
-
-        // Verificar caché
-        CachedRecommendations cached = cache.get(userId);
-        if (cached != null && !cached.isExpired()) {
-            log.info("Returning cached recommendations for user {}", userId);
-            return cached.getRecommendations();
+        // La validación en UsersAPI corre en paralelo con la caché y la consulta a BD; ningún
+        // resultado se devuelve antes de confirmar que el usuario existe
+        List<CareerRecommendation> existingRecommendations;
+        try (RecommendationInputFetcher.Scope inputs = recommendationInputFetcher.open()) {
+            Future<Boolean> userExists = inputs.fork(() -> usersApiClient.userExists(userId));
+
+            // Verificar caché
+            CachedRecommendations cached = cache.get(userId);
+            existingRecommendations = cached != null && !cached.isExpired()
+                    ? List.of()
+                    : careerRecommendationRepository.findByUserIdOrderByCompatibilityPercentageDesc(userId);
+
+            // Validar que el usuario existe
+            if (!inputs.join(userExists)) {
+                throw new IllegalArgumentException("User not found");
+            }
+
+            if (cached != null && !cached.isExpired()) {
+                log.info("Returning cached recommendations for user {}", userId);
+                return cached.getRecommendations();
+            }
         }
 
         // Verificar si ya existen recomendaciones en BD
-        List<CareerRecommendation> existingRecommendations =
-                careerRecommendationRepository.findByUserIdOrderByCompatibilityPercentageDesc(userId);
-
         if (!existingRecommendations.isEmpty()) {
             log.info("Found {} existing recommendations in database for user {}", existingRecommendations.size(), userId);
             List<CareerRecommendationResponse> responses = existingRecommendations.stream()
@@ -70,16 +105,53 @@ public class CareerServiceImpl implements CareerService {
             return responses;
         }
 
-        // Generar nuevas recomendaciones usando Groq AI
-        log.info("Generating NEW recommendations using Groq AI for user {}", userId);
+        // Generar nuevas recomendaciones (perfil similar o Groq AI)
+        // Con el circuito de Groq abierto, CallNotPermittedException se propaga y se responde 503 sin esperar
+        List<CareerRecommendation> generated = generateRecommendations(userId);
+
+        // Guardar recomendaciones y construir respuesta
+        List<CareerRecommendationResponse> responses = careerRecommendationRepository.saveAll(generated).stream()
+                .map(CareerMapper::toRecommendationResponse)
+                .collect(Collectors.toList());
+
+        // Guardar en caché
+        cache.put(userId, new CachedRecommendations(responses));
+
+        log.info("Successfully generated and saved {} recommendations for user {}", responses.size(), userId);
+        return responses;
+    }
+
+    /**
+     * Sin transacción alrededor de Groq a propósito: la llamada puede tardar más de un minuto y el job
+     * masivo corre varias en paralelo, así que sólo el reemplazo de filas toma una conexión.
+     */
+    @Override
+    public void refreshRecommendations(Integer userId) {
+        // Si Groq falla (o el circuito está abierto) la excepción se propaga y se conservan las filas actuales
+        List<CareerRecommendation> generated = generateRecommendations(userId);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            careerRecommendationRepository.deleteByUserId(userId);
+            careerRecommendationRepository.flush();
+            careerRecommendationRepository.saveAll(generated);
+        });
+        cache.remove(userId);
+
+        log.info("Refreshed {} recommendations for user {}", generated.size(), userId);
+    }
 
-        // 1. Obtener resultados de los tests
-        Map<String, Object> personalityResults = getTestResults(userId, "personality");
-        Map<String, Object> vocationalResults = getTestResults(userId, "vocational_interests");
-        Map<String, Object> cognitiveResults = getTestResults(userId, "cognitive_skills");
+    /**
+     * Construye (sin persistir) las recomendaciones del usuario contra el catálogo actual, reutilizando
+     * las de un perfil casi idéntico cuando es posible y llamando a Groq AI en caso contrario.
+     */
+    private List<CareerRecommendation> generateRecommendations(Integer userId) {
+        log.info("Generating NEW recommendations for user {}", userId);
+
+        // 1. Obtener el perfil del usuario (fila de user_profiles mantenida en cada evaluación)
+        UserProfile profile = userProfileService.getProfile(userId);
 
         // Validar que el usuario haya completado al menos un test
-        if (personalityResults.isEmpty() && vocationalResults.isEmpty() && cognitiveResults.isEmpty()) {
+        if (profile.isEmpty()) {
             throw new IllegalStateException("User must complete at least one evaluation to get recommendations");
         }
 
@@ -88,6 +160,13 @@ public class CareerServiceImpl implements CareerService {
         if (allCareers.isEmpty()) {
             throw new IllegalStateException("No careers available in the system");
         }
+        String catalogVersion = CatalogVersion.of(allCareers);
+
+        // Reutilizar las recomendaciones de un estudiante con un perfil casi idéntico
+        List<CareerRecommendation> reused = reuseNeighbourRecommendations(profile, catalogVersion);
+        if (!reused.isEmpty()) {
+            return reused;
+        }
 
         // 3. Preparar información de carreras para Groq AI
         List<GroqService.CareerInfo> careerInfoList = allCareers.stream()
@@ -103,79 +182,133 @@ public class CareerServiceImpl implements CareerService {
         // 4. Llamar a Groq AI para generar recomendaciones
         List<GroqService.CareerRecommendation> aiRecommendations;
         try {
-            aiRecommendations = groqService.generateCareerRecommendations(
-                    personalityResults,
-                    vocationalResults,
-                    cognitiveResults,
-                    careerInfoList
-            );
+            aiRecommendations = groqService.generateCareerRecommendations(profile, careerInfoList);
+        } catch (CallNotPermittedException | TokenBudgetExceededException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error generating recommendations with Groq AI", e);
             throw new RuntimeException("Failed to generate career recommendations", e);
         }
 
-        // 5. Guardar recomendaciones en la base de datos
-        List<CareerRecommendation> savedRecommendations = new ArrayList<>();
-        for (GroqService.CareerRecommendation aiRec : aiRecommendations) {
-            Career career = careerRepository.findById(aiRec.getCareerId())
-                    .orElseThrow(() -> new EntityNotFoundException("Career not found: " + aiRec.getCareerId()));
+        // 5. Validar contra el catálogo y reparar localmente (ids inválidos, duplicados, rangos, huecos)
+        Map<Integer, Career> careersById = allCareers.stream()
+                .collect(Collectors.toMap(Career::getId, c -> c));
 
+        List<RecommendationRepairer.Candidate> candidates = aiRecommendations.stream()
+                .map(r -> new RecommendationRepairer.Candidate(r.getCareerId(), r.getCompatibilityPercentage()))
+                .collect(Collectors.toList());
+        List<RecommendationRepairer.Candidate> repaired = recommendationRepairer.repair("careers", candidates,
+                careersById.keySet(), () -> {
+                    LocalRecommendationScorer.Scoring scoring = localRecommendationScorer.forCatalog();
+                    return id -> scoring.score(profile, careersById.get(id));
+                });
+
+        // 6. Construir las entidades de recomendación
+        List<CareerRecommendation> recommendations = new ArrayList<>();
+        for (RecommendationRepairer.Candidate candidate : repaired) {
             CareerRecommendation recommendation = new CareerRecommendation();
             recommendation.setUserId(userId);
-            recommendation.setCareer(career);
-            recommendation.setCompatibilityPercentage(BigDecimal.valueOf(aiRec.getCompatibilityPercentage()));
-
-            savedRecommendations.add(careerRecommendationRepository.save(recommendation));
+            recommendation.setCareer(careersById.get(candidate.id()));
+            recommendation.setCompatibilityPercentage(BigDecimal.valueOf(candidate.compatibilityPercentage()));
+            recommendation.setCatalogVersion(catalogVersion);
+            recommendations.add(recommendation);
         }
 
-        // 6. Construir respuesta
-        List<CareerRecommendationResponse> responses = savedRecommendations.stream()
-                .map(CareerMapper::toRecommendationResponse)
-                .collect(Collectors.toList());
-
-        // 7. Guardar en caché
-        cache.put(userId, new CachedRecommendations(responses));
-
-        log.info("Successfully generated and saved {} recommendations for user {}", responses.size(), userId);
-        return responses;
+        return recommendations;
     }
 
-    private Map<String, Object> getTestResults(Integer userId, String testTypeName) {
-        List<CompletedEvaluation> evaluations = completedEvaluationRepository.findByUserIdOrderByCompletionDateDesc(userId);
-
-        Optional<CompletedEvaluation> relevantEvaluation = evaluations.stream()
-                .filter(e -> testTypeName.equals(e.getTest().getTestType().getName()))
-                .findFirst();
-
-        if (relevantEvaluation.isEmpty()) {
-            log.debug("User {} has not completed {} test", userId, testTypeName);
-            return Collections.emptyMap();
+    /**
+     * Busca en el índice k-NN un vecino con recomendaciones generadas para la misma versión del
+     * catálogo y las copia al usuario, escalando cada porcentaje por la similitud entre perfiles.
+     * Devuelve una lista vacía si no hay vecino utilizable y se debe llamar a Groq.
+     */
+    private List<CareerRecommendation> reuseNeighbourRecommendations(UserProfile profile, String catalogVersion) {
+        if (!profileSimilarityIndex.isEnabled()) {
+            return List.of();
         }
 
-        CompletedEvaluation evaluation = relevantEvaluation.get();
-        if (evaluation.getEvaluationResult() == null) {
-            log.warn("No result found for evaluation {}", evaluation.getId());
-            return Collections.emptyMap();
+        for (ProfileSimilarityIndex.Neighbour neighbour : profileSimilarityIndex.findNeighbours(profile)) {
+            List<CareerRecommendation> neighbourRecommendations =
+                    careerRecommendationRepository.findByUserIdOrderByCompatibilityPercentageDesc(neighbour.userId());
+
+            boolean sameCatalog = !neighbourRecommendations.isEmpty() && neighbourRecommendations.stream()
+                    .allMatch(r -> catalogVersion.equals(r.getCatalogVersion()));
+            if (!sameCatalog) {
+                continue;
+            }
+
+            BigDecimal similarity = BigDecimal.valueOf(neighbour.similarity());
+            List<CareerRecommendation> adapted = new ArrayList<>();
+            for (CareerRecommendation source : neighbourRecommendations) {
+                CareerRecommendation recommendation = new CareerRecommendation();
+                recommendation.setUserId(profile.getUserId());
+                recommendation.setCareer(source.getCareer());
+                recommendation.setCompatibilityPercentage(source.getCompatibilityPercentage()
+                        .multiply(similarity)
+                        .setScale(2, RoundingMode.HALF_UP));
+                recommendation.setCatalogVersion(catalogVersion);
+                adapted.add(recommendation);
+            }
+
+            meterRegistry.counter("recommendations.groq.calls.avoided", "source", "knn").increment();
+            log.info("Reused recommendations of user {} (similarity {}) for user {}",
+                    neighbour.userId(), String.format("%.3f", neighbour.similarity()), profile.getUserId());
+
+            return adapted;
         }
 
-        try {
-            String jsonResult = evaluation.getEvaluationResult().getResultJson();
-            return objectMapper.readValue(jsonResult, Map.class);
-        } catch (Exception e) {
-            log.error("Error parsing {} test results for user {}", testTypeName, userId, e);
-            return Collections.emptyMap();
-        }
+        return List.of();
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public CareerDetailResponse getCareerDetails(Integer careerId) {
+    public Versioned<CareerDetailResponse> getCareerDetails(Integer careerId) {
+        Versioned<CareerDetailResponse> cached = detailCache.get(careerId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = detailGeneration.get();
         Career career = careerRepository.findById(careerId)
                 .orElseThrow(() -> new EntityNotFoundException("Career not found"));
 
-        Object socialMediaData = socialMediaApiService.getCareerInformation(career.getName());
+        CareerDetailResponse detail = CareerMapper.toDetailResponse(career);
+        Versioned<CareerDetailResponse> versioned = new Versioned<>(detail, contentETags.of(detail));
+
+        // Si el catálogo cambió durante la lectura, no se guarda una versión que ya puede ser antigua
+        if (detailGeneration.get() == generation) {
+            detailCache.put(careerId, versioned, detailTtl);
+        }
+        return versioned;
+    }
+
+    /**
+     * Sin transacción a propósito: las búsquedas en Reddit pueden tardar hasta social.reddit.deadline
+     * y no deben retener una conexión a la base de datos.
+     */
+    @Override
+    public Versioned<Object> getCareerSocialData(Integer careerId) {
+        String careerName = getCareerDetails(careerId).body().getName();
+        Object socialMediaData = socialMediaApiService.getCareerInformation(careerName);
 
-        return CareerMapper.toDetailResponse(career, socialMediaData);
+        return new Versioned<>(socialMediaData, contentETags.of(socialMediaData));
+    }
+
+    @TransactionalEventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.catalog() == CatalogChangedEvent.Catalog.CAREERS) {
+            detailGeneration.incrementAndGet();
+            event.ids().forEach(detailCache::remove);
+        }
+    }
+
+    /**
+     * Descarta la caché de los usuarios cuyas recomendaciones se recalcularon tras un cambio de catálogo.
+     */
+    @EventListener
+    public void onRecommendationsRecomputed(RecommendationsRecomputedEvent event) {
+        if (event.catalog() == CatalogChangedEvent.Catalog.CAREERS) {
+            event.userIds().forEach(cache::remove);
+        }
     }
 
     // Clase interna para caché
@@ -197,43 +330,35 @@ public class CareerServiceImpl implements CareerService {
         }
     }
 
+    // Sin transacción: se sirve desde CareerCatalogCache, que sólo consulta la BD al recargarse
     @Override
-    @Transactional(readOnly = true)
-    public List<CareerResponse> getAllCareers(int page, int pageSize) {
-        log.info("Fetching careers with pagination: page={}, pageSize={}", page, pageSize);
+    public Versioned<List<CareerResponse>> getAllCareers(int page, int pageSize) {
+        log.debug("Fetching careers with pagination: page={}, pageSize={}", page, pageSize);
 
         if (page < 0 || pageSize <= 0) {
             throw new IllegalArgumentException("Page must be >= 0 and pageSize must be > 0");
         }
 
-        Pageable pageable = PageRequest.of(page, pageSize, Sort.by("name").ascending());
-
-        Page<Career> careerPage = careerRepository.findAll(pageable);
+        Versioned<List<CareerResponse>> careers = careerCatalogCache.getPage(page, pageSize);
 
-        if (careerPage.isEmpty() && page == 0) {
+        if (careers.body().isEmpty() && page == 0) {
             throw new IllegalArgumentException("No hay carreras disponibles en el sistema");
         }
 
-        List<CareerResponse> careers = careerPage.getContent().stream()
-                .map(AdminMapper::toCareerResponse)
-                .collect(Collectors.toList());
-
-        log.info("Returned {} careers out of {} total (page {} of {})",
-                careers.size(),
-                careerPage.getTotalElements(),
+        int total = careerCatalogCache.size();
+        log.debug("Returned {} careers out of {} total (page {} of {})",
+                careers.body().size(),
+                total,
                 page + 1,
-                careerPage.getTotalPages());
+                (total + pageSize - 1) / pageSize);
 
         return careers;
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public CareerResponse getCareerById(Integer careerId) {
-        Career career = careerRepository.findById(careerId)
+    public Versioned<CareerResponse> getCareerById(Integer careerId) {
+        return careerCatalogCache.getById(careerId)
                 .orElseThrow(() -> new EntityNotFoundException("The requested career has not been found"));
-
-        return AdminMapper.toCareerResponse(career);
     }
 
     @Override
@@ -241,6 +366,7 @@ public class CareerServiceImpl implements CareerService {
     public CareerResponse createCareer(CareerRequest request) {
         Career career = AdminMapper.toCareerEntity(request);
         Career saved = careerRepository.save(career);
+        eventPublisher.publishEvent(CatalogChangedEvent.careers(saved.getId()));
         return AdminMapper.toCareerResponse(saved);
     }
 
@@ -252,6 +378,7 @@ public class CareerServiceImpl implements CareerService {
 
         AdminMapper.copyToCareerEntity(request, career);
         Career saved = careerRepository.save(career);
+        eventPublisher.publishEvent(CatalogChangedEvent.careers(saved.getId()));
         return AdminMapper.toCareerResponse(saved);
     }
 }
\ No newline at end of file
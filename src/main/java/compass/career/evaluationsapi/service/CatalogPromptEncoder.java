@@ -0,0 +1,142 @@
+package compass.career.evaluationsapi.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Codifica la sección de catálogo de los prompts de Groq. "markdown" conserva el formato original
+ * con etiquetas por fila; "compact" usa una fila de encabezado y valores separados por '|', con los
+ * textos largos recortados a groq.prompt.description-max-tokens.
+ */
+@Component
+@Slf4j
+public class CatalogPromptEncoder {
+
+    public enum Format {
+        MARKDOWN,
+        COMPACT
+    }
+
+    // Aproximación de caracteres por token para texto en español con el tokenizer de Llama
+    private static final int CHARS_PER_TOKEN = 4;
+
+    private final Format format;
+    private final int descriptionMaxTokens;
+
+    public CatalogPromptEncoder(
+            @Value("${groq.prompt.catalog-format:markdown}") String format,
+            @Value("${groq.prompt.description-max-tokens:40}") int descriptionMaxTokens) {
+
+        this.format = Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        this.descriptionMaxTokens = descriptionMaxTokens;
+
+        log.info("Catalog prompt encoding: {} (description budget {} tokens)", this.format, descriptionMaxTokens);
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    public String encodeCareers(List<GroqService.CareerInfo> careers) {
+        StringBuilder section = new StringBuilder();
+
+        if (format == Format.COMPACT) {
+            section.append("Una fila por carrera; columnas separadas por '|', descripciones abreviadas.\n");
+            section.append("id|nombre|semestres|salario|descripcion\n");
+            for (GroqService.CareerInfo career : careers) {
+                section.append(career.getId()).append('|')
+                        .append(cell(career.getName())).append('|')
+                        .append(career.getDurationSemesters() != null ? career.getDurationSemesters() : "").append('|')
+                        .append(career.getAverageSalary() != null ? career.getAverageSalary().setScale(0, RoundingMode.HALF_UP) : "").append('|')
+                        .append(cell(truncate(career.getDescription())))
+                        .append('\n');
+            }
+            return section.toString();
+        }
+
+        for (GroqService.CareerInfo career : careers) {
+            section.append(String.format("- **ID:** %d | **Nombre:** %s | **Duración:** %d semestres | **Salario promedio:** $%.2f\n",
+                    career.getId(),
+                    career.getName(),
+                    career.getDurationSemesters(),
+                    career.getAverageSalary() != null ? career.getAverageSalary().doubleValue() : 0.0
+            ));
+            if (career.getDescription() != null && !career.getDescription().isEmpty()) {
+                section.append(String.format("  Descripción: %s\n", career.getDescription()));
+            }
+        }
+        return section.toString();
+    }
+
+    public String encodeSpecializations(List<GroqService.SpecializationInfo> specializations) {
+        StringBuilder section = new StringBuilder();
+
+        if (format == Format.COMPACT) {
+            section.append("Una fila por especialización; columnas separadas por '|', textos abreviados.\n");
+            section.append("id|nombre|carrera|descripcion|campos_aplicacion|proyeccion_laboral\n");
+            for (GroqService.SpecializationInfo spec : specializations) {
+                section.append(spec.getId()).append('|')
+                        .append(cell(spec.getName())).append('|')
+                        .append(cell(spec.getCareerName())).append('|')
+                        .append(cell(truncate(spec.getDescription()))).append('|')
+                        .append(cell(truncate(spec.getApplicationFields()))).append('|')
+                        .append(cell(truncate(spec.getJobProjection())))
+                        .append('\n');
+            }
+            return section.append('\n').toString();
+        }
+
+        for (GroqService.SpecializationInfo spec : specializations) {
+            section.append(String.format("- **ID:** %d | **Nombre:** %s | **Carrera:** %s\n",
+                    spec.getId(),
+                    spec.getName(),
+                    spec.getCareerName()
+            ));
+            if (spec.getDescription() != null && !spec.getDescription().isEmpty()) {
+                section.append(String.format("  Descripción: %s\n", spec.getDescription()));
+            }
+            if (spec.getApplicationFields() != null && !spec.getApplicationFields().isEmpty()) {
+                section.append(String.format("  Campos de aplicación: %s\n", spec.getApplicationFields()));
+            }
+            if (spec.getJobProjection() != null && !spec.getJobProjection().isEmpty()) {
+                section.append(String.format("  Proyección laboral: %s\n", spec.getJobProjection()));
+            }
+            section.append("\n");
+        }
+        return section.toString();
+    }
+
+    /**
+     * Estimación barata del número de tokens de un texto; suficiente para presupuestar y comparar
+     * codificaciones, no para facturación.
+     */
+    public static int estimateTokens(String text) {
+        return text == null || text.isEmpty() ? 0 : (text.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+
+    // Recorta en el último límite de palabra dentro del presupuesto
+    private String truncate(String text) {
+        if (text == null) {
+            return "";
+        }
+
+        int maxChars = descriptionMaxTokens * CHARS_PER_TOKEN;
+        String normalized = text.strip();
+        if (normalized.length() <= maxChars) {
+            return normalized;
+        }
+
+        int cut = normalized.lastIndexOf(' ', maxChars);
+        return normalized.substring(0, cut > maxChars / 2 ? cut : maxChars).stripTrailing() + "…";
+    }
+
+    // El separador y los saltos de línea dentro de un valor romperían la tabla
+    private static String cell(String value) {
+        return value == null ? "" : value.replace('|', '/').replaceAll("\\s+", " ").strip();
+    }
+}
@@ -0,0 +1,39 @@
+package compass.career.evaluationsapi.service;
+
+import compass.career.evaluationsapi.model.Career;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Huella estable del catálogo de carreras tal como se envía a Groq. Dos recomendaciones con la
+ * misma versión se generaron contra exactamente las mismas carreras.
+ */
+public final class CatalogVersion {
+
+    private CatalogVersion() {
+    }
+
+    public static String of(List<Career> careers) {
+        MessageDigest digest = sha256();
+        careers.stream()
+                .sorted(Comparator.comparing(Career::getId))
+                .forEach(c -> digest.update((c.getId() + "|" + c.getName() + "|" + Objects.toString(c.getDescription(), "")
+                        + "|" + c.getDurationSemesters() + "|" + c.getAverageSalary() + "\n")
+                        .getBytes(StandardCharsets.UTF_8)));
+        return HexFormat.of().formatHex(digest.digest(), 0, 16);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
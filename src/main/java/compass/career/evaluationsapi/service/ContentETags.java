@@ -0,0 +1,39 @@
+package compass.career.evaluationsapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * ETags fuertes derivados del contenido: SHA-256 del JSON de la respuesta con las claves de los
+ * mapas ordenadas, de modo que todos los nodos calculan el mismo valor para los mismos datos.
+ */
+@Component
+public class ContentETags {
+
+    // 128 bits del hash son suficientes para distinguir versiones de un mismo recurso
+    private static final int ETAG_BYTES = 16;
+
+    private final ObjectWriter writer;
+
+    public ContentETags(ObjectMapper objectMapper) {
+        this.writer = objectMapper.copy()
+                .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+                .writer();
+    }
+
+    public String of(Object body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(writer.writeValueAsBytes(body));
+            return "\"" + HexFormat.of().formatHex(digest, 0, ETAG_BYTES) + "\"";
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not compute ETag", e);
+        }
+    }
+}
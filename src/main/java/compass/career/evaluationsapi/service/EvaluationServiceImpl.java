@@ -34,6 +34,7 @@ public class EvaluationServiceImpl implements EvaluationService {
     private final AreaResultRepository areaResultRepository;
     private final VocationalAreaRepository vocationalAreaRepository;
     private final AzureCognitiveService azureCognitiveService;
+    private final UserProfileService userProfileService;
     private final UsersApiClient usersApiClient;
     private final ObjectMapper objectMapper;
 
@@ -116,6 +117,12 @@ public class EvaluationServiceImpl implements EvaluationService {
 
         evaluation.setEvaluationResult(savedResult);
 
+        @SuppressWarnings("unchecked")
+        Map<String, Double> dimensions = (Map<String, Double>) personalityAnalysis.get("dimensions");
+        if (dimensions != null) {
+            userProfileService.updatePersonality(userId, dimensions);
+        }
+
         return EvaluationMapper.toResultResponse(evaluation);
     }
 
@@ -244,6 +251,8 @@ public class EvaluationServiceImpl implements EvaluationService {
 
         evaluation.setEvaluationResult(savedResult);
 
+        userProfileService.updateVocationalInterests(userId, sortedAreas);
+
         return EvaluationMapper.toResultResponse(evaluation);
     }
 
@@ -325,6 +334,7 @@ public class EvaluationServiceImpl implements EvaluationService {
         }
 
         Map<String, Object> areaScores = new HashMap<>();
+        Map<String, BigDecimal> areaPercentages = new HashMap<>();
         for (String category : cognitiveScores.keySet()) {
             int score = cognitiveScores.get(category);
             int maxScore = cognitiveMaxScores.get(category);
@@ -338,6 +348,7 @@ public class EvaluationServiceImpl implements EvaluationService {
             areaData.put("score", percentage);
             areaData.put("level", level);
             areaScores.put(category, areaData);
+            areaPercentages.put(category, percentage);
         }
 
         BigDecimal totalScore = cognitiveScores.isEmpty() ? BigDecimal.ZERO :
@@ -365,6 +376,8 @@ public class EvaluationServiceImpl implements EvaluationService {
 
         evaluation.setEvaluationResult(savedResult);
 
+        userProfileService.updateCognitiveSkills(userId, areaPercentages);
+
         return EvaluationMapper.toResultResponse(evaluation);
     }
 
@@ -0,0 +1,197 @@
+package compass.career.evaluationsapi.service;
+
+import compass.career.evaluationsapi.event.CatalogChangedEvent;
+import compass.career.evaluationsapi.model.Career;
+import compass.career.evaluationsapi.model.UserProfile;
+import compass.career.evaluationsapi.repository.CareerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Enrutamiento por niveles de las recomendaciones de carreras: primero responde un modelo pequeño
+ * y sólo se escala al grande cuando su confianza es baja. La confianza combina el margen entre las
+ * primeras puntuaciones del modelo pequeño y su coincidencia con el pre-ranking local. Las carreras
+ * y palabras clave del pre-ranking se cargan una vez por versión del catálogo y se recargan tras
+ * catalog.cache.ttl, porque el evento de cambio sólo llega a la instancia que hizo la escritura.
+ */
+@Component
+public class GroqModelRouter {
+
+    public static final String TIER_SMALL = "small";
+    public static final String TIER_LARGE = "large";
+
+    // Posición contra la que se mide el margen de la primera recomendación
+    private static final int MARGIN_RANK = 3;
+    // Primeras recomendaciones del modelo que deben aparecer en el top local
+    private static final int AGREEMENT_TOP = 5;
+    private static final int LOCAL_TOP = 10;
+
+    private final MeterRegistry meterRegistry;
+    private final LocalRecommendationScorer localRecommendationScorer;
+    private final CareerRepository careerRepository;
+
+    @Getter
+    private final boolean enabled;
+    @Getter
+    private final String smallModel;
+    @Getter
+    private final int smallMaxTokens;
+    private final double targetMargin;
+    private final double confidenceThreshold;
+    private final Duration catalogTtl;
+    private final LongSupplier nanoClock;
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile LocalRanking localRanking;
+
+    // Carreras completas (con perfil de egreso y campo laboral) y puntuación del catálogo actual
+    private record LocalRanking(LocalRecommendationScorer.Scoring scoring, Map<Integer, Career> careers,
+                                long expiresAtNanos) {
+    }
+
+    @Autowired
+    public GroqModelRouter(
+            MeterRegistry meterRegistry,
+            LocalRecommendationScorer localRecommendationScorer,
+            CareerRepository careerRepository,
+            @Value("${groq.routing.enabled:true}") boolean enabled,
+            @Value("${groq.routing.small-model:llama-3.1-8b-instant}") String smallModel,
+            @Value("${groq.routing.small-max-tokens:1200}") int smallMaxTokens,
+            @Value("${groq.routing.target-margin:10}") double targetMargin,
+            @Value("${groq.routing.confidence-threshold:0.6}") double confidenceThreshold,
+            @Value("${catalog.cache.ttl:PT1M}") Duration catalogTtl) {
+        this(meterRegistry, localRecommendationScorer, careerRepository, enabled, smallModel, smallMaxTokens,
+                targetMargin, confidenceThreshold, catalogTtl, System::nanoTime);
+    }
+
+    GroqModelRouter(MeterRegistry meterRegistry, LocalRecommendationScorer localRecommendationScorer,
+                    CareerRepository careerRepository, boolean enabled, String smallModel, int smallMaxTokens,
+                    double targetMargin, double confidenceThreshold, Duration catalogTtl, LongSupplier nanoClock) {
+        this.meterRegistry = meterRegistry;
+        this.localRecommendationScorer = localRecommendationScorer;
+        this.careerRepository = careerRepository;
+        this.enabled = enabled;
+        this.smallModel = smallModel;
+        this.smallMaxTokens = smallMaxTokens;
+        this.targetMargin = targetMargin;
+        this.confidenceThreshold = confidenceThreshold;
+        this.catalogTtl = catalogTtl;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Confianza 0-1 en la respuesta del modelo pequeño. Es 0 si no devolvió un top completo de ids
+     * válidos; en otro caso promedia las señales disponibles: el margen normalizado (puntos entre la
+     * 1.ª y la 4.ª recomendación frente a groq.routing.target-margin, sólo si hay al menos cuatro) y
+     * la coincidencia con el ranking local (sólo si el perfil tiene intereses o habilidades).
+     */
+    public double confidence(UserProfile profile, List<GroqService.CareerInfo> careers,
+                             List<GroqService.CareerRecommendation> recommendations) {
+        Set<Integer> catalogIds = careers.stream().map(GroqService.CareerInfo::getId).collect(Collectors.toSet());
+
+        // Una entrada por carrera (la de mayor puntuación), de mayor a menor
+        List<GroqService.CareerRecommendation> valid = recommendations.stream()
+                .filter(r -> r.getCareerId() != null && catalogIds.contains(r.getCareerId()))
+                .filter(r -> r.getCompatibilityPercentage() != null)
+                .sorted(Comparator.comparingDouble(GroqService.CareerRecommendation::getCompatibilityPercentage).reversed())
+                .collect(Collectors.toMap(GroqService.CareerRecommendation::getCareerId, Function.identity(),
+                        (first, duplicate) -> first, LinkedHashMap::new))
+                .values().stream()
+                .collect(Collectors.toList());
+
+        int expected = Math.min(RecommendationRepairer.TOP_RECOMMENDATIONS, careers.size());
+        if (valid.isEmpty() || valid.size() < expected) {
+            return 0;
+        }
+
+        double total = 0;
+        int signals = 0;
+
+        if (valid.size() > MARGIN_RANK) {
+            double margin = valid.get(0).getCompatibilityPercentage() - valid.get(MARGIN_RANK).getCompatibilityPercentage();
+            total += targetMargin <= 0 ? 1 : Math.min(1.0, Math.max(0, margin) / targetMargin);
+            signals++;
+        }
+
+        // Sin intereses ni habilidades el ranking local no aporta señal
+        if (profile.hasVocationalInterests() || profile.hasCognitiveSkills()) {
+            Set<Integer> localTop = localTop(profile, catalogIds);
+            List<Integer> modelTop = valid.stream().limit(AGREEMENT_TOP)
+                    .map(GroqService.CareerRecommendation::getCareerId)
+                    .collect(Collectors.toList());
+            total += (double) modelTop.stream().filter(localTop::contains).count() / modelTop.size();
+            signals++;
+        }
+
+        // Sin ninguna señal no hay forma de validar la respuesta del modelo pequeño
+        return signals == 0 ? 0 : total / signals;
+    }
+
+    public boolean isConfident(double confidence) {
+        return confidence >= confidenceThreshold;
+    }
+
+    public void recordLatency(String tier, String operation, long nanos) {
+        meterRegistry.timer("groq.tier.latency", "tier", tier, "operation", operation)
+                .record(Duration.ofNanos(nanos));
+    }
+
+    /**
+     * outcome: accepted (se quedó en el modelo pequeño), escalated (baja confianza) o
+     * small_failed (error o respuesta ilegible del modelo pequeño).
+     */
+    public void recordDecision(String operation, String outcome) {
+        meterRegistry.counter("groq.routing.decisions", "operation", operation, "outcome", outcome).increment();
+    }
+
+    @TransactionalEventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.catalog() == CatalogChangedEvent.Catalog.CAREERS) {
+            generation.incrementAndGet();
+            localRanking = null;
+        }
+    }
+
+    private Set<Integer> localTop(UserProfile profile, Set<Integer> catalogIds) {
+        LocalRanking ranking = localRanking();
+
+        return catalogIds.stream()
+                .map(ranking.careers()::get)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparingDouble((Career c) -> -ranking.scoring().score(profile, c))
+                        .thenComparing(Career::getId))
+                .limit(LOCAL_TOP)
+                .map(Career::getId)
+                .collect(Collectors.toSet());
+    }
+
+    private LocalRanking localRanking() {
+        LocalRanking current = localRanking;
+        if (current != null && nanoClock.getAsLong() - current.expiresAtNanos() < 0) {
+            return current;
+        }
+
+        long loadedGeneration = generation.get();
+        Map<Integer, Career> careers = new HashMap<>();
+        careerRepository.findAll().forEach(career -> careers.put(career.getId(), career));
+        LocalRanking loaded = new LocalRanking(localRecommendationScorer.forCatalog(), Map.copyOf(careers),
+                nanoClock.getAsLong() + catalogTtl.toNanos());
+
+        // Si hubo un cambio durante la carga se usa lo leído pero no se publica
+        if (generation.get() == loadedGeneration) {
+            localRanking = loaded;
+        }
+        return loaded;
+    }
+}
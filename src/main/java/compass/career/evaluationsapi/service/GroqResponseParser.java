@@ -0,0 +1,213 @@
+package compass.career.evaluationsapi.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lectura en streaming de las respuestas de Groq (formato chat/completions de OpenAI). Recorre el
+ * sobre una sola vez tomando sólo choices[0].message.content y usage, y después el JSON de
+ * recomendaciones contenido en ese texto, sin construir mapas intermedios.
+ */
+@Component
+public class GroqResponseParser {
+
+    private final JsonFactory jsonFactory;
+
+    public GroqResponseParser(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    public record Usage(int promptTokens, int completionTokens, int totalTokens) {
+        public static final Usage NONE = new Usage(0, 0, 0);
+    }
+
+    public record Completion(String content, String finishReason, Usage usage) {
+
+        // El modelo se detuvo por max_tokens y el JSON probablemente está incompleto
+        public boolean truncated() {
+            return "length".equals(finishReason);
+        }
+    }
+
+    // Elemento del arreglo "recommendations"; id es careerId o specializationId según el prompt
+    public record RecommendationItem(Integer id, Double compatibilityPercentage, String reason) {
+    }
+
+    public Completion parseCompletion(InputStream body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            return readCompletion(parser);
+        }
+    }
+
+    public Completion parseCompletion(String body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            return readCompletion(parser);
+        }
+    }
+
+    public List<RecommendationItem> parseRecommendations(String content, String idField) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(content)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT, "recommendation payload");
+
+            List<RecommendationItem> items = new ArrayList<>();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                if ("recommendations".equals(field) && value == JsonToken.START_ARRAY) {
+                    JsonToken element;
+                    while ((element = parser.nextToken()) != JsonToken.END_ARRAY && element != null) {
+                        // Elementos que no son objetos (números, arreglos anidados) se descartan
+                        if (element == JsonToken.START_OBJECT) {
+                            items.add(readItem(parser, idField));
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            if (items.isEmpty()) {
+                throw new IOException("Groq response contains no recommendations");
+            }
+            return items;
+        }
+    }
+
+    private Completion readCompletion(JsonParser parser) throws IOException {
+        expect(parser.nextToken(), JsonToken.START_OBJECT, "completion");
+
+        String[] choice = null;
+        Usage usage = Usage.NONE;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            if ("choices".equals(field) && value == JsonToken.START_ARRAY) {
+                choice = readFirstChoice(parser);
+            } else if ("usage".equals(field) && value == JsonToken.START_OBJECT) {
+                usage = readUsage(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if (choice == null || choice[0] == null) {
+            throw new IOException("Groq response has no message content");
+        }
+        return new Completion(choice[0], choice[1], usage);
+    }
+
+    // Devuelve {content, finish_reason} y deja el parser al final del arreglo choices
+    private String[] readFirstChoice(JsonParser parser) throws IOException {
+        String content = null;
+        String finishReason = null;
+        boolean first = true;
+
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            if (!first) {
+                parser.skipChildren();
+                continue;
+            }
+            first = false;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                if ("message".equals(field) && value == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String messageField = parser.currentName();
+                        parser.nextToken();
+                        if ("content".equals(messageField)) {
+                            content = parser.getValueAsString();
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                } else if ("finish_reason".equals(field)) {
+                    finishReason = parser.getValueAsString();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return new String[]{content, finishReason};
+    }
+
+    private Usage readUsage(JsonParser parser) throws IOException {
+        int prompt = 0;
+        int completion = 0;
+        int total = 0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "prompt_tokens" -> prompt = parser.getValueAsInt();
+                case "completion_tokens" -> completion = parser.getValueAsInt();
+                case "total_tokens" -> total = parser.getValueAsInt();
+                default -> parser.skipChildren();
+            }
+        }
+        return new Usage(prompt, completion, total);
+    }
+
+    private RecommendationItem readItem(JsonParser parser, String idField) throws IOException {
+        Integer id = null;
+        Double percentage = null;
+        String reason = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            // Un objeto o arreglo donde se esperaba un valor se salta entero y el campo queda en null
+            if (value == JsonToken.VALUE_NULL || !value.isScalarValue()) {
+                parser.skipChildren();
+                continue;
+            }
+            if (idField.equals(field)) {
+                Double number = numberValue(parser, value);
+                id = number != null ? number.intValue() : null;
+            } else if ("compatibilityPercentage".equals(field)) {
+                percentage = numberValue(parser, value);
+            } else if ("reason".equals(field)) {
+                reason = parser.getValueAsString();
+            }
+        }
+        return new RecommendationItem(id, percentage, reason);
+    }
+
+    // Los modelos a veces devuelven números como texto ("94.5"); un texto no numérico o un booleano es null
+    private static Double numberValue(JsonParser parser, JsonToken value) throws IOException {
+        if (value.isNumeric()) {
+            return parser.getDoubleValue();
+        }
+        if (value == JsonToken.VALUE_STRING) {
+            try {
+                return Double.valueOf(parser.getText().trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected, String what) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Malformed Groq " + what + ": expected " + expected + " but found " + actual);
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package compass.career.evaluationsapi.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import compass.career.evaluationsapi.model.UserProfile;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -17,6 +22,15 @@ import java.util.concurrent.TimeUnit;
 @Slf4j
 public class GroqService {
 
+    // Volcado completo de las respuestas; logger propio para que el DEBUG del paquete no obligue a
+    // leer el cuerpo entero en memoria (desactivado en application.properties)
+    private static final Logger rawResponseLog = LoggerFactory.getLogger("compass.career.evaluationsapi.groq.raw");
+
+    // Etiquetas de operación para la contabilidad de tokens
+    public static final String OPERATION_CAREER_RECOMMENDATIONS = "career_recommendations";
+    public static final String OPERATION_CAREER_DELTA = "career_delta";
+    public static final String OPERATION_SPECIALIZATION_RECOMMENDATIONS = "specialization_recommendations";
+
     private final OkHttpClient client;
     private final String apiKey;
     private final String apiUrl;
@@ -24,6 +38,11 @@ public class GroqService {
     private final Integer maxTokens;
     private final Double temperature;
     private final ObjectMapper objectMapper;
+    private final GroqResponseParser responseParser;
+    private final GroqTokenMeter tokenMeter;
+    private final CatalogPromptEncoder catalogPromptEncoder;
+    private final GroqModelRouter modelRouter;
+    private final CircuitBreaker circuitBreaker;
     private final MediaType JSON = MediaType.get("application/json; charset=utf-8");
 
     public GroqService(
@@ -32,7 +51,12 @@ public class GroqService {
             @Value("${groq.model}") String model,
             @Value("${groq.max-tokens}") Integer maxTokens,
             @Value("${groq.temperature}") Double temperature,
-            ObjectMapper objectMapper) {
+            ObjectMapper objectMapper,
+            GroqResponseParser responseParser,
+            GroqTokenMeter tokenMeter,
+            CatalogPromptEncoder catalogPromptEncoder,
+            GroqModelRouter modelRouter,
+            CircuitBreakerRegistry circuitBreakerRegistry) {
 
         this.apiKey = apiKey;
         this.apiUrl = apiUrl;
@@ -40,6 +64,11 @@ public class GroqService {
         this.maxTokens = maxTokens;
         this.temperature = temperature;
         this.objectMapper = objectMapper;
+        this.responseParser = responseParser;
+        this.tokenMeter = tokenMeter;
+        this.catalogPromptEncoder = catalogPromptEncoder;
+        this.modelRouter = modelRouter;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker("groq");
 
         this.client = new OkHttpClient.Builder()
                 .connectTimeout(30, TimeUnit.SECONDS)
@@ -50,163 +79,118 @@ public class GroqService {
         log.info("Groq Service initialized with model: {}", model);
     }
 
+    /**
+     * Genera recomendaciones de carreras protegidas por el circuit breaker "groq".
+     * Con el circuito abierto lanza CallNotPermittedException sin llegar a la red, y con el
+     * presupuesto de tokens agotado TokenBudgetExceededException.
+     */
     public List<CareerRecommendation> generateCareerRecommendations(
-            Map<String, Object> personalityResults,
-            Map<String, Object> vocationalResults,
-            Map<String, Object> cognitiveResults,
+            UserProfile profile,
             List<CareerInfo> availableCareers) {
 
-        log.info("Generating career recommendations for {} careers using Groq AI", availableCareers.size());
-
-        String prompt = buildRecommendationPrompt(
-                personalityResults,
-                vocationalResults,
-                cognitiveResults,
-                availableCareers
-        );
-
-        try {
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("model", model);
-            requestBody.put("temperature", temperature);
-            requestBody.put("max_tokens", maxTokens);
-            requestBody.put("response_format", Map.of("type", "json_object"));
-
-            List<Map<String, String>> messages = new ArrayList<>();
-            messages.add(Map.of(
-                    "role", "system",
-                    "content", "Eres un consejero vocacional experto que analiza perfiles de estudiantes basados en:\n" +
-                            "1. Test de Personalidad (Modelo RIASEC)\n" +
-                            "2. Test de Intereses Vocacionales\n" +
-                            "3. Test de Habilidades Cognitivas\n\n" +
-                            "Tu tarea es analizar estos resultados y recomendar las carreras más compatibles.\n" +
-                            "IMPORTANTE: Debes devolver SOLO un JSON válido sin texto adicional."
-            ));
-            messages.add(Map.of(
-                    "role", "user",
-                    "content", prompt
-            ));
-            requestBody.put("messages", messages);
-
-            String jsonBody = objectMapper.writeValueAsString(requestBody);
-
-            Request request = new Request.Builder()
-                    .url(apiUrl)
-                    .addHeader("Authorization", "Bearer " + apiKey)
-                    .addHeader("Content-Type", "application/json")
-                    .post(RequestBody.create(jsonBody, JSON))
-                    .build();
-
-            try (Response response = client.newCall(request).execute()) {
-                if (!response.isSuccessful()) {
-                    throw new RuntimeException("Groq API error: " + response.code() + " - " + response.body().string());
-                }
+        return generateCareerRecommendations(profile, availableCareers, OPERATION_CAREER_RECOMMENDATIONS);
+    }
 
-                String responseBody = response.body().string();
-                log.debug("Groq API raw response: {}", responseBody);
+    public List<CareerRecommendation> generateCareerRecommendations(
+            UserProfile profile,
+            List<CareerInfo> availableCareers,
+            String operation) {
 
-                Map<String, Object> jsonResponse = objectMapper.readValue(responseBody, new TypeReference<Map<String, Object>>() {});
+        tokenMeter.checkBudget(operation, profile.getUserId());
+        return circuitBreaker.executeSupplier(() -> requestCareerRecommendations(profile, availableCareers, operation));
+    }
 
-                @SuppressWarnings("unchecked")
-                List<Map<String, Object>> choices = (List<Map<String, Object>>) jsonResponse.get("choices");
+    /**
+     * Con el enrutamiento activo responde primero el modelo pequeño; si falla o su confianza queda
+     * por debajo del umbral se repite la petición con el modelo configurado en groq.model.
+     */
+    private List<CareerRecommendation> requestCareerRecommendations(
+            UserProfile profile,
+            List<CareerInfo> availableCareers,
+            String operation) {
 
-                @SuppressWarnings("unchecked")
-                Map<String, Object> message = (Map<String, Object>) choices.get(0).get("message");
-                String content = (String) message.get("content");
+        log.info("Generating career recommendations for {} careers using Groq AI", availableCareers.size());
 
-                Map<String, Object> contentJson = objectMapper.readValue(content, new TypeReference<Map<String, Object>>() {});
+        String prompt = buildRecommendationPrompt(profile, availableCareers);
 
-                @SuppressWarnings("unchecked")
-                List<Map<String, Object>> recommendations = (List<Map<String, Object>>) contentJson.get("recommendations");
+        if (modelRouter.isEnabled()) {
+            try {
+                List<CareerRecommendation> result = requestCareerTier(GroqModelRouter.TIER_SMALL,
+                        modelRouter.getSmallModel(), modelRouter.getSmallMaxTokens(), prompt, operation, profile);
 
-                List<CareerRecommendation> result = new ArrayList<>();
-                for (Map<String, Object> rec : recommendations) {
-                    CareerRecommendation recommendation = new CareerRecommendation();
-                    recommendation.setCareerId(((Number) rec.get("careerId")).intValue());
-                    recommendation.setCompatibilityPercentage(((Number) rec.get("compatibilityPercentage")).doubleValue());
-                    recommendation.setReason((String) rec.get("reason"));
-                    result.add(recommendation);
+                double confidence = modelRouter.confidence(profile, availableCareers, result);
+                if (modelRouter.isConfident(confidence)) {
+                    modelRouter.recordDecision(operation, "accepted");
+                    log.info("Small model answered with confidence {} for user {}",
+                            String.format("%.2f", confidence), profile.getUserId());
+                    return result;
                 }
 
-                @SuppressWarnings("unchecked")
-                Map<String, Object> usage = (Map<String, Object>) jsonResponse.get("usage");
-                log.info("Groq API - Total tokens: {}, Prompt tokens: {}, Completion tokens: {}",
-                        usage.get("total_tokens"), usage.get("prompt_tokens"), usage.get("completion_tokens"));
-
-                log.info("Successfully generated {} career recommendations", result.size());
-                return result;
+                modelRouter.recordDecision(operation, "escalated");
+                log.info("Escalating to {} for user {}: small model confidence {}",
+                        model, profile.getUserId(), String.format("%.2f", confidence));
+            } catch (Exception e) {
+                modelRouter.recordDecision(operation, "small_failed");
+                log.warn("Small model failed for user {}, escalating to {}: {}", profile.getUserId(), model, e.getMessage());
             }
+        }
 
+        try {
+            return requestCareerTier(GroqModelRouter.TIER_LARGE, model, maxTokens, prompt, operation, profile);
         } catch (Exception e) {
             log.error("Error calling Groq API", e);
             throw new RuntimeException("Failed to generate career recommendations: " + e.getMessage(), e);
         }
     }
 
+    private List<CareerRecommendation> requestCareerTier(
+            String tier,
+            String tierModel,
+            int tierMaxTokens,
+            String prompt,
+            String operation,
+            UserProfile profile) throws IOException {
+
+        // Cada nivel lleva su propia contabilidad para que max_tokens se adapte por separado
+        String tierOperation = GroqModelRouter.TIER_LARGE.equals(tier) ? operation : operation + "_" + tier;
+
+        long start = System.nanoTime();
+        GroqResponseParser.Completion completion = execute(
+                tierModel,
+                tierMaxTokens,
+                "Eres un consejero vocacional experto que analiza perfiles de estudiantes basados en:\n" +
+                        "1. Test de Personalidad (Modelo RIASEC)\n" +
+                        "2. Test de Intereses Vocacionales\n" +
+                        "3. Test de Habilidades Cognitivas\n\n" +
+                        "Tu tarea es analizar estos resultados y recomendar las carreras más compatibles.\n" +
+                        "IMPORTANTE: Debes devolver SOLO un JSON válido sin texto adicional.",
+                prompt,
+                tierOperation,
+                profile.getUserId());
+        modelRouter.recordLatency(tier, operation, System.nanoTime() - start);
+
+        List<CareerRecommendation> result = new ArrayList<>();
+        for (GroqResponseParser.RecommendationItem item : responseParser.parseRecommendations(completion.content(), "careerId")) {
+            CareerRecommendation recommendation = new CareerRecommendation();
+            recommendation.setCareerId(item.id());
+            recommendation.setCompatibilityPercentage(item.compatibilityPercentage());
+            recommendation.setReason(item.reason());
+            result.add(recommendation);
+        }
+
+        log.info("Successfully generated {} career recommendations with {}", result.size(), tierModel);
+        return result;
+    }
+
     private String buildRecommendationPrompt(
-            Map<String, Object> personalityResults,
-            Map<String, Object> vocationalResults,
-            Map<String, Object> cognitiveResults,
+            UserProfile profile,
             List<CareerInfo> availableCareers) {
 
         StringBuilder prompt = new StringBuilder();
-        prompt.append("# PERFIL DEL ESTUDIANTE\n\n");
-
-        if (personalityResults != null && !personalityResults.isEmpty()) {
-            prompt.append("## 1. Test de Personalidad (Modelo RIASEC):\n");
-            @SuppressWarnings("unchecked")
-            Map<String, Object> dimensions = (Map<String, Object>) personalityResults.get("dimensions");
-            if (dimensions != null) {
-                dimensions.forEach((category, score) ->
-                        prompt.append(String.format("- %s: %.1f%%\n", category, ((Number) score).doubleValue()))
-                );
-            }
-            prompt.append("\n");
-        }
-
-        if (vocationalResults != null && !vocationalResults.isEmpty()) {
-            prompt.append("## 2. Test de Intereses Vocacionales:\n");
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> topAreas = (List<Map<String, Object>>) vocationalResults.get("topAreas");
-            if (topAreas != null) {
-                for (Map<String, Object> area : topAreas) {
-                    prompt.append(String.format("- %s: %.1f%%\n",
-                            area.get("area"),
-                            ((Number) area.get("percentage")).doubleValue()));
-                }
-            }
-            prompt.append("\n");
-        }
-
-        if (cognitiveResults != null && !cognitiveResults.isEmpty()) {
-            prompt.append("## 3. Test de Habilidades Cognitivas:\n");
-            @SuppressWarnings("unchecked")
-            Map<String, Object> cognitiveAreas = (Map<String, Object>) cognitiveResults.get("cognitiveAreas");
-            if (cognitiveAreas != null) {
-                cognitiveAreas.forEach((area, data) -> {
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> areaData = (Map<String, Object>) data;
-                    prompt.append(String.format("- %s: %.1f%% (Nivel: %s)\n",
-                            area,
-                            ((Number) areaData.get("score")).doubleValue(),
-                            areaData.get("level")));
-                });
-            }
-            prompt.append("\n");
-        }
+        prompt.append(buildStudentProfileSection(profile));
 
         prompt.append("# CARRERAS DISPONIBLES\n\n");
-        for (CareerInfo career : availableCareers) {
-            prompt.append(String.format("- **ID:** %d | **Nombre:** %s | **Duración:** %d semestres | **Salario promedio:** $%.2f\n",
-                    career.getId(),
-                    career.getName(),
-                    career.getDurationSemesters(),
-                    career.getAverageSalary() != null ? career.getAverageSalary().doubleValue() : 0.0
-            ));
-            if (career.getDescription() != null && !career.getDescription().isEmpty()) {
-                prompt.append(String.format("  Descripción: %s\n", career.getDescription()));
-            }
-        }
+        prompt.append(catalogPromptEncoder.encodeCareers(availableCareers));
 
         prompt.append("\n# INSTRUCCIONES\n\n");
         prompt.append("1. Analiza la compatibilidad entre el perfil del estudiante y cada carrera disponible\n");
@@ -232,6 +216,55 @@ public class GroqService {
         return prompt.toString();
     }
 
+    /**
+     * Sección "PERFIL DEL ESTUDIANTE" compartida por los prompts de carreras y especializaciones.
+     * Se construye a partir de la fila de user_profiles, sin re-parsear result_json.
+     */
+    public String buildStudentProfileSection(UserProfile profile) {
+        StringBuilder prompt = new StringBuilder();
+        prompt.append("# PERFIL DEL ESTUDIANTE\n\n");
+
+        if (profile.hasPersonality()) {
+            prompt.append("## 1. Test de Personalidad (Modelo RIASEC):\n");
+            appendDimension(prompt, "openness", profile.getOpenness());
+            appendDimension(prompt, "conscientiousness", profile.getConscientiousness());
+            appendDimension(prompt, "extraversion", profile.getExtraversion());
+            appendDimension(prompt, "agreeableness", profile.getAgreeableness());
+            appendDimension(prompt, "neuroticism", profile.getNeuroticism());
+            prompt.append("\n");
+        }
+
+        if (profile.hasVocationalInterests()) {
+            prompt.append("## 2. Test de Intereses Vocacionales:\n");
+            for (int i = 0; i < profile.getVocationalAreas().length; i++) {
+                prompt.append(String.format("- %s: %.1f%%\n",
+                        profile.getVocationalAreas()[i],
+                        profile.getVocationalPercentages()[i]));
+            }
+            prompt.append("\n");
+        }
+
+        if (profile.hasCognitiveSkills()) {
+            prompt.append("## 3. Test de Habilidades Cognitivas:\n");
+            for (int i = 0; i < profile.getCognitiveAreas().length; i++) {
+                double score = profile.getCognitiveScores()[i];
+                prompt.append(String.format("- %s: %.1f%% (Nivel: %s)\n",
+                        profile.getCognitiveAreas()[i],
+                        score,
+                        score <= 40 ? "bajo" : score <= 70 ? "medio" : "alto"));
+            }
+            prompt.append("\n");
+        }
+
+        return prompt.toString();
+    }
+
+    private void appendDimension(StringBuilder prompt, String dimension, Double score) {
+        if (score != null) {
+            prompt.append(String.format("- %s: %.1f%%\n", dimension, score));
+        }
+    }
+
     // Clases internas
     public static class CareerInfo {
         private Integer id;
@@ -255,6 +288,32 @@ public class GroqService {
         public java.math.BigDecimal getAverageSalary() { return averageSalary; }
     }
 
+    public static class SpecializationInfo {
+        private Integer id;
+        private String name;
+        private String description;
+        private String applicationFields;
+        private String jobProjection;
+        private String careerName;
+
+        public SpecializationInfo(Integer id, String name, String description,
+                                  String applicationFields, String jobProjection, String careerName) {
+            this.id = id;
+            this.name = name;
+            this.description = description;
+            this.applicationFields = applicationFields;
+            this.jobProjection = jobProjection;
+            this.careerName = careerName;
+        }
+
+        public Integer getId() { return id; }
+        public String getName() { return name; }
+        public String getDescription() { return description; }
+        public String getApplicationFields() { return applicationFields; }
+        public String getJobProjection() { return jobProjection; }
+        public String getCareerName() { return careerName; }
+    }
+
     public static class CareerRecommendation {
         private Integer careerId;
         private Double compatibilityPercentage;
@@ -272,13 +331,43 @@ public class GroqService {
         public void setReason(String reason) { this.reason = reason; }
     }
 
-    public String callGroqAPI(String userPrompt, String systemPrompt) throws Exception {
-        log.info("Calling Groq API with generic prompt");
+    /**
+     * Llamada genérica a Groq protegida por el mismo circuit breaker que las recomendaciones de carreras.
+     * El consumo se contabiliza bajo la operación indicada y, si se conoce, el usuario.
+     */
+    public String callGroqAPI(String userPrompt, String systemPrompt, String operation, Integer userId) throws Exception {
+        tokenMeter.checkBudget(operation, userId);
+        return circuitBreaker.executeCallable(() -> executeGroqCall(userPrompt, systemPrompt, operation, userId));
+    }
+
+    private String executeGroqCall(String userPrompt, String systemPrompt, String operation, Integer userId) throws Exception {
+        log.info("Calling Groq API with generic prompt ({})", operation);
+        return execute(model, maxTokens, systemPrompt, userPrompt, operation, userId).content();
+    }
+
+    private GroqResponseParser.Completion execute(String requestModel, int requestMaxTokens, String systemPrompt,
+                                                  String userPrompt, String operation, Integer userId) throws IOException {
+        int adaptedMaxTokens = tokenMeter.maxTokensFor(operation, requestMaxTokens);
+        GroqResponseParser.Completion completion =
+                send(requestModel, adaptedMaxTokens, systemPrompt, userPrompt, operation, userId);
+
+        // El límite ajustado se queda corto para respuestas más largas que las recientes: se repite
+        // una vez con el máximo configurado en lugar de devolver un JSON cortado
+        if (completion.truncated() && adaptedMaxTokens < requestMaxTokens) {
+            log.warn("Retrying Groq call for {} with max_tokens {} (adaptive limit {} was reached)",
+                    operation, requestMaxTokens, adaptedMaxTokens);
+            tokenMeter.recordTruncationRetry(operation);
+            completion = send(requestModel, requestMaxTokens, systemPrompt, userPrompt, operation, userId);
+        }
+        return completion;
+    }
 
+    private GroqResponseParser.Completion send(String requestModel, int requestMaxTokens, String systemPrompt,
+                                               String userPrompt, String operation, Integer userId) throws IOException {
         Map<String, Object> requestBody = new HashMap<>();
-        requestBody.put("model", model);
+        requestBody.put("model", requestModel);
         requestBody.put("temperature", temperature);
-        requestBody.put("max_tokens", maxTokens);
+        requestBody.put("max_tokens", requestMaxTokens);
         requestBody.put("response_format", Map.of("type", "json_object"));
 
         List<Map<String, String>> messages = new ArrayList<>();
@@ -300,23 +389,37 @@ public class GroqService {
                 throw new RuntimeException("Groq API error: " + response.code() + " - " + response.body().string());
             }
 
-            String responseBody = response.body().string();
-            log.debug("Groq API raw response: {}", responseBody);
-
-            Map<String, Object> jsonResponse = objectMapper.readValue(responseBody, new TypeReference<Map<String, Object>>() {});
+            GroqResponseParser.Completion completion;
+            if (rawResponseLog.isDebugEnabled()) {
+                String responseBody = response.body().string();
+                rawResponseLog.debug("Groq API raw response: {}", responseBody);
+                completion = responseParser.parseCompletion(responseBody);
+            } else {
+                completion = responseParser.parseCompletion(response.body().byteStream());
+            }
 
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> choices = (List<Map<String, Object>>) jsonResponse.get("choices");
+            recordUsage(operation, userId, completion);
+            return completion;
+        }
+    }
 
-            @SuppressWarnings("unchecked")
-            Map<String, Object> message = (Map<String, Object>) choices.get(0).get("message");
+    // Tokens consumidos desde el arranque (prompt + completion), para presupuestar procesos masivos
+    public long getTotalTokensUsed() {
+        return tokenMeter.getTotalTokens();
+    }
 
-            @SuppressWarnings("unchecked")
-            Map<String, Object> usage = (Map<String, Object>) jsonResponse.get("usage");
-            log.info("Groq API - Total tokens: {}, Prompt tokens: {}, Completion tokens: {}",
-                    usage.get("total_tokens"), usage.get("prompt_tokens"), usage.get("completion_tokens"));
+    // Tokens de las llamadas hechas desde el hilo actual (ver GroqTokenMeter.getThreadTokens)
+    public long getThreadTokensUsed() {
+        return tokenMeter.getThreadTokens();
+    }
 
-            return (String) message.get("content");
+    private void recordUsage(String operation, Integer userId, GroqResponseParser.Completion completion) {
+        GroqResponseParser.Usage usage = completion.usage();
+        log.info("Groq API ({}) - Total tokens: {}, Prompt tokens: {}, Completion tokens: {}",
+                operation, usage.totalTokens(), usage.promptTokens(), usage.completionTokens());
+        if (completion.truncated()) {
+            log.warn("Groq completion for {} was truncated by max_tokens", operation);
         }
+        tokenMeter.record(operation, userId, usage.promptTokens(), usage.completionTokens(), completion.truncated());
     }
-}
\ No newline at end of file
+}
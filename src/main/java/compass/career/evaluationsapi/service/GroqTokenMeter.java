@@ -0,0 +1,262 @@
+package compass.career.evaluationsapi.service;
+
+import compass.career.evaluationsapi.exception.TokenBudgetExceededException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Contabilidad de tokens de Groq sin bloqueos. Acumula el uso por operación en LongAdder expuestos
+ * como contadores de Micrometer, aplica presupuestos por usuario y global en ventanas fijas y ajusta
+ * max_tokens de cada operación al tamaño observado de sus respuestas.
+ */
+@Component
+@Slf4j
+public class GroqTokenMeter {
+
+    // Respuestas recientes consideradas para ajustar max_tokens
+    private static final int COMPLETION_SAMPLES = 50;
+    private static final double MAX_TOKENS_HEADROOM = 1.25;
+
+    private final MeterRegistry meterRegistry;
+    private final boolean budgetEnabled;
+    private final long globalTokensPerWindow;
+    private final Duration globalWindow;
+    private final long userTokensPerWindow;
+    private final Duration userWindow;
+    private final boolean adaptiveMaxTokens;
+    private final int minMaxTokens;
+    private final LongSupplier clock;
+
+    private final LongAdder totalTokens = new LongAdder();
+    private final Map<String, OperationUsage> operations = new ConcurrentHashMap<>();
+    private final Window globalUsage;
+    private final Map<Integer, Window> userUsage = new ConcurrentHashMap<>();
+
+    // Tokens registrados por cada hilo: la diferencia entre dos lecturas en el mismo hilo mide sólo sus llamadas
+    private final ThreadLocal<long[]> threadTokens = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Autowired
+    public GroqTokenMeter(
+            MeterRegistry meterRegistry,
+            @Value("${groq.budget.enabled:true}") boolean budgetEnabled,
+            @Value("${groq.budget.global-tokens:1000000}") long globalTokensPerWindow,
+            @Value("${groq.budget.global-window:PT1H}") Duration globalWindow,
+            @Value("${groq.budget.user-tokens:50000}") long userTokensPerWindow,
+            @Value("${groq.budget.user-window:P1D}") Duration userWindow,
+            @Value("${groq.max-tokens.adaptive:false}") boolean adaptiveMaxTokens,
+            @Value("${groq.max-tokens.min:512}") int minMaxTokens) {
+
+        this(meterRegistry, budgetEnabled, globalTokensPerWindow, globalWindow, userTokensPerWindow, userWindow,
+                adaptiveMaxTokens, minMaxTokens, System::currentTimeMillis);
+    }
+
+    // Reloj en milisegundos inyectable para probar las ventanas
+    GroqTokenMeter(MeterRegistry meterRegistry, boolean budgetEnabled, long globalTokensPerWindow,
+                   Duration globalWindow, long userTokensPerWindow, Duration userWindow,
+                   boolean adaptiveMaxTokens, int minMaxTokens, LongSupplier clock) {
+
+        this.meterRegistry = meterRegistry;
+        this.budgetEnabled = budgetEnabled;
+        this.globalTokensPerWindow = globalTokensPerWindow;
+        this.globalWindow = globalWindow;
+        this.userTokensPerWindow = userTokensPerWindow;
+        this.userWindow = userWindow;
+        this.adaptiveMaxTokens = adaptiveMaxTokens;
+        this.minMaxTokens = minMaxTokens;
+        this.clock = clock;
+        this.globalUsage = new Window(clock.getAsLong());
+
+        Gauge.builder("groq.tokens.window.global", globalUsage, w -> w.used.sum())
+                .description("Tokens consumed in the current global budget window")
+                .baseUnit("tokens")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rechaza la llamada si el usuario o la instancia superaron su presupuesto. La comprobación es
+     * previa a la llamada, así que una ventana puede excederse como mucho en una respuesta.
+     */
+    public void checkBudget(String operation, Integer userId) {
+        if (!budgetEnabled) {
+            return;
+        }
+
+        long now = clock.getAsLong();
+        if (globalUsage.current(now, globalWindow) >= globalTokensPerWindow) {
+            reject(operation, "global", globalUsage.retryAfterSeconds(now, globalWindow));
+        }
+
+        if (userId != null) {
+            Window window = userUsage.get(userId);
+            if (window != null && window.current(now, userWindow) >= userTokensPerWindow) {
+                reject(operation, "user", window.retryAfterSeconds(now, userWindow));
+            }
+        }
+    }
+
+    public void record(String operation, Integer userId, int promptTokens, int completionTokens, boolean truncated) {
+        int total = promptTokens + completionTokens;
+        long now = clock.getAsLong();
+
+        totalTokens.add(total);
+        threadTokens.get()[0] += total;
+        OperationUsage usage = operation(operation);
+        usage.prompt.add(promptTokens);
+        usage.completion.add(completionTokens);
+        // Una respuesta cortada por max_tokens no indica su tamaño real; se registra como 0 para
+        // forzar el máximo configurado hasta que la muestra se renueve
+        usage.sample(truncated ? 0 : completionTokens);
+
+        globalUsage.add(now, globalWindow, total);
+        if (userId != null) {
+            userUsage.computeIfAbsent(userId, id -> new Window(now)).add(now, userWindow, total);
+        }
+    }
+
+    /**
+     * max_tokens para la siguiente llamada de la operación: el mayor completion reciente con margen,
+     * acotado entre groq.max-tokens.min y el máximo configurado.
+     */
+    public int maxTokensFor(String operation, int configuredMax) {
+        if (!adaptiveMaxTokens) {
+            return configuredMax;
+        }
+
+        OperationUsage usage = operations.get(operation);
+        int observed = usage != null ? usage.largestRecentCompletion() : -1;
+        if (observed <= 0) {
+            return configuredMax;
+        }
+
+        int adapted = (int) Math.ceil(observed * MAX_TOKENS_HEADROOM);
+        return Math.max(minMaxTokens, Math.min(configuredMax, adapted));
+    }
+
+    // Llamadas repetidas con el máximo configurado porque el límite ajustado cortó la respuesta
+    public void recordTruncationRetry(String operation) {
+        meterRegistry.counter("groq.max-tokens.retries", "operation", operation).increment();
+    }
+
+    public long getTotalTokens() {
+        return totalTokens.sum();
+    }
+
+    /**
+     * Tokens registrados por el hilo actual; GroqService registra el uso en el hilo que hace la llamada,
+     * así que restar dos lecturas da el coste de lo ejecutado en medio sin el tráfico de otros hilos.
+     */
+    public long getThreadTokens() {
+        return threadTokens.get()[0];
+    }
+
+    // Descarta ventanas de usuarios inactivos para que el mapa no crezca indefinidamente
+    @Scheduled(fixedDelayString = "${groq.budget.cleanup-interval-ms:3600000}")
+    public void evictExpiredUserWindows() {
+        long now = clock.getAsLong();
+        userUsage.entrySet().removeIf(e -> e.getValue().isExpired(now, userWindow));
+    }
+
+    private void reject(String operation, String scope, long retryAfterSeconds) {
+        meterRegistry.counter("groq.budget.rejections", "operation", operation, "scope", scope).increment();
+        log.warn("Rejected Groq call for {}: {} token budget exceeded", operation, scope);
+        throw new TokenBudgetExceededException(scope, retryAfterSeconds);
+    }
+
+    private OperationUsage operation(String operation) {
+        return operations.computeIfAbsent(operation, name -> {
+            OperationUsage usage = new OperationUsage();
+            FunctionCounter.builder("groq.tokens", usage.prompt, LongAdder::sum)
+                    .tags("operation", name, "type", "prompt")
+                    .baseUnit("tokens")
+                    .register(meterRegistry);
+            FunctionCounter.builder("groq.tokens", usage.completion, LongAdder::sum)
+                    .tags("operation", name, "type", "completion")
+                    .baseUnit("tokens")
+                    .register(meterRegistry);
+            return usage;
+        });
+    }
+
+    private static final class OperationUsage {
+        final LongAdder prompt = new LongAdder();
+        final LongAdder completion = new LongAdder();
+        final AtomicLongArray samples = new AtomicLongArray(COMPLETION_SAMPLES);
+        final AtomicInteger sampleIndex = new AtomicInteger();
+        final AtomicInteger sampleCount = new AtomicInteger();
+
+        void sample(int completionTokens) {
+            samples.set(Math.floorMod(sampleIndex.getAndIncrement(), COMPLETION_SAMPLES), completionTokens);
+            sampleCount.updateAndGet(c -> Math.min(COMPLETION_SAMPLES, c + 1));
+        }
+
+        // -1 sin muestras; 0 si alguna respuesta reciente se truncó
+        int largestRecentCompletion() {
+            int count = sampleCount.get();
+            if (count == 0) {
+                return -1;
+            }
+
+            long largest = 0;
+            for (int i = 0; i < count; i++) {
+                long sample = samples.get(i);
+                if (sample == 0) {
+                    return 0;
+                }
+                largest = Math.max(largest, sample);
+            }
+            return (int) largest;
+        }
+    }
+
+    /**
+     * Ventana fija: al cruzar su límite el primer hilo que lo detecta la reinicia (CAS sobre el inicio).
+     */
+    private static final class Window {
+        final AtomicLong start;
+        final LongAdder used = new LongAdder();
+
+        Window(long now) {
+            this.start = new AtomicLong(now);
+        }
+
+        long current(long now, Duration length) {
+            roll(now, length);
+            return used.sum();
+        }
+
+        void add(long now, Duration length, long tokens) {
+            roll(now, length);
+            used.add(tokens);
+        }
+
+        long retryAfterSeconds(long now, Duration length) {
+            return Math.max(1, (start.get() + length.toMillis() - now) / 1000);
+        }
+
+        boolean isExpired(long now, Duration length) {
+            return now - start.get() >= length.toMillis();
+        }
+
+        private void roll(long now, Duration length) {
+            long windowStart = start.get();
+            if (now - windowStart >= length.toMillis() && start.compareAndSet(windowStart, now)) {
+                used.reset();
+            }
+        }
+    }
+}
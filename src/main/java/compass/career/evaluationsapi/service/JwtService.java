@@ -1,59 +1,112 @@
 package compass.career.evaluationsapi.service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.security.Key;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Date;
 import java.util.function.Function;
 
+/**
+ * Validación de JWT. La clave y el parser se construyen una sola vez, y los claims de cada token
+ * verificado se guardan en una caché acotada (clave: SHA-256 del token) hasta su expiración o
+ * token-cache.max-ttl, lo que ocurra antes; así cada petición verifica la firma como mucho una vez.
+ */
 @Service
 public class JwtService {
 
-    @Value("${security.jwt.secret-key}")
-    private String secretKey;
+    private final JwtParser parser;
+    private final Duration maxTtl;
+    private final BoundedTtlCache<ByteBuffer, Claims> verifiedTokens;
+
+    public JwtService(
+            @Value("${security.jwt.secret-key}") String secretKey,
+            @Value("${security.jwt.token-cache.max-entries:10000}") int maxEntries,
+            @Value("${security.jwt.token-cache.max-ttl:PT5M}") Duration maxTtl) {
+
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey)))
+                .build();
+        this.maxTtl = maxTtl;
+        this.verifiedTokens = new BoundedTtlCache<>(maxEntries);
+    }
+
+    /**
+     * Claims del token con la firma y la expiración ya verificadas; lanza JwtException si no es válido.
+     */
+    public Claims parseClaims(String token) {
+        ByteBuffer key = hash(token);
+        Claims cached = verifiedTokens.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = parser.parseClaimsJws(token).getBody();
+
+        Duration ttl = maxTtl;
+        if (claims.getExpiration() != null) {
+            Duration untilExpiration = Duration.ofMillis(claims.getExpiration().getTime() - System.currentTimeMillis());
+            ttl = untilExpiration.compareTo(ttl) < 0 ? untilExpiration : ttl;
+        }
+        if (!ttl.isNegative() && !ttl.isZero()) {
+            verifiedTokens.put(key, claims, ttl);
+        }
+        return claims;
+    }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return parseClaims(token).getSubject();
     }
 
     public String extractRole(String token) {
-        final Claims claims = extractAllClaims(token);
-        return claims.get("role", String.class);
+        return parseClaims(token).get("role", String.class);
     }
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    /**
+     * Id de usuario del claim indicado; acepta número o texto numérico y devuelve null si falta.
+     */
+    public Integer extractUserId(Claims claims, String claimName) {
+        Object value = claims.get(claimName);
+        if (value instanceof Number number) {
+            return number.intValue();
+        }
+        if (value instanceof String text && !text.isBlank()) {
+            return Integer.valueOf(text.trim());
+        }
+        return null;
     }
 
-    public boolean isTokenValid(String token) {
-        return !isTokenExpired(token);
+    public Integer extractUserId(String token, String claimName) {
+        return extractUserId(parseClaims(token), claimName);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
+        return claimsResolver.apply(parseClaims(token));
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public boolean isTokenValid(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration == null || !expiration.before(new Date());
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public boolean isTokenValid(String token) {
+        return isTokenValid(parseClaims(token));
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static ByteBuffer hash(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,113 @@
+package compass.career.evaluationsapi.service;
+
+import compass.career.evaluationsapi.model.Career;
+import compass.career.evaluationsapi.model.SpecializationArea;
+import compass.career.evaluationsapi.model.UserProfile;
+import compass.career.evaluationsapi.model.VocationalArea;
+import compass.career.evaluationsapi.repository.VocationalAreaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Motor de puntuación local, sin llamadas externas. Estima la afinidad (0-1) entre un perfil y un
+ * elemento del catálogo por coincidencia de palabras clave entre las áreas vocacionales/cognitivas
+ * del estudiante y los textos de la carrera o especialización.
+ */
+@Component
+@RequiredArgsConstructor
+public class LocalRecommendationScorer {
+
+    private static final double VOCATIONAL_WEIGHT = 0.7;
+    private static final double COGNITIVE_WEIGHT = 0.3;
+
+    // Número de palabras clave coincidentes a partir del cual la afinidad de un área es máxima
+    private static final double SATURATION_MATCHES = 2.0;
+
+    private static final int STEM_LENGTH = 6;
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "para", "como", "este", "esta", "estos", "estas", "entre", "sobre", "desde", "tambien",
+            "donde", "cada", "todo", "todos", "otras", "otros", "areas", "area", "mediante", "traves");
+
+    private final VocationalAreaRepository vocationalAreaRepository;
+
+    /**
+     * Carga las palabras clave de las áreas vocacionales una sola vez para puntuar muchos
+     * perfiles contra los mismos elementos.
+     */
+    public Scoring forCatalog() {
+        Map<String, Set<String>> areaKeywords = new HashMap<>();
+        for (VocationalArea area : vocationalAreaRepository.findAll()) {
+            areaKeywords.put(area.getName(), tokenize(area.getName(), area.getDescription()));
+        }
+        return new Scoring(areaKeywords);
+    }
+
+    public final class Scoring {
+
+        private final Map<String, Set<String>> areaKeywords;
+
+        private Scoring(Map<String, Set<String>> areaKeywords) {
+            this.areaKeywords = areaKeywords;
+        }
+
+        public double score(UserProfile profile, Career career) {
+            return score(profile, tokenize(career.getName(), career.getDescription(),
+                    career.getGraduateProfile(), career.getJobField()));
+        }
+
+        public double score(UserProfile profile, SpecializationArea specialization) {
+            return score(profile, tokenize(specialization.getName(), specialization.getDescription(),
+                    specialization.getApplicationFields(), specialization.getJobProjection()));
+        }
+
+        private double score(UserProfile profile, Set<String> itemTokens) {
+            double total = 0;
+            double weights = 0;
+
+            if (profile.hasVocationalInterests()) {
+                total += VOCATIONAL_WEIGHT * weightedAffinity(profile.getVocationalAreas(),
+                        profile.getVocationalPercentages(), itemTokens);
+                weights += VOCATIONAL_WEIGHT;
+            }
+            if (profile.hasCognitiveSkills()) {
+                total += COGNITIVE_WEIGHT * weightedAffinity(profile.getCognitiveAreas(),
+                        profile.getCognitiveScores(), itemTokens);
+                weights += COGNITIVE_WEIGHT;
+            }
+
+            return weights == 0 ? 0 : total / weights;
+        }
+
+        private double weightedAffinity(String[] areas, Double[] weights, Set<String> itemTokens) {
+            double affinity = 0;
+            double weightSum = 0;
+            for (int i = 0; i < areas.length; i++) {
+                double weight = weights != null && i < weights.length && weights[i] != null ? weights[i] : 0;
+                Set<String> keywords = areaKeywords.getOrDefault(areas[i], tokenize(areas[i]));
+                long matches = keywords.stream().filter(itemTokens::contains).count();
+
+                affinity += weight * Math.min(1.0, matches / SATURATION_MATCHES);
+                weightSum += weight;
+            }
+            return weightSum == 0 ? 0 : affinity / weightSum;
+        }
+    }
+
+    // Minúsculas, sin acentos y recortado a una raíz corta para que "tecnología" y "tecnológico" coincidan
+    private static Set<String> tokenize(String... texts) {
+        return Stream.of(texts)
+                .filter(Objects::nonNull)
+                .map(text -> Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD)
+                        .replaceAll("\\p{M}", ""))
+                .flatMap(text -> Arrays.stream(text.split("[^a-z]+")))
+                .filter(token -> token.length() >= 4 && !STOPWORDS.contains(token))
+                .map(token -> token.length() > STEM_LENGTH ? token.substring(0, STEM_LENGTH) : token)
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,249 @@
+package compass.career.evaluationsapi.service;
+
+import compass.career.evaluationsapi.model.UserProfile;
+import compass.career.evaluationsapi.repository.UserProfileRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Índice k-NN en memoria sobre los vectores de user_profiles. Todos los vectores viven en un único
+ * float[] contiguo y la búsqueda es un recorrido lineal con corte temprano, suficiente para el
+ * volumen de usuarios de esta API (decenas de miles de filas en menos de un milisegundo).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProfileSimilarityIndex {
+
+    private static final int PERSONALITY_DIMENSIONS = 5;
+
+    // Bits de la máscara de secciones completadas; sólo se comparan perfiles con la misma máscara
+    private static final int HAS_PERSONALITY = 1;
+    private static final int HAS_VOCATIONAL = 1 << 1;
+    private static final int HAS_COGNITIVE = 1 << 2;
+
+    private final UserProfileRepository userProfileRepository;
+
+    @Value("${recommendations.knn.enabled:true}")
+    private boolean enabled;
+
+    @Value("${recommendations.knn.similarity-threshold:0.95}")
+    private double similarityThreshold;
+
+    @Value("${recommendations.knn.max-candidates:5}")
+    private int maxCandidates;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Reconstruye el índice completo. Los perfiles nuevos no son vecinos candidatos hasta el
+     * siguiente refresco, lo cual es aceptable porque tampoco tienen recomendaciones todavía.
+     */
+    @Scheduled(initialDelayString = "${recommendations.knn.initial-delay-ms:30000}",
+            fixedDelayString = "${recommendations.knn.refresh-interval-ms:600000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            List<UserProfile> profiles = userProfileRepository.findAll();
+            snapshot = Snapshot.build(profiles);
+            log.info("Profile similarity index rebuilt with {} profiles and {} dimensions",
+                    snapshot.size, snapshot.dimensions);
+        } catch (Exception e) {
+            // Se conserva el índice anterior; el siguiente refresco lo intentará de nuevo
+            log.error("Error rebuilding profile similarity index", e);
+        }
+    }
+
+    /**
+     * Devuelve los vecinos más cercanos con similitud mayor o igual al umbral configurado,
+     * ordenados de mayor a menor similitud y excluyendo al propio usuario.
+     */
+    public List<Neighbour> findNeighbours(UserProfile profile) {
+        Snapshot current = snapshot;
+        if (!enabled || current.size == 0 || profile.isEmpty()) {
+            return List.of();
+        }
+
+        int mask = maskOf(profile);
+        float[] query = new float[current.dimensions];
+        double outOfVocabulary = current.fill(profile, query, 0);
+
+        // similitud = 1 - distancia RMS, así que el umbral se traduce a una distancia cuadrada máxima
+        int usedDimensions = current.usedDimensions(mask, profile);
+        double maxDistance = (1.0 - similarityThreshold) * (1.0 - similarityThreshold) * usedDimensions;
+        if (outOfVocabulary > maxDistance) {
+            return List.of();
+        }
+
+        PriorityQueue<Neighbour> best = new PriorityQueue<>(Comparator.comparingDouble(Neighbour::similarity));
+        float[] vectors = current.vectors;
+        int dimensions = current.dimensions;
+
+        for (int i = 0; i < current.size; i++) {
+            if (current.masks[i] != mask || current.userIds[i] == profile.getUserId()) {
+                continue;
+            }
+
+            double distance = outOfVocabulary;
+            int offset = i * dimensions;
+            for (int d = 0; d < dimensions && distance <= maxDistance; d++) {
+                float diff = vectors[offset + d] - query[d];
+                distance += diff * diff;
+            }
+
+            if (distance > maxDistance) {
+                continue;
+            }
+
+            double similarity = 1.0 - Math.sqrt(distance / usedDimensions);
+            best.add(new Neighbour(current.userIds[i], similarity));
+            if (best.size() > maxCandidates) {
+                best.poll();
+            }
+        }
+
+        List<Neighbour> neighbours = new ArrayList<>(best);
+        neighbours.sort(Comparator.comparingDouble(Neighbour::similarity).reversed());
+        return neighbours;
+    }
+
+    private static int maskOf(UserProfile profile) {
+        int mask = 0;
+        if (profile.hasPersonality()) mask |= HAS_PERSONALITY;
+        if (profile.hasVocationalInterests()) mask |= HAS_VOCATIONAL;
+        if (profile.hasCognitiveSkills()) mask |= HAS_COGNITIVE;
+        return mask;
+    }
+
+    public record Neighbour(Integer userId, double similarity) {
+    }
+
+    /**
+     * Vista inmutable del índice. Cada área vocacional y cognitiva ocupa una dimensión propia;
+     * todos los valores se normalizan a 0-1.
+     */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of(), new int[0], new int[0], new float[0]);
+
+        final Map<String, Integer> vocationalIndex;
+        final Map<String, Integer> cognitiveIndex;
+        final int[] userIds;
+        final int[] masks;
+        final float[] vectors;
+        final int dimensions;
+        final int size;
+
+        private Snapshot(Map<String, Integer> vocationalIndex, Map<String, Integer> cognitiveIndex,
+                         int[] userIds, int[] masks, float[] vectors) {
+            this.vocationalIndex = vocationalIndex;
+            this.cognitiveIndex = cognitiveIndex;
+            this.userIds = userIds;
+            this.masks = masks;
+            this.vectors = vectors;
+            this.dimensions = PERSONALITY_DIMENSIONS + vocationalIndex.size() + cognitiveIndex.size();
+            this.size = userIds.length;
+        }
+
+        static Snapshot build(List<UserProfile> profiles) {
+            Map<String, Integer> vocationalIndex = new HashMap<>();
+            Map<String, Integer> cognitiveIndex = new HashMap<>();
+            for (UserProfile profile : profiles) {
+                if (profile.hasVocationalInterests()) {
+                    for (String area : profile.getVocationalAreas()) {
+                        vocationalIndex.putIfAbsent(area, vocationalIndex.size());
+                    }
+                }
+                if (profile.hasCognitiveSkills()) {
+                    for (String area : profile.getCognitiveAreas()) {
+                        cognitiveIndex.putIfAbsent(area, cognitiveIndex.size());
+                    }
+                }
+            }
+
+            List<UserProfile> indexable = profiles.stream().filter(p -> !p.isEmpty()).toList();
+            int dimensions = PERSONALITY_DIMENSIONS + vocationalIndex.size() + cognitiveIndex.size();
+
+            int[] userIds = new int[indexable.size()];
+            int[] masks = new int[indexable.size()];
+            float[] vectors = new float[indexable.size() * dimensions];
+
+            Snapshot snapshot = new Snapshot(vocationalIndex, cognitiveIndex, userIds, masks, vectors);
+            for (int i = 0; i < indexable.size(); i++) {
+                UserProfile profile = indexable.get(i);
+                userIds[i] = profile.getUserId();
+                masks[i] = maskOf(profile);
+                snapshot.fill(profile, vectors, i * dimensions);
+            }
+            return snapshot;
+        }
+
+        /**
+         * Escribe el vector del perfil a partir de offset y devuelve la suma de cuadrados de los
+         * componentes cuyo área no existe en el índice (su distancia contra cualquier vecino).
+         */
+        double fill(UserProfile profile, float[] target, int offset) {
+            if (profile.hasPersonality()) {
+                target[offset] = normalize(profile.getOpenness());
+                target[offset + 1] = normalize(profile.getConscientiousness());
+                target[offset + 2] = normalize(profile.getExtraversion());
+                target[offset + 3] = normalize(profile.getAgreeableness());
+                target[offset + 4] = normalize(profile.getNeuroticism());
+            }
+
+            double outOfVocabulary = 0;
+            if (profile.hasVocationalInterests()) {
+                outOfVocabulary += fillAreas(profile.getVocationalAreas(), profile.getVocationalPercentages(),
+                        vocationalIndex, target, offset + PERSONALITY_DIMENSIONS);
+            }
+            if (profile.hasCognitiveSkills()) {
+                outOfVocabulary += fillAreas(profile.getCognitiveAreas(), profile.getCognitiveScores(),
+                        cognitiveIndex, target, offset + PERSONALITY_DIMENSIONS + vocationalIndex.size());
+            }
+            return outOfVocabulary;
+        }
+
+        /**
+         * Número de dimensiones que aportan información para la máscara dada; la distancia se
+         * promedia sobre ellas para que la similitud no dependa del tamaño del vocabulario.
+         */
+        int usedDimensions(int mask, UserProfile profile) {
+            int used = 0;
+            if ((mask & HAS_PERSONALITY) != 0) used += PERSONALITY_DIMENSIONS;
+            if ((mask & HAS_VOCATIONAL) != 0) used += Math.max(vocationalIndex.size(), profile.getVocationalAreas().length);
+            if ((mask & HAS_COGNITIVE) != 0) used += Math.max(cognitiveIndex.size(), profile.getCognitiveAreas().length);
+            return Math.max(used, 1);
+        }
+
+        private static double fillAreas(String[] areas, Double[] values, Map<String, Integer> index,
+                                        float[] target, int base) {
+            double outOfVocabulary = 0;
+            for (int i = 0; i < areas.length; i++) {
+                float value = values != null && i < values.length ? normalize(values[i]) : 0f;
+                Integer position = index.get(areas[i]);
+                if (position != null) {
+                    target[base + position] = value;
+                } else {
+                    outOfVocabulary += value * value;
+                }
+            }
+            return outOfVocabulary;
+        }
+
+        private static float normalize(Double value) {
+            return value == null ? 0f : (float) (value / 100.0);
+        }
+    }
+}
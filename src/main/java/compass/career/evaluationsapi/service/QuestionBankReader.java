@@ -0,0 +1,359 @@
+package compass.career.evaluationsapi.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import compass.career.evaluationsapi.dto.AnswerOptionRequest;
+import compass.career.evaluationsapi.dto.QuestionRequest;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Lectura incremental de un banco de preguntas en NDJSON (un QuestionRequest por línea) o CSV (una
+ * fila por opción; las filas consecutivas con el mismo orderNumber y questionText forman una
+ * pregunta). El cuerpo puede venir comprimido con gzip, que se detecta por los bytes mágicos.
+ * Sólo se mantiene en memoria la pregunta en curso.
+ */
+@Component
+public class QuestionBankReader {
+
+    public static final MediaType NDJSON_MEDIA_TYPE = MediaType.parseMediaType("application/x-ndjson");
+    public static final MediaType CSV_MEDIA_TYPE = MediaType.parseMediaType("text/csv");
+
+    static final List<String> CSV_COLUMNS = List.of("questionText", "orderNumber", "optionText", "weightValue", "category");
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader questionReader;
+
+    public QuestionBankReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.questionReader = objectMapper.readerFor(QuestionRequest.class);
+    }
+
+    public enum Format {
+        NDJSON,
+        CSV;
+
+        /**
+         * text/csv es CSV; application/x-ndjson, application/json y application/jsonl son NDJSON.
+         */
+        public static Format fromContentType(String contentType) {
+            try {
+                MediaType mediaType = MediaType.parseMediaType(contentType);
+                if (CSV_MEDIA_TYPE.isCompatibleWith(mediaType)) {
+                    return Format.CSV;
+                }
+                if (NDJSON_MEDIA_TYPE.isCompatibleWith(mediaType)
+                        || MediaType.APPLICATION_JSON.isCompatibleWith(mediaType)
+                        || "jsonl".equalsIgnoreCase(mediaType.getSubtype())) {
+                    return Format.NDJSON;
+                }
+            } catch (InvalidMediaTypeException e) {
+                // Se informa abajo igual que un tipo no soportado
+            }
+            throw new IllegalArgumentException("Unsupported import format '" + contentType
+                    + "'; use application/x-ndjson or text/csv");
+        }
+    }
+
+    /**
+     * Pregunta leída y la línea en la que empieza; si no se pudo convertir, question es null y
+     * error explica el motivo (la lectura puede continuar con la siguiente).
+     */
+    public record Item(long line, QuestionRequest question, String error) {
+    }
+
+    public interface Source extends Closeable {
+        /**
+         * @return la siguiente pregunta, o null al terminar la entrada
+         * @throws IllegalArgumentException si la entrada está mal formada y no se puede seguir leyendo
+         */
+        Item next() throws IOException;
+
+        boolean compressed();
+    }
+
+    public Source open(InputStream body, Format format) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(body, BUFFER_SIZE);
+        boolean compressed = isGzip(buffered);
+        InputStream input = compressed ? new GZIPInputStream(buffered, BUFFER_SIZE) : buffered;
+
+        return format == Format.CSV
+                ? new CsvSource(new InputStreamReader(input, StandardCharsets.UTF_8), compressed)
+                : new NdjsonSource(objectMapper.getFactory().createParser(input), compressed);
+    }
+
+    private static boolean isGzip(BufferedInputStream input) throws IOException {
+        input.mark(2);
+        int first = input.read();
+        int second = input.read();
+        input.reset();
+        return first == (GZIPInputStream.GZIP_MAGIC & 0xff) && second == (GZIPInputStream.GZIP_MAGIC >> 8);
+    }
+
+    private final class NdjsonSource implements Source {
+
+        private final JsonParser parser;
+        private final MappingIterator<QuestionRequest> items;
+        private final boolean compressed;
+
+        NdjsonSource(JsonParser parser, boolean compressed) throws IOException {
+            this.parser = parser;
+            this.items = questionReader.readValues(parser);
+            this.compressed = compressed;
+        }
+
+        @Override
+        public Item next() throws IOException {
+            try {
+                if (!items.hasNextValue()) {
+                    return null;
+                }
+            } catch (JsonParseException e) {
+                throw malformed(e);
+            }
+
+            long line = parser.currentTokenLocation().getLineNr();
+            try {
+                return new Item(line, items.nextValue(), null);
+            } catch (JsonParseException e) {
+                throw malformed(e);
+            } catch (DatabindException e) {
+                // MappingIterator se resincroniza al final del objeto, así que se sigue con la siguiente línea
+                return new Item(line, null, e.getOriginalMessage());
+            }
+        }
+
+        private IllegalArgumentException malformed(JsonParseException e) {
+            return new IllegalArgumentException("Malformed NDJSON at line "
+                    + e.getLocation().getLineNr() + ": " + e.getOriginalMessage());
+        }
+
+        @Override
+        public boolean compressed() {
+            return compressed;
+        }
+
+        @Override
+        public void close() throws IOException {
+            items.close();
+        }
+    }
+
+    private static final class CsvSource implements Source {
+
+        private final Reader reader;
+        private final boolean compressed;
+        private final Map<String, Integer> columns = new HashMap<>();
+
+        // Búfer propio: BufferedReader.read() toma un lock por carácter
+        private final char[] buffer = new char[BUFFER_SIZE];
+        private int position;
+        private int limit;
+
+        private long line = 1;
+        private long recordLine;
+        private int pushedBack = -2;
+        private List<String> pending;
+        private long pendingLine;
+
+        CsvSource(Reader reader, boolean compressed) throws IOException {
+            this.reader = reader;
+            this.compressed = compressed;
+
+            List<String> header = readRecord();
+            if (header == null) {
+                throw new IllegalArgumentException("The CSV file is empty");
+            }
+            for (int i = 0; i < header.size(); i++) {
+                // Se admite el BOM de UTF-8 que añaden algunas hojas de cálculo
+                columns.put(header.get(i).replace("\uFEFF", "").trim(), i);
+            }
+            for (String column : List.of("questionText", "orderNumber", "optionText")) {
+                if (!columns.containsKey(column)) {
+                    throw new IllegalArgumentException("CSV header must contain the columns " + CSV_COLUMNS
+                            + "; missing '" + column + "'");
+                }
+            }
+
+            pending = readRecord();
+            pendingLine = recordLine;
+        }
+
+        @Override
+        public Item next() throws IOException {
+            if (pending == null) {
+                return null;
+            }
+
+            long startLine = pendingLine;
+            String questionText = column(pending, "questionText");
+            String orderNumber = column(pending, "orderNumber");
+            List<String> errors = new ArrayList<>();
+
+            QuestionRequest question = new QuestionRequest();
+            question.setQuestionText(questionText);
+            question.setOrderNumber(parseInteger(orderNumber, "orderNumber", errors));
+            question.setOptions(new ArrayList<>());
+
+            do {
+                if (!nullToEmpty(questionText).equals(nullToEmpty(column(pending, "questionText")))
+                        || !nullToEmpty(orderNumber).equals(nullToEmpty(column(pending, "orderNumber")))) {
+                    break;
+                }
+
+                AnswerOptionRequest option = new AnswerOptionRequest();
+                option.setOptionText(column(pending, "optionText"));
+                option.setWeightValue(parseInteger(column(pending, "weightValue"), "weightValue", errors));
+                option.setCategory(column(pending, "category"));
+                question.getOptions().add(option);
+
+                pending = readRecord();
+                pendingLine = recordLine;
+            } while (pending != null);
+
+            return errors.isEmpty()
+                    ? new Item(startLine, question, null)
+                    : new Item(startLine, null, String.join("; ", errors));
+        }
+
+        private String column(List<String> record, String name) {
+            Integer index = columns.get(name);
+            if (index == null || index >= record.size()) {
+                return null;
+            }
+            String value = record.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        private static Integer parseInteger(String value, String column, List<String> errors) {
+            if (value == null) {
+                return null;
+            }
+            try {
+                return Integer.valueOf(value);
+            } catch (NumberFormatException e) {
+                errors.add(column + " '" + value + "' is not an integer");
+                return null;
+            }
+        }
+
+        private static String nullToEmpty(String value) {
+            return value == null ? "" : value;
+        }
+
+        /**
+         * Un registro RFC 4180: campos separados por comas, entre comillas si contienen comas, comillas
+         * dobladas o saltos de línea. Las líneas en blanco se saltan; devuelve null al final del fichero.
+         */
+        private List<String> readRecord() throws IOException {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean empty = true;
+
+            int c;
+            while ((c = read()) != -1) {
+                if (quoted) {
+                    if (c == '"') {
+                        int nextChar = read();
+                        if (nextChar == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            unread(nextChar);
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                    continue;
+                }
+
+                if (empty && field.length() == 0 && c != '\r' && c != '\n') {
+                    recordLine = line;
+                }
+                if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                    empty = false;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                    empty = false;
+                } else if (c == '\r' || c == '\n') {
+                    if (c == '\r') {
+                        int nextChar = read();
+                        if (nextChar != '\n') {
+                            unread(nextChar);
+                        }
+                    }
+                    line++;
+                    if (empty && field.length() == 0) {
+                        continue;
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                } else {
+                    field.append((char) c);
+                    empty = false;
+                }
+            }
+
+            if (quoted) {
+                throw new IllegalArgumentException("Malformed CSV: unterminated quoted field at line " + line);
+            }
+            if (empty && field.length() == 0) {
+                return null;
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+
+        private int read() throws IOException {
+            if (pushedBack != -2) {
+                int c = pushedBack;
+                pushedBack = -2;
+                return c;
+            }
+            if (position == limit) {
+                limit = reader.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return -1;
+                }
+            }
+            return buffer[position++];
+        }
+
+        private void unread(int c) {
+            pushedBack = c;
+        }
+
+        @Override
+        public boolean compressed() {
+            return compressed;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
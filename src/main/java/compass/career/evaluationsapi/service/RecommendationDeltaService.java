@@ -0,0 +1,8 @@
+package compass.career.evaluationsapi.service;
+
+import java.util.List;
+
+public interface RecommendationDeltaService {
+    void applyCareerDelta(List<Integer> careerIds);
+    void applySpecializationDelta(List<Integer> specializationIds);
+}
@@ -0,0 +1,266 @@
+package compass.career.evaluationsapi.service;
+
+import compass.career.evaluationsapi.event.CatalogChangedEvent;
+import compass.career.evaluationsapi.event.RecommendationsRecomputedEvent;
+import compass.career.evaluationsapi.exception.TokenBudgetExceededException;
+import compass.career.evaluationsapi.model.*;
+import compass.career.evaluationsapi.repository.*;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Recalcula sólo el delta del catálogo: cuando se crean o modifican carreras/especializaciones,
+ * puntúa esos elementos contra los perfiles que ya tienen recomendaciones y los fusiona en su
+ * top 10 persistido, sin regenerar el prompt completo de cada usuario. Con el motor local las
+ * carreras editadas que el usuario ya tiene conservan su porcentaje del modelo.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RecommendationDeltaServiceImpl implements RecommendationDeltaService {
+
+    private static final int TOP_RECOMMENDATIONS = 10;
+
+    private final CareerRepository careerRepository;
+    private final CareerRecommendationRepository careerRecommendationRepository;
+    private final SpecializationAreaRepository specializationAreaRepository;
+    private final SpecializationRecommendationRepository specializationRecommendationRepository;
+    private final UserProfileService userProfileService;
+    private final LocalRecommendationScorer localRecommendationScorer;
+    private final GroqService groqService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${recommendations.delta.enabled:true}")
+    private boolean enabled;
+
+    // local | groq (sólo carreras; las especializaciones dependen de habilidades de UsersAPI)
+    @Value("${recommendations.delta.engine:local}")
+    private String engine;
+
+    @Async("recommendationTaskExecutor")
+    @TransactionalEventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (!enabled || event.ids().isEmpty()) {
+            return;
+        }
+
+        try {
+            switch (event.catalog()) {
+                case CAREERS -> applyCareerDelta(event.ids());
+                case SPECIALIZATIONS -> applySpecializationDelta(event.ids());
+            }
+        } catch (Exception e) {
+            log.error("Error applying {} catalog delta {}", event.catalog(), event.ids(), e);
+        }
+    }
+
+    @Override
+    public void applyCareerDelta(List<Integer> careerIds) {
+        List<Career> delta = careerRepository.findAllById(careerIds);
+        if (delta.isEmpty()) {
+            return;
+        }
+
+        String catalogVersion = CatalogVersion.of(careerRepository.findAll());
+        LocalRecommendationScorer.Scoring scoring = localRecommendationScorer.forCatalog();
+        List<Integer> userIds = careerRecommendationRepository.findDistinctUserIds();
+        log.info("Scoring {} changed careers against {} users with stored recommendations", delta.size(), userIds.size());
+
+        Set<Integer> updated = new HashSet<>();
+        for (Integer userId : userIds) {
+            try {
+                UserProfile profile = userProfileService.getProfile(userId);
+                if (profile.isEmpty()) {
+                    continue;
+                }
+
+                DeltaScores scores = scoreCareers(profile, delta, scoring);
+                transactionTemplate.executeWithoutResult(status ->
+                        mergeCareerScores(userId, delta, scores, catalogVersion));
+                updated.add(userId);
+            } catch (Exception e) {
+                log.error("Error merging career delta for user {}", userId, e);
+            }
+        }
+
+        eventPublisher.publishEvent(new RecommendationsRecomputedEvent(CatalogChangedEvent.Catalog.CAREERS, updated));
+        log.info("Career delta merged for {} of {} users", updated.size(), userIds.size());
+    }
+
+    @Override
+    public void applySpecializationDelta(List<Integer> specializationIds) {
+        List<SpecializationArea> delta = specializationAreaRepository.findAllById(specializationIds);
+        if (delta.isEmpty()) {
+            return;
+        }
+
+        LocalRecommendationScorer.Scoring scoring = localRecommendationScorer.forCatalog();
+        List<Integer> userIds = specializationRecommendationRepository.findDistinctUserIds();
+        log.info("Scoring {} changed specializations against {} users with stored recommendations", delta.size(), userIds.size());
+
+        Set<Integer> updated = new HashSet<>();
+        for (Integer userId : userIds) {
+            try {
+                UserProfile profile = userProfileService.getProfile(userId);
+                if (profile.isEmpty()) {
+                    continue;
+                }
+
+                DeltaScores scores = new DeltaScores(delta.stream()
+                        .collect(Collectors.toMap(SpecializationArea::getId, s -> scoring.score(profile, s))), true);
+                transactionTemplate.executeWithoutResult(status ->
+                        mergeSpecializationScores(userId, delta, scores));
+                updated.add(userId);
+            } catch (Exception e) {
+                log.error("Error merging specialization delta for user {}", userId, e);
+            }
+        }
+
+        eventPublisher.publishEvent(new RecommendationsRecomputedEvent(CatalogChangedEvent.Catalog.SPECIALIZATIONS, updated));
+        log.info("Specialization delta merged for {} of {} users", updated.size(), userIds.size());
+    }
+
+    /**
+     * Con el motor "groq" se envía un prompt que contiene sólo las carreras del delta y se obtienen
+     * porcentajes 0-100; si Groq no está disponible se usa la afinidad local (0-1).
+     */
+    private DeltaScores scoreCareers(UserProfile profile, List<Career> delta,
+                                     LocalRecommendationScorer.Scoring scoring) {
+        if ("groq".equalsIgnoreCase(engine)) {
+            try {
+                List<GroqService.CareerInfo> infos = delta.stream()
+                        .map(c -> new GroqService.CareerInfo(c.getId(), c.getName(), c.getDescription(),
+                                c.getDurationSemesters(), c.getAverageSalary()))
+                        .collect(Collectors.toList());
+
+                Map<Integer, Double> scores = new HashMap<>();
+                for (GroqService.CareerRecommendation rec : groqService.generateCareerRecommendations(profile, infos,
+                        GroqService.OPERATION_CAREER_DELTA)) {
+                    scores.put(rec.getCareerId(), rec.getCompatibilityPercentage());
+                }
+                return new DeltaScores(scores, false);
+            } catch (CallNotPermittedException e) {
+                log.warn("Groq circuit breaker is open, scoring career delta locally for user {}", profile.getUserId());
+            } catch (TokenBudgetExceededException e) {
+                log.warn("Groq token budget exceeded ({}), scoring career delta locally for user {}",
+                        e.getScope(), profile.getUserId());
+            } catch (Exception e) {
+                log.warn("Groq delta scoring failed for user {}, falling back to local engine", profile.getUserId(), e);
+            }
+        }
+
+        return new DeltaScores(delta.stream()
+                .collect(Collectors.toMap(Career::getId, c -> scoring.score(profile, c))), true);
+    }
+
+    private void mergeCareerScores(Integer userId, List<Career> delta, DeltaScores scores, String catalogVersion) {
+        List<CareerRecommendation> current =
+                careerRecommendationRepository.findByUserIdOrderByCompatibilityPercentageDesc(userId);
+        Map<Integer, CareerRecommendation> byCareer = current.stream()
+                .collect(Collectors.toMap(r -> r.getCareer().getId(), Function.identity()));
+
+        List<CareerRecommendation> merged = new ArrayList<>(current);
+        // Carreras editadas que conservan la puntuación anterior: quedan con su versión de catálogo
+        Set<Integer> stale = new HashSet<>();
+        for (Career career : delta) {
+            Double score = scores.values().get(career.getId());
+            if (score == null) {
+                continue;
+            }
+
+            CareerRecommendation recommendation = byCareer.get(career.getId());
+            if (recommendation != null && scores.localAffinity()) {
+                // La afinidad local no sustituye a un porcentaje del modelo; se recalcula en la
+                // siguiente regeneración completa del usuario
+                stale.add(career.getId());
+                continue;
+            }
+            if (recommendation == null) {
+                recommendation = new CareerRecommendation();
+                recommendation.setUserId(userId);
+                recommendation.setCareer(career);
+                merged.add(recommendation);
+            }
+            recommendation.setCompatibilityPercentage(scores.toPercentage(score, current,
+                    CareerRecommendation::getCompatibilityPercentage));
+        }
+
+        merged.sort(Comparator.comparing(CareerRecommendation::getCompatibilityPercentage).reversed());
+        List<CareerRecommendation> kept = merged.subList(0, Math.min(TOP_RECOMMENDATIONS, merged.size()));
+        List<CareerRecommendation> dropped = merged.subList(kept.size(), merged.size()).stream()
+                .filter(r -> r.getId() != null)
+                .collect(Collectors.toList());
+
+        kept.stream()
+                .filter(r -> !stale.contains(r.getCareer().getId()))
+                .forEach(r -> r.setCatalogVersion(catalogVersion));
+        careerRecommendationRepository.deleteAll(dropped);
+        careerRecommendationRepository.saveAll(kept);
+    }
+
+    private void mergeSpecializationScores(Integer userId, List<SpecializationArea> delta, DeltaScores scores) {
+        List<SpecializationRecommendation> current =
+                specializationRecommendationRepository.findByUserIdOrderByCompatibilityPercentageDesc(userId);
+        Map<Integer, SpecializationRecommendation> bySpecialization = current.stream()
+                .collect(Collectors.toMap(r -> r.getSpecializationArea().getId(), Function.identity()));
+
+        List<SpecializationRecommendation> merged = new ArrayList<>(current);
+        for (SpecializationArea specialization : delta) {
+            SpecializationRecommendation recommendation = bySpecialization.get(specialization.getId());
+            if (recommendation == null) {
+                recommendation = new SpecializationRecommendation();
+                recommendation.setUserId(userId);
+                recommendation.setSpecializationArea(specialization);
+                merged.add(recommendation);
+            }
+            recommendation.setCompatibilityPercentage(scores.toPercentage(scores.values().get(specialization.getId()),
+                    current, SpecializationRecommendation::getCompatibilityPercentage));
+        }
+
+        merged.sort(Comparator.comparing(SpecializationRecommendation::getCompatibilityPercentage).reversed());
+        List<SpecializationRecommendation> kept = merged.subList(0, Math.min(TOP_RECOMMENDATIONS, merged.size()));
+        List<SpecializationRecommendation> dropped = merged.subList(kept.size(), merged.size()).stream()
+                .filter(r -> r.getId() != null)
+                .collect(Collectors.toList());
+
+        specializationRecommendationRepository.deleteAll(dropped);
+        specializationRecommendationRepository.saveAll(kept);
+    }
+
+    /**
+     * Puntuaciones del delta por id. Los porcentajes de Groq se usan tal cual; las afinidades locales
+     * (0-1) se proyectan sobre el rango de porcentajes que el usuario ya tiene, para que sean
+     * comparables con las recomendaciones generadas por el modelo.
+     */
+    private record DeltaScores(Map<Integer, Double> values, boolean localAffinity) {
+
+        <T> BigDecimal toPercentage(double score, List<T> current, Function<T, BigDecimal> percentage) {
+            if (!localAffinity) {
+                return BigDecimal.valueOf(Math.min(100.0, score)).setScale(2, RoundingMode.HALF_UP);
+            }
+
+            double floor = current.stream().map(percentage).mapToDouble(BigDecimal::doubleValue).min().orElse(0);
+            double ceiling = current.stream().map(percentage).mapToDouble(BigDecimal::doubleValue).max().orElse(100);
+            if (ceiling <= floor) {
+                floor = 0;
+                ceiling = Math.max(ceiling, 100);
+            }
+
+            return BigDecimal.valueOf(floor + score * (ceiling - floor)).setScale(2, RoundingMode.HALF_UP);
+        }
+    }
+}
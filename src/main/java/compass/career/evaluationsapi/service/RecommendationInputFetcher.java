@@ -0,0 +1,90 @@
+package compass.career.evaluationsapi.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.security.task.DelegatingSecurityContextAsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lanza en paralelo las entradas remotas de una recomendación (UsersAPI) mientras el hilo de la
+ * petición hace sus consultas a la base de datos. Cada Scope se comporta como un ámbito de
+ * concurrencia estructurada: el primer fallo cancela las demás tareas y al cerrarlo se cancela lo
+ * que siga pendiente, de modo que ninguna llamada sobrevive a la petición que la lanzó.
+ */
+@Component
+public class RecommendationInputFetcher {
+
+    private final AsyncTaskExecutor executor;
+
+    public RecommendationInputFetcher(@Qualifier("recommendationInputExecutor") AsyncTaskExecutor executor) {
+        // Propaga el SecurityContext a las tareas (UsersApiClient lo consulta en modo trusted-user-id)
+        this.executor = new DelegatingSecurityContextAsyncTaskExecutor(executor);
+    }
+
+    public Scope open() {
+        return new Scope();
+    }
+
+    public final class Scope implements AutoCloseable {
+
+        private final List<Future<?>> tasks = new CopyOnWriteArrayList<>();
+        private final AtomicReference<Exception> firstFailure = new AtomicReference<>();
+
+        public <T> Future<T> fork(Callable<T> task) {
+            Future<T> future = executor.submit(() -> {
+                try {
+                    return task.call();
+                } catch (Exception e) {
+                    firstFailure.compareAndSet(null, e);
+                    cancelAll();
+                    throw e;
+                }
+            });
+            tasks.add(future);
+            return future;
+        }
+
+        /**
+         * Espera el resultado; las excepciones de la tarea se relanzan tal cual para que el
+         * RestExceptionHandler las traduzca igual que en la ejecución secuencial.
+         */
+        public <T> T join(Future<T> future) {
+            try {
+                return future.get();
+            } catch (ExecutionException e) {
+                cancelAll();
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new IllegalStateException("Recommendation input failed", e.getCause());
+            } catch (CancellationException e) {
+                // Cancelada por el fallo de otra tarea: se informa ese fallo, no la cancelación
+                if (firstFailure.get() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new IllegalStateException("Recommendation input was cancelled", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelAll();
+                throw new IllegalStateException("Interrupted while waiting for recommendation inputs", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            cancelAll();
+        }
+
+        private void cancelAll() {
+            tasks.forEach(task -> task.cancel(true));
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package compass.career.evaluationsapi.service;
+
+import compass.career.evaluationsapi.dto.RecommendationRefreshJobResponse;
+import compass.career.evaluationsapi.dto.RecommendationRefreshRequest;
+
+public interface RecommendationRefreshService {
+    RecommendationRefreshJobResponse startJob(RecommendationRefreshRequest request);
+    RecommendationRefreshJobResponse resumeJob(Long jobId, Long tokenBudget);
+    RecommendationRefreshJobResponse getJob(Long jobId);
+}
@@ -0,0 +1,356 @@
+package compass.career.evaluationsapi.service;
+
+import compass.career.evaluationsapi.dto.RecommendationRefreshJobResponse;
+import compass.career.evaluationsapi.dto.RecommendationRefreshRequest;
+import compass.career.evaluationsapi.exception.TokenBudgetExceededException;
+import compass.career.evaluationsapi.mapper.AdminMapper;
+import compass.career.evaluationsapi.model.RecommendationRefreshJob;
+import compass.career.evaluationsapi.repository.CompletedEvaluationRepository;
+import compass.career.evaluationsapi.repository.RecommendationRefreshJobRepository;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Refresco masivo de recomendaciones. Recorre los usuarios con evaluaciones mediante un cursor por
+ * keyset, los procesa por páginas en un pool acotado y guarda el cursor tras cada página para poder
+ * reanudar. Antes de cada página estima cuántos usuarios caben en el presupuesto de tokens restante.
+ * Entre instancias, el job lo ejecuta quien tiene el lease "recommendation-refresh" de
+ * SchedulerLockService, que se renueva en cada página.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RecommendationRefreshServiceImpl implements RecommendationRefreshService {
+
+    private static final String LOCK_NAME = "recommendation-refresh";
+
+    private enum Outcome {
+        PROCESSED,
+        SKIPPED,
+        FAILED,
+        CIRCUIT_OPEN,
+        // Presupuesto global de tokens de Groq agotado; se difiere el resto hasta la siguiente ventana
+        BUDGET_DEFERRED,
+        // No llegó a empezar porque la página ya se había cortado
+        NOT_STARTED,
+        // Tratado en una ejecución anterior por encima del cursor
+        ALREADY_DONE
+    }
+
+    // Resultado de un usuario con los tokens que gastaron sus llamadas a Groq
+    private record UserResult(Outcome outcome, long tokens) {
+    }
+
+    private final RecommendationRefreshJobRepository jobRepository;
+    private final CompletedEvaluationRepository completedEvaluationRepository;
+    private final CareerService careerService;
+    private final SpecializationService specializationService;
+    private final GroqService groqService;
+    private final SchedulerLockService schedulerLockService;
+
+    @Qualifier("recommendationRefreshJobExecutor")
+    private final TaskExecutor jobExecutor;
+
+    @Qualifier("recommendationRefreshExecutor")
+    private final ThreadPoolTaskExecutor workerExecutor;
+
+    @Value("${recommendations.refresh.page-size:100}")
+    private int pageSize;
+
+    @Value("${recommendations.refresh.default-token-budget:5000000}")
+    private long defaultTokenBudget;
+
+    // Estimación inicial por usuario hasta que el job tenga consumo real con el que promediar
+    @Value("${recommendations.refresh.estimated-tokens-per-user:4000}")
+    private long estimatedTokensPerUser;
+
+    // Debe superar lo que tarda una página; si vence, otra instancia puede reanudar el job
+    @Value("${recommendations.refresh.lease:PT10M}")
+    private Duration lease;
+
+    @Value("${groq.pricing.usd-per-million-tokens:0.79}")
+    private BigDecimal usdPerMillionTokens;
+
+    // Un único job activo por instancia
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    @Override
+    public RecommendationRefreshJobResponse startJob(RecommendationRefreshRequest request) {
+        claim();
+        try {
+            if (jobRepository.existsByStatus(RecommendationRefreshJob.Status.RUNNING)) {
+                throw new IllegalStateException("A recommendation refresh job is already running");
+            }
+            return AdminMapper.toRefreshJobResponse(launch(newJob(request)), usdPerMillionTokens);
+        } catch (RuntimeException e) {
+            unclaim();
+            throw e;
+        }
+    }
+
+    private RecommendationRefreshJob newJob(RecommendationRefreshRequest request) {
+        LocalDateTime now = LocalDateTime.now();
+        RecommendationRefreshJob job = new RecommendationRefreshJob();
+        job.setStatus(RecommendationRefreshJob.Status.RUNNING);
+        job.setIncludeSpecializations(request != null && Boolean.TRUE.equals(request.getIncludeSpecializations()));
+        job.setProcessedCount(0);
+        job.setFailedCount(0);
+        job.setSkippedCount(0);
+        job.setTokensUsed(0L);
+        job.setTokenBudget(request != null && request.getTokenBudget() != null ? request.getTokenBudget() : defaultTokenBudget);
+        job.setStartedAt(now);
+        job.setUpdatedAt(now);
+        return jobRepository.save(job);
+    }
+
+    @Override
+    public RecommendationRefreshJobResponse resumeJob(Long jobId, Long tokenBudget) {
+        RecommendationRefreshJob job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new EntityNotFoundException("The recommendation refresh job has not been found"));
+
+        if (job.getStatus() == RecommendationRefreshJob.Status.COMPLETED) {
+            throw new IllegalStateException("The recommendation refresh job is already completed");
+        }
+        if (tokenBudget != null && tokenBudget <= job.getTokensUsed()) {
+            throw new IllegalArgumentException("Token budget must be greater than the tokens already used");
+        }
+
+        // Con el lease tomado ninguna instancia está ejecutando el job: si figura RUNNING quedó
+        // huérfano (reinicio o caída de su nodo) y puede reanudarse
+        claim();
+        try {
+            if (tokenBudget != null) {
+                job.setTokenBudget(tokenBudget);
+            }
+            job.setStatus(RecommendationRefreshJob.Status.RUNNING);
+            job.setMessage(null);
+            job.setFinishedAt(null);
+            job.setUpdatedAt(LocalDateTime.now());
+            return AdminMapper.toRefreshJobResponse(launch(jobRepository.save(job)), usdPerMillionTokens);
+        } catch (RuntimeException e) {
+            unclaim();
+            throw e;
+        }
+    }
+
+    @Override
+    public RecommendationRefreshJobResponse getJob(Long jobId) {
+        RecommendationRefreshJob job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new EntityNotFoundException("The recommendation refresh job has not been found"));
+        return AdminMapper.toRefreshJobResponse(job, usdPerMillionTokens);
+    }
+
+    /**
+     * Reserva la ejecución en esta instancia y el lease entre instancias; unclaim() los libera.
+     */
+    private void claim() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A recommendation refresh job is already running");
+        }
+        if (!schedulerLockService.tryAcquire(LOCK_NAME, lease)) {
+            running.set(false);
+            throw new IllegalStateException("A recommendation refresh job is already running on another instance");
+        }
+    }
+
+    private void unclaim() {
+        schedulerLockService.release(LOCK_NAME);
+        running.set(false);
+    }
+
+    private RecommendationRefreshJob launch(RecommendationRefreshJob job) {
+        jobExecutor.execute(() -> {
+            try {
+                run(job);
+            } catch (Exception e) {
+                log.error("Recommendation refresh job {} failed", job.getId(), e);
+                finish(job, RecommendationRefreshJob.Status.FAILED, e.getMessage());
+            } finally {
+                unclaim();
+            }
+        });
+        return job;
+    }
+
+    private void run(RecommendationRefreshJob job) {
+        log.info("Recommendation refresh job {} started from user {} with budget {} tokens",
+                job.getId(), job.getLastUserId(), job.getTokenBudget());
+
+        int cursor = job.getLastUserId() != null ? job.getLastUserId() : 0;
+        Set<Integer> completedAfterCursor = job.getCompletedAfterCursor() != null
+                ? new TreeSet<>(Arrays.asList(job.getCompletedAfterCursor()))
+                : new TreeSet<>();
+
+        while (true) {
+            // Renovar el lease en cada página; si se perdió, otra instancia pudo reanudar el job
+            if (!schedulerLockService.tryAcquire(LOCK_NAME, lease)) {
+                log.warn("Recommendation refresh job {} lost its lease, stopping", job.getId());
+                return;
+            }
+
+            List<Integer> userIds = completedEvaluationRepository.findUserIdsAfter(cursor, pageSize);
+            if (userIds.isEmpty()) {
+                finish(job, RecommendationRefreshJob.Status.COMPLETED, null);
+                return;
+            }
+
+            int affordable = affordableUsers(job);
+            if (affordable == 0) {
+                finish(job, RecommendationRefreshJob.Status.BUDGET_EXHAUSTED,
+                        "Token budget exhausted; resume with a larger budget to continue");
+                return;
+            }
+            List<Integer> batch = userIds.subList(0, Math.min(affordable, userIds.size()));
+
+            // Tras el primer corte los usuarios que aún no empezaron se dejan para la reanudación
+            AtomicBoolean interrupted = new AtomicBoolean(false);
+            List<CompletableFuture<UserResult>> futures = new ArrayList<>();
+            for (Integer userId : batch) {
+                futures.add(completedAfterCursor.contains(userId)
+                        ? CompletableFuture.completedFuture(new UserResult(Outcome.ALREADY_DONE, 0))
+                        : CompletableFuture.supplyAsync(() -> refreshUser(userId, job.getIncludeSpecializations(), interrupted), workerExecutor));
+            }
+
+            // El cursor sólo avanza sobre el prefijo de la página que no se cortó por el circuito
+            // abierto o por el presupuesto global de tokens; lo que terminó después del corte se cuenta
+            // y se recuerda en completedAfterCursor para no repetirlo al reanudar
+            Outcome interruption = null;
+            boolean prefix = true;
+            long pageTokens = 0;
+            for (int i = 0; i < batch.size(); i++) {
+                UserResult result = futures.get(i).join();
+                pageTokens += result.tokens();
+
+                Outcome outcome = result.outcome();
+                if (outcome == Outcome.CIRCUIT_OPEN || outcome == Outcome.BUDGET_DEFERRED || outcome == Outcome.NOT_STARTED) {
+                    if (interruption == null && outcome != Outcome.NOT_STARTED) {
+                        interruption = outcome;
+                    }
+                    prefix = false;
+                    continue;
+                }
+
+                switch (outcome) {
+                    case PROCESSED -> job.setProcessedCount(job.getProcessedCount() + 1);
+                    case SKIPPED -> job.setSkippedCount(job.getSkippedCount() + 1);
+                    case FAILED -> job.setFailedCount(job.getFailedCount() + 1);
+                    default -> { }
+                }
+                if (prefix) {
+                    cursor = batch.get(i);
+                } else {
+                    completedAfterCursor.add(batch.get(i));
+                }
+            }
+            int pageCursor = cursor;
+            completedAfterCursor.removeIf(userId -> userId <= pageCursor);
+
+            job.setLastUserId(cursor == 0 ? null : cursor);
+            job.setCompletedAfterCursor(completedAfterCursor.isEmpty() ? null : completedAfterCursor.toArray(Integer[]::new));
+            job.setTokensUsed(job.getTokensUsed() + pageTokens);
+            job.setUpdatedAt(LocalDateTime.now());
+            jobRepository.save(job);
+
+            log.info("Recommendation refresh job {}: cursor={}, processed={}, failed={}, skipped={}, tokens={}",
+                    job.getId(), cursor, job.getProcessedCount(), job.getFailedCount(),
+                    job.getSkippedCount(), job.getTokensUsed());
+
+            if (interruption == Outcome.CIRCUIT_OPEN) {
+                finish(job, RecommendationRefreshJob.Status.PAUSED,
+                        "Groq circuit breaker is open; resume the job once the service recovers");
+                return;
+            }
+            if (interruption == Outcome.BUDGET_DEFERRED) {
+                finish(job, RecommendationRefreshJob.Status.PAUSED,
+                        "Global Groq token budget exceeded; resume the job once the budget window resets");
+                return;
+            }
+        }
+    }
+
+    // Los tokens se miden en el hilo del worker, así que no incluyen el tráfico interactivo concurrente
+    private UserResult refreshUser(Integer userId, boolean includeSpecializations, AtomicBoolean interrupted) {
+        if (interrupted.get()) {
+            return new UserResult(Outcome.NOT_STARTED, 0);
+        }
+
+        long tokensBefore = groqService.getThreadTokensUsed();
+        Outcome outcome = refresh(userId, includeSpecializations);
+        if (outcome == Outcome.CIRCUIT_OPEN || outcome == Outcome.BUDGET_DEFERRED) {
+            interrupted.set(true);
+        }
+        return new UserResult(outcome, groqService.getThreadTokensUsed() - tokensBefore);
+    }
+
+    private Outcome refresh(Integer userId, boolean includeSpecializations) {
+        try {
+            careerService.refreshRecommendations(userId);
+            if (includeSpecializations) {
+                specializationService.refreshRecommendations(userId);
+            }
+            return Outcome.PROCESSED;
+        } catch (CallNotPermittedException e) {
+            return Outcome.CIRCUIT_OPEN;
+        } catch (TokenBudgetExceededException e) {
+            // El presupuesto de un usuario sólo afecta a ese usuario; el global detiene el job
+            if ("global".equals(e.getScope())) {
+                return Outcome.BUDGET_DEFERRED;
+            }
+            log.debug("Skipping user {} in recommendation refresh: token budget exceeded", userId);
+            return Outcome.SKIPPED;
+        } catch (IllegalStateException e) {
+            // Usuario sin perfil evaluable
+            log.debug("Skipping user {} in recommendation refresh: {}", userId, e.getMessage());
+            return Outcome.SKIPPED;
+        } catch (Exception e) {
+            log.warn("Error refreshing recommendations for user {}", userId, e);
+            return Outcome.FAILED;
+        }
+    }
+
+    private int affordableUsers(RecommendationRefreshJob job) {
+        long remaining = job.getTokenBudget() - job.getTokensUsed();
+        int processed = job.getProcessedCount();
+        long perUser = processed > 0 && job.getTokensUsed() > 0
+                ? Math.max(1, job.getTokensUsed() / processed)
+                : estimatedTokensPerUser;
+        if (job.getIncludeSpecializations() && processed == 0) {
+            perUser *= 2;
+        }
+
+        return (int) Math.max(0, Math.min(pageSize, remaining / perUser));
+    }
+
+    private void finish(RecommendationRefreshJob job, RecommendationRefreshJob.Status status, String message) {
+        LocalDateTime now = LocalDateTime.now();
+        job.setStatus(status);
+        job.setMessage(message);
+        job.setUpdatedAt(now);
+        if (status == RecommendationRefreshJob.Status.COMPLETED) {
+            job.setFinishedAt(now);
+        }
+        jobRepository.save(job);
+
+        log.info("Recommendation refresh job {} finished with status {}: processed={}, failed={}, skipped={}, tokens={}",
+                job.getId(), status, job.getProcessedCount(), job.getFailedCount(),
+                job.getSkippedCount(), job.getTokensUsed());
+    }
+}
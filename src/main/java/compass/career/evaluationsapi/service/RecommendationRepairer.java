@@ -0,0 +1,115 @@
+package compass.career.evaluationsapi.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Valida la respuesta de Groq contra el catálogo en memoria y la repara localmente en lugar de
+ * descartar la llamada: elimina ids inexistentes y duplicados, acota los porcentajes a 0-100 y
+ * completa los huecos hasta el top 10 con el motor de puntuación local.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RecommendationRepairer {
+
+    public static final int TOP_RECOMMENDATIONS = 10;
+
+    private final MeterRegistry meterRegistry;
+
+    public record Candidate(Integer id, Double compatibilityPercentage) {
+    }
+
+    /**
+     * @param catalog        etiqueta de la métrica ("careers" o "specializations")
+     * @param candidates     recomendaciones tal como las devolvió el modelo
+     * @param catalogIds     ids válidos del catálogo actual
+     * @param localAffinity  afinidad local 0-1 por id; sólo se construye si hay que completar huecos
+     * @return recomendaciones válidas ordenadas de mayor a menor compatibilidad
+     */
+    public List<Candidate> repair(String catalog, List<Candidate> candidates, Set<Integer> catalogIds,
+                                  Supplier<ToDoubleFunction<Integer>> localAffinity) {
+        Map<Integer, Double> valid = new LinkedHashMap<>();
+
+        for (Candidate candidate : candidates) {
+            if (candidate.id() == null || !catalogIds.contains(candidate.id())) {
+                countRepair(catalog, "unknown_id");
+                continue;
+            }
+            if (valid.containsKey(candidate.id())) {
+                countRepair(catalog, "duplicate");
+                continue;
+            }
+
+            Double percentage = candidate.compatibilityPercentage();
+            if (percentage == null || percentage.isNaN()) {
+                countRepair(catalog, "missing_score");
+                continue;
+            }
+            if (percentage < 0 || percentage > 100) {
+                countRepair(catalog, "clamped");
+                percentage = Math.max(0.0, Math.min(100.0, percentage));
+            }
+            valid.put(candidate.id(), percentage);
+        }
+
+        List<Candidate> repaired = new ArrayList<>();
+        valid.forEach((id, percentage) -> repaired.add(new Candidate(id, percentage)));
+        repaired.sort(Comparator.comparingDouble(Candidate::compatibilityPercentage).reversed());
+
+        if (repaired.size() > TOP_RECOMMENDATIONS) {
+            countRepair(catalog, "truncated", repaired.size() - TOP_RECOMMENDATIONS);
+            return new ArrayList<>(repaired.subList(0, TOP_RECOMMENDATIONS));
+        }
+
+        int target = Math.min(TOP_RECOMMENDATIONS, catalogIds.size());
+        if (repaired.size() < target) {
+            fill(catalog, repaired, target, catalogIds, localAffinity.get());
+        }
+
+        return repaired;
+    }
+
+    /**
+     * Los huecos se rellenan con los elementos restantes de mayor afinidad local, siempre por debajo
+     * de la peor recomendación del modelo para no alterar el orden que éste decidió.
+     */
+    private void fill(String catalog, List<Candidate> repaired, int target, Set<Integer> catalogIds,
+                      ToDoubleFunction<Integer> localAffinity) {
+        Set<Integer> used = new HashSet<>();
+        repaired.forEach(c -> used.add(c.id()));
+
+        double ceiling = repaired.isEmpty() ? 100.0 : repaired.get(repaired.size() - 1).compatibilityPercentage();
+
+        List<Map.Entry<Integer, Double>> remaining = new ArrayList<>();
+        for (Integer id : catalogIds) {
+            if (!used.contains(id)) {
+                remaining.add(Map.entry(id, localAffinity.applyAsDouble(id)));
+            }
+        }
+        remaining.sort(Map.Entry.<Integer, Double>comparingByValue().reversed());
+
+        int missing = Math.min(target - repaired.size(), remaining.size());
+        for (Map.Entry<Integer, Double> entry : remaining.subList(0, missing)) {
+            double percentage = Math.round(ceiling * (0.5 + 0.5 * entry.getValue()) * 100.0) / 100.0;
+            repaired.add(new Candidate(entry.getKey(), percentage));
+        }
+
+        countRepair(catalog, "filled", missing);
+        log.info("Filled {} missing {} recommendations with the local scoring engine", missing, catalog);
+    }
+
+    private void countRepair(String catalog, String action) {
+        countRepair(catalog, action, 1);
+    }
+
+    private void countRepair(String catalog, String action, int count) {
+        meterRegistry.counter("recommendations.repair", "catalog", catalog, "action", action).increment(count);
+    }
+}
@@ -0,0 +1,59 @@
+package compass.career.evaluationsapi.service;
+
+import compass.career.evaluationsapi.repository.SchedulerLockRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Exclusión entre nodos para tareas programadas mediante leases en scheduler_locks. Con varias
+ * instancias registradas en Eureka, sólo la que obtiene el lease ejecuta la tarea.
+ */
+@Component
+@Slf4j
+public class SchedulerLockService {
+
+    private final SchedulerLockRepository repository;
+    private final String owner;
+
+    public SchedulerLockService(SchedulerLockRepository repository) {
+        this.repository = repository;
+        this.owner = hostname() + ":" + UUID.randomUUID();
+    }
+
+    /**
+     * Toma el lease o lo renueva si ya es de este nodo. Llamarlo periódicamente durante la tarea
+     * mantiene el lease; si devuelve false otro nodo lo tiene (o lo tomó tras vencer).
+     */
+    public boolean tryAcquire(String lockName, Duration lease) {
+        try {
+            repository.insertIfMissing(lockName);
+            Instant now = Instant.now();
+            return repository.acquire(lockName, owner, now, now.plus(lease)) == 1;
+        } catch (Exception e) {
+            log.warn("Could not acquire scheduler lock {}: {}", lockName, e.getMessage());
+            return false;
+        }
+    }
+
+    public void release(String lockName) {
+        try {
+            repository.release(lockName, owner, Instant.now());
+        } catch (Exception e) {
+            // El lease vencerá solo
+            log.warn("Could not release scheduler lock {}: {}", lockName, e.getMessage());
+        }
+    }
+
+    private static String hostname() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
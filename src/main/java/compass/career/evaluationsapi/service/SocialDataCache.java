@@ -0,0 +1,185 @@
+package compass.career.evaluationsapi.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import compass.career.evaluationsapi.model.SocialDataCacheEntry;
+import compass.career.evaluationsapi.repository.SocialDataCacheRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caché de dos niveles para las búsquedas en Reddit: L1 en memoria y L2 en la tabla social_data_cache.
+ * Una entrada fresca se devuelve tal cual; una obsoleta (entre fresh-ttl y stale-ttl) se devuelve de
+ * inmediato y se revalida con una única recarga en segundo plano; sólo una entrada ausente o expirada
+ * espera a Reddit.
+ */
+@Component
+@Slf4j
+public class SocialDataCache {
+
+    private final SocialDataCacheRepository repository;
+    private final ObjectMapper objectMapper;
+    private final TaskExecutor refreshExecutor;
+    private final Duration freshTtl;
+    private final Duration staleTtl;
+
+    // Las claves son búsquedas derivadas del catálogo, así que el L1 está acotado por su tamaño
+    private final Map<String, CachedEntry> entries = new ConcurrentHashMap<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    public SocialDataCache(
+            SocialDataCacheRepository repository,
+            ObjectMapper objectMapper,
+            @Qualifier("socialDataRefreshExecutor") TaskExecutor refreshExecutor,
+            @Value("${social.cache.fresh-ttl:PT6H}") Duration freshTtl,
+            @Value("${social.cache.stale-ttl:P7D}") Duration staleTtl) {
+
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.refreshExecutor = refreshExecutor;
+        this.freshTtl = freshTtl;
+        this.staleTtl = staleTtl;
+    }
+
+    public record CachedEntry(Map<String, Object> payload, Instant fetchedAt) {
+    }
+
+    /**
+     * @param loader consulta a Reddit; debe lanzar excepción en caso de error para no cachear
+     *               respuestas vacías de respaldo
+     */
+    public Map<String, Object> get(String key, Callable<Map<String, Object>> loader) throws Exception {
+        CachedEntry entry = lookup(key);
+
+        if (entry != null) {
+            Duration age = Duration.between(entry.fetchedAt(), Instant.now());
+            if (age.compareTo(freshTtl) < 0) {
+                return entry.payload();
+            }
+
+            // Otro nodo o el pre-calentamiento pudo haberla renovado en L2
+            CachedEntry persisted = readDatabase(key);
+            if (persisted != null && persisted.fetchedAt().isAfter(entry.fetchedAt())) {
+                entries.put(key, persisted);
+                entry = persisted;
+                age = Duration.between(entry.fetchedAt(), Instant.now());
+                if (age.compareTo(freshTtl) < 0) {
+                    return entry.payload();
+                }
+            }
+            if (age.compareTo(staleTtl) < 0) {
+                refreshInBackground(key, loader);
+                return entry.payload();
+            }
+        }
+
+        try {
+            return load(key, loader).payload();
+        } catch (Exception e) {
+            // Mejor un dato expirado que ninguno
+            if (entry != null) {
+                log.warn("Reddit fetch failed for '{}', serving expired entry from {}", key, entry.fetchedAt());
+                return entry.payload();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Indica si la entrada falta o dejará de estar fresca dentro de refreshAhead; lo usa el
+     * pre-calentamiento para no repetir búsquedas recientes.
+     */
+    public boolean needsRefresh(String key, Duration refreshAhead) {
+        // L2 primero: es la copia que comparten todos los nodos
+        CachedEntry entry = readDatabase(key);
+        if (entry == null) {
+            entry = entries.get(key);
+        }
+        return entry == null
+                || Duration.between(entry.fetchedAt(), Instant.now()).compareTo(freshTtl.minus(refreshAhead)) >= 0;
+    }
+
+    // Recarga síncrona de una entrada, sin pasar por la lógica de frescura
+    public void refresh(String key, Callable<Map<String, Object>> loader) throws Exception {
+        load(key, loader);
+    }
+
+    private CachedEntry lookup(String key) {
+        CachedEntry entry = entries.get(key);
+        if (entry != null) {
+            return entry;
+        }
+
+        entry = readDatabase(key);
+        if (entry != null) {
+            entries.putIfAbsent(key, entry);
+        }
+        return entry;
+    }
+
+    private CachedEntry readDatabase(String key) {
+        try {
+            return repository.findById(key)
+                    .map(this::fromRow)
+                    .orElse(null);
+        } catch (Exception e) {
+            log.warn("Could not read social data cache entry '{}' from database: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private CachedEntry load(String key, Callable<Map<String, Object>> loader) throws Exception {
+        CachedEntry entry = new CachedEntry(loader.call(), Instant.now());
+        entries.put(key, entry);
+
+        try {
+            repository.save(new SocialDataCacheEntry(key, objectMapper.writeValueAsString(entry.payload()), entry.fetchedAt()));
+        } catch (Exception e) {
+            log.warn("Could not persist social data cache entry '{}': {}", key, e.getMessage());
+        }
+        return entry;
+    }
+
+    private void refreshInBackground(String key, Callable<Map<String, Object>> loader) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load(key, loader);
+                    log.debug("Revalidated social data cache entry '{}'", key);
+                } catch (Exception e) {
+                    log.warn("Background refresh of social data '{}' failed: {}", key, e.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            refreshing.remove(key);
+            log.debug("Social data refresh queue is full, '{}' stays stale", key);
+        }
+    }
+
+    private CachedEntry fromRow(SocialDataCacheEntry row) {
+        try {
+            Map<String, Object> payload = objectMapper.readValue(row.getPayload(), new TypeReference<Map<String, Object>>() {});
+            return new CachedEntry(payload, row.getFetchedAt());
+        } catch (Exception e) {
+            log.warn("Discarding unreadable social data cache entry '{}': {}", row.getCacheKey(), e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package compass.career.evaluationsapi.service;
+
+import compass.career.evaluationsapi.client.RedditClient;
+import compass.career.evaluationsapi.repository.CareerRepository;
+import compass.career.evaluationsapi.repository.SpecializationAreaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Renueva en segundo plano los datos de Reddit de todo el catálogo antes de que dejen de estar
+ * frescos, para que ningún detalle tome el camino en frío. Las llamadas pasan por un token bucket
+ * ajustado al límite de Reddit sin autenticación, se espacian con jitter y sólo las ejecuta el nodo
+ * que tiene el lease "social-prewarm".
+ */
+@Component
+@Slf4j
+public class SocialDataPrewarmer {
+
+    private static final String LOCK_NAME = "social-prewarm";
+
+    private final CareerRepository careerRepository;
+    private final SpecializationAreaRepository specializationAreaRepository;
+    private final SocialMediaApiService socialMediaApiService;
+    private final SocialDataCache socialDataCache;
+    private final RedditClient redditClient;
+    private final SchedulerLockService schedulerLockService;
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+    private final Duration refreshAhead;
+    private final Duration lease;
+    private final long maxJitterMs;
+    private final TokenBucket rateLimiter;
+
+    public SocialDataPrewarmer(
+            CareerRepository careerRepository,
+            SpecializationAreaRepository specializationAreaRepository,
+            SocialMediaApiService socialMediaApiService,
+            SocialDataCache socialDataCache,
+            RedditClient redditClient,
+            SchedulerLockService schedulerLockService,
+            MeterRegistry meterRegistry,
+            @Value("${social.prewarm.enabled:true}") boolean enabled,
+            @Value("${social.prewarm.refresh-ahead:PT1H}") Duration refreshAhead,
+            @Value("${social.prewarm.lease:PT5M}") Duration lease,
+            @Value("${social.prewarm.max-jitter-ms:3000}") long maxJitterMs,
+            @Value("${social.prewarm.requests-per-minute:10}") int requestsPerMinute,
+            @Value("${social.prewarm.burst:2}") int burst) {
+
+        this.careerRepository = careerRepository;
+        this.specializationAreaRepository = specializationAreaRepository;
+        this.socialMediaApiService = socialMediaApiService;
+        this.socialDataCache = socialDataCache;
+        this.redditClient = redditClient;
+        this.schedulerLockService = schedulerLockService;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.refreshAhead = refreshAhead;
+        this.lease = lease;
+        this.maxJitterMs = maxJitterMs;
+        this.rateLimiter = new TokenBucket(burst, requestsPerMinute);
+    }
+
+    @Scheduled(initialDelayString = "${social.prewarm.initial-delay-ms:300000}",
+            fixedDelayString = "${social.prewarm.interval-ms:3600000}")
+    public void prewarm() {
+        if (!enabled) {
+            return;
+        }
+        if (!schedulerLockService.tryAcquire(LOCK_NAME, lease)) {
+            log.debug("Social data pre-warm is running on another instance");
+            return;
+        }
+
+        try {
+            run();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("Social data pre-warm interrupted");
+        } catch (Exception e) {
+            log.error("Social data pre-warm failed", e);
+        } finally {
+            schedulerLockService.release(LOCK_NAME);
+        }
+    }
+
+    private void run() throws InterruptedException {
+        List<RedditClient.Search> searches = new ArrayList<>();
+        careerRepository.findAllNames().forEach(name -> searches.addAll(socialMediaApiService.getCareerSearches(name)));
+        specializationAreaRepository.findAllNames().forEach(name -> searches.addAll(socialMediaApiService.getSpecializationSearches(name)));
+
+        int refreshed = 0;
+        int skipped = 0;
+        int failed = 0;
+
+        for (RedditClient.Search search : searches) {
+            if (!socialDataCache.needsRefresh(search.cacheKey(), refreshAhead)) {
+                skipped++;
+                continue;
+            }
+            // Renovar el lease en cada búsqueda; si se perdió, otro nodo continúa
+            if (!schedulerLockService.tryAcquire(LOCK_NAME, lease)) {
+                log.warn("Lost the social data pre-warm lease, stopping");
+                break;
+            }
+
+            if (maxJitterMs > 0) {
+                Thread.sleep(ThreadLocalRandom.current().nextLong(maxJitterMs + 1));
+            }
+            rateLimiter.acquire();
+
+            try {
+                socialDataCache.refresh(search.cacheKey(), () -> redditClient.fetch(search));
+                refreshed++;
+            } catch (Exception e) {
+                failed++;
+                log.debug("Pre-warm of '{}' failed: {}", search.cacheKey(), e.getMessage());
+            }
+        }
+
+        meterRegistry.counter("social.prewarm.searches", "result", "refreshed").increment(refreshed);
+        meterRegistry.counter("social.prewarm.searches", "result", "skipped").increment(skipped);
+        meterRegistry.counter("social.prewarm.searches", "result", "failed").increment(failed);
+        log.info("Social data pre-warm finished: {} refreshed, {} skipped as recent, {} failed",
+                refreshed, skipped, failed);
+    }
+
+    /**
+     * Token bucket de un solo consumidor: permite ráfagas de hasta capacity llamadas y después
+     * una cada 60/perMinute segundos.
+     */
+    private static final class TokenBucket {
+        private final double capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long lastRefill;
+
+        TokenBucket(int capacity, int perMinute) {
+            this.capacity = Math.max(1, capacity);
+            this.tokensPerNano = Math.max(1, perMinute) / (double) Duration.ofMinutes(1).toNanos();
+            this.tokens = this.capacity;
+            this.lastRefill = System.nanoTime();
+        }
+
+        synchronized void acquire() throws InterruptedException {
+            while (true) {
+                long now = System.nanoTime();
+                tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+                lastRefill = now;
+
+                if (tokens >= 1) {
+                    tokens -= 1;
+                    return;
+                }
+                long waitNanos = (long) Math.ceil((1 - tokens) / tokensPerNano);
+                Thread.sleep(Math.max(1, waitNanos / 1_000_000));
+            }
+        }
+    }
+}
@@ -1,6 +1,14 @@
 package compass.career.evaluationsapi.service;
 
+import compass.career.evaluationsapi.client.RedditClient;
+
+import java.util.List;
+
 public interface SocialMediaApiService {
     Object getCareerInformation(String careerName);
     Object getSpecializationInformation(String specializationName);
-}
\ No newline at end of file
+
+    // Búsquedas que componen cada detalle, en el orden en que se muestran
+    List<RedditClient.Search> getCareerSearches(String careerName);
+    List<RedditClient.Search> getSpecializationSearches(String specializationName);
+}
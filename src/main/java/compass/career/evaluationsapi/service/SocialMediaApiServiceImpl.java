@@ -1,36 +1,60 @@
 package compass.career.evaluationsapi.service;
 
+import compass.career.evaluationsapi.client.RedditClient;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Datos de comunidad desde Reddit. Las búsquedas de cada detalle se lanzan en paralelo en
+ * redditSearchExecutor y se esperan hasta social.reddit.deadline; lo que no llega a tiempo se
+ * reemplaza por datos vacíos y la respuesta se marca como degraded (la búsqueda sigue y su
+ * resultado queda en caché para la siguiente petición).
+ */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class SocialMediaApiServiceImpl implements SocialMediaApiService {
 
-    private final RestTemplate restTemplate;
-    private static final String REDDIT_BASE_URL = "https://www.reddit.com";
+    private final RedditClient redditClient;
+    private final SocialDataCache socialDataCache;
+
+    @Qualifier("redditSearchExecutor")
+    private final TaskExecutor redditSearchExecutor;
+
+    @Value("${social.reddit.deadline:PT3S}")
+    private Duration deadline;
 
     @Override
     public Object getCareerInformation(String careerName) {
         Map<String, Object> result = new HashMap<>();
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        AtomicBoolean degraded = new AtomicBoolean(false);
 
-        Object generalSearch = searchReddit(careerName + " career opportunities");
+        List<RedditClient.Search> searches = getCareerSearches(careerName);
+        CompletableFuture<Map<String, Object>> generalFuture = search(searches.get(0));
+        CompletableFuture<Map<String, Object>> subredditFuture = search(searches.get(1));
+
+        Object generalSearch = await(generalFuture, deadlineNanos, degraded);
         result.put("generalDiscussion", generalSearch);
 
-        Object subredditSearch = searchInSubreddit(careerName, "cscareerquestions");
+        Object subredditSearch = await(subredditFuture, deadlineNanos, degraded);
         result.put("careerAdvice", subredditSearch);
 
         result.put("summary", generateCareerSummary(generalSearch, subredditSearch, careerName));
+        result.put("degraded", degraded.get());
 
         return result;
     }
@@ -38,122 +62,68 @@ public class SocialMediaApiServiceImpl implements SocialMediaApiService {
     @Override
     public Object getSpecializationInformation(String specializationName) {
         Map<String, Object> result = new HashMap<>();
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        AtomicBoolean degraded = new AtomicBoolean(false);
+
+        List<RedditClient.Search> searches = getSpecializationSearches(specializationName);
+        CompletableFuture<Map<String, Object>> generalFuture = search(searches.get(0));
+        CompletableFuture<Map<String, Object>> trendsFuture = search(searches.get(1));
 
-        Object generalSearch = searchReddit(specializationName + " specialization");
+        Object generalSearch = await(generalFuture, deadlineNanos, degraded);
         result.put("discussion", generalSearch);
 
-        Object trendsSearch = searchReddit(specializationName + " job market trends");
+        Object trendsSearch = await(trendsFuture, deadlineNanos, degraded);
         result.put("marketTrends", trendsSearch);
 
         result.put("summary", generateSpecializationSummary(generalSearch, trendsSearch, specializationName));
+        result.put("degraded", degraded.get());
 
         return result;
     }
 
-    private Object searchReddit(String query) {
-        String url = REDDIT_BASE_URL + "/search.json?q=" +
-                query.replace(" ", "+") + "&limit=10&sort=relevance&t=year";
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("User-Agent", "VocationalGuidanceApp/1.0 (Educational Purpose)");
-
-        HttpEntity<String> entity = new HttpEntity<>(headers);
-
-        try {
-            ResponseEntity<Map> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    entity,
-                    Map.class
-            );
-
-            Map<String, Object> result = response.getBody();
-            return extractRedditData(result);
-
-        } catch (Exception e) {
-            System.err.println("Error calling Reddit API: " + e.getMessage());
-            e.printStackTrace();
-            return getDefaultRedditData();
-        }
+    @Override
+    public List<RedditClient.Search> getCareerSearches(String careerName) {
+        return List.of(
+                RedditClient.search(careerName + " career opportunities"),
+                RedditClient.subredditSearch(careerName, "cscareerquestions"));
     }
 
-    private Object searchInSubreddit(String query, String subreddit) {
-        String url = REDDIT_BASE_URL + "/r/" + subreddit + "/search.json?q=" +
-                query.replace(" ", "+") + "&restrict_sr=1&limit=10&sort=relevance";
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("User-Agent", "VocationalGuidanceApp/1.0 (Educational Purpose)");
-
-        HttpEntity<String> entity = new HttpEntity<>(headers);
+    @Override
+    public List<RedditClient.Search> getSpecializationSearches(String specializationName) {
+        return List.of(
+                RedditClient.search(specializationName + " specialization"),
+                RedditClient.search(specializationName + " job market trends"));
+    }
 
+    private CompletableFuture<Map<String, Object>> search(RedditClient.Search search) {
         try {
-            ResponseEntity<Map> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    entity,
-                    Map.class
-            );
-
-            Map<String, Object> result = response.getBody();
-            return extractRedditData(result);
-
-        } catch (Exception e) {
-            System.err.println("Error searching subreddit: " + e.getMessage());
-            return getDefaultRedditData();
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return socialDataCache.get(search.cacheKey(), () -> redditClient.fetch(search));
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, redditSearchExecutor);
+        } catch (TaskRejectedException e) {
+            return CompletableFuture.failedFuture(e);
         }
     }
 
-    private Map<String, Object> extractRedditData(Map<String, Object> redditResponse) {
-        Map<String, Object> extracted = new HashMap<>();
-        List<Map<String, Object>> posts = new ArrayList<>();
-
+    // Espera como mucho hasta el deadline común de la petición
+    private Map<String, Object> await(CompletableFuture<Map<String, Object>> search, long deadlineNanos,
+                                      AtomicBoolean degraded) {
         try {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> data = (Map<String, Object>) redditResponse.get("data");
-
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> children = (List<Map<String, Object>>) data.get("children");
-
-            int totalUpvotes = 0;
-            int totalComments = 0;
-
-            for (Map<String, Object> child : children) {
-                @SuppressWarnings("unchecked")
-                Map<String, Object> postData = (Map<String, Object>) child.get("data");
-
-                Map<String, Object> post = new HashMap<>();
-                post.put("title", postData.get("title"));
-                post.put("author", postData.get("author"));
-                post.put("score", postData.get("score"));
-                post.put("numComments", postData.get("num_comments"));
-                post.put("url", "https://reddit.com" + postData.get("permalink"));
-                post.put("subreddit", postData.get("subreddit"));
-                post.put("created", postData.get("created_utc"));
-
-                String selftext = (String) postData.get("selftext");
-                if (selftext != null && !selftext.isEmpty()) {
-                    post.put("snippet", selftext.length() > 200 ?
-                            selftext.substring(0, 200) + "..." : selftext);
-                }
-
-                posts.add(post);
-
-                totalUpvotes += ((Number) postData.get("score")).intValue();
-                totalComments += ((Number) postData.get("num_comments")).intValue();
-            }
-
-            extracted.put("posts", posts);
-            extracted.put("totalPosts", posts.size());
-            extracted.put("totalUpvotes", totalUpvotes);
-            extracted.put("totalComments", totalComments);
-            extracted.put("averageScore", posts.isEmpty() ? 0 : totalUpvotes / posts.size());
-
-        } catch (Exception e) {
-            System.err.println("Error extracting Reddit data: " + e.getMessage());
-            e.printStackTrace();
+            return search.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Reddit search exceeded the {} ms deadline, serving partial data", deadline.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warn("Error calling Reddit API: {}", e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
         }
 
-        return extracted;
+        degraded.set(true);
+        return getDefaultRedditData();
     }
 
     private String generateCareerSummary(Object generalData, Object careerAdviceData, String careerName) {
@@ -0,0 +1,128 @@
+package compass.career.evaluationsapi.service;
+
+import compass.career.evaluationsapi.dto.SpecializationAreaResponse;
+import compass.career.evaluationsapi.dto.Versioned;
+import compass.career.evaluationsapi.event.CatalogChangedEvent;
+import compass.career.evaluationsapi.mapper.AdminMapper;
+import compass.career.evaluationsapi.repository.SpecializationAreaRepository;
+import compass.career.evaluationsapi.repository.projection.SpecializationAreaView;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Caché de lectura del catálogo de especializaciones: cada página (opcionalmente filtrada por
+ * carrera) y cada especialización se consultan una vez con la proyección de
+ * SpecializationAreaRepository y se guardan con su ETag hasta el siguiente cambio de catálogo o,
+ * como mucho, durante catalog.cache.ttl: el evento de cambio sólo llega a la instancia que hizo la
+ * escritura. Un cambio de carreras también la vacía, porque el listado incluye el nombre de la carrera.
+ */
+@Component
+@Slf4j
+public class SpecializationCatalogCache {
+
+    // Combinaciones careerId/page/pageSize que se memorizan por versión del catálogo
+    private static final int MAX_MEMOIZED_PAGES = 256;
+    private static final int MAX_CACHED_SPECIALIZATIONS = 5_000;
+
+    private final SpecializationAreaRepository specializationAreaRepository;
+    private final ContentETags contentETags;
+    private final MeterRegistry meterRegistry;
+    private final Duration ttl;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final BoundedTtlCache<String, Versioned<List<SpecializationAreaResponse>>> pages;
+    private final BoundedTtlCache<Integer, Versioned<SpecializationAreaResponse>> byId;
+
+    @Autowired
+    public SpecializationCatalogCache(
+            SpecializationAreaRepository specializationAreaRepository,
+            ContentETags contentETags,
+            MeterRegistry meterRegistry,
+            @Value("${catalog.cache.ttl:PT1M}") Duration ttl) {
+        this(specializationAreaRepository, contentETags, meterRegistry, ttl, System::nanoTime);
+    }
+
+    SpecializationCatalogCache(SpecializationAreaRepository specializationAreaRepository, ContentETags contentETags,
+                               MeterRegistry meterRegistry, Duration ttl, LongSupplier nanoClock) {
+        this.specializationAreaRepository = specializationAreaRepository;
+        this.contentETags = contentETags;
+        this.meterRegistry = meterRegistry;
+        this.ttl = ttl;
+        this.pages = new BoundedTtlCache<>(MAX_MEMOIZED_PAGES, nanoClock);
+        this.byId = new BoundedTtlCache<>(MAX_CACHED_SPECIALIZATIONS, nanoClock);
+    }
+
+    /**
+     * Página del catálogo ordenada por nombre; careerId null lista todas las carreras.
+     */
+    public Versioned<List<SpecializationAreaResponse>> getPage(Integer careerId, int page, int pageSize) {
+        String key = careerId + ":" + page + ":" + pageSize;
+
+        Versioned<List<SpecializationAreaResponse>> cached = pages.get(key);
+        if (cached != null) {
+            record("hit");
+            return cached;
+        }
+
+        record("miss");
+        long loadedGeneration = generation.get();
+        PageRequest pageable = PageRequest.of(page, pageSize);
+        List<SpecializationAreaView> views = careerId == null
+                ? specializationAreaRepository.findAllViews(pageable)
+                : specializationAreaRepository.findViewsByCareerId(careerId, pageable);
+
+        List<SpecializationAreaResponse> content = views.stream()
+                .map(AdminMapper::toSpecializationResponse)
+                .collect(Collectors.toUnmodifiableList());
+        Versioned<List<SpecializationAreaResponse>> versioned = new Versioned<>(content, contentETags.of(content));
+
+        // Si hubo un cambio durante la consulta se entrega lo leído pero no se guarda
+        if (generation.get() == loadedGeneration) {
+            pages.put(key, versioned, ttl);
+        }
+        return versioned;
+    }
+
+    public Optional<Versioned<SpecializationAreaResponse>> getById(Integer specializationId) {
+        Versioned<SpecializationAreaResponse> cached = byId.get(specializationId);
+        if (cached != null) {
+            record("hit");
+            return Optional.of(cached);
+        }
+
+        record("miss");
+        long loadedGeneration = generation.get();
+        Optional<Versioned<SpecializationAreaResponse>> loaded = specializationAreaRepository.findViewById(specializationId)
+                .map(AdminMapper::toSpecializationResponse)
+                .map(specialization -> new Versioned<>(specialization, contentETags.of(specialization)));
+
+        if (loaded.isPresent() && generation.get() == loadedGeneration) {
+            byId.put(specializationId, loaded.get(), ttl);
+        }
+        return loaded;
+    }
+
+    @TransactionalEventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        generation.incrementAndGet();
+        pages.clear();
+        byId.clear();
+        log.debug("Specialization catalog cache invalidated by change of {} {}", event.catalog(), event.ids());
+    }
+
+    private void record(String result) {
+        meterRegistry.counter("catalog.cache.lookups", "catalog", "specializations", "result", result).increment();
+    }
+}
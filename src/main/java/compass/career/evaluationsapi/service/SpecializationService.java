@@ -6,9 +6,11 @@ import java.util.List;
 
 public interface SpecializationService {
     List<SpecializationRecommendationResponse> getRecommendedSpecializations(Integer userId);
-    SpecializationDetailResponse getSpecializationDetails(Integer specializationId);
-    List<SpecializationAreaResponse> getAllSpecializations();
-    SpecializationAreaResponse getSpecializationById(Integer specializationId);
+    void refreshRecommendations(Integer userId);
+    Versioned<SpecializationDetailResponse> getSpecializationDetails(Integer specializationId);
+    Versioned<Object> getSpecializationSocialData(Integer specializationId);
+    Versioned<List<SpecializationAreaResponse>> getAllSpecializations(Integer careerId, int page, int pageSize);
+    Versioned<SpecializationAreaResponse> getSpecializationById(Integer specializationId);
     SpecializationAreaResponse createSpecialization(SpecializationAreaRequest request);
     SpecializationAreaResponse updateSpecialization(Integer specializationId, SpecializationAreaRequest request);
 }
\ No newline at end of file
@@ -1,22 +1,33 @@
 package compass.career.evaluationsapi.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import compass.career.evaluationsapi.client.UsersApiClient;
 import compass.career.evaluationsapi.dto.*;
+import compass.career.evaluationsapi.event.CatalogChangedEvent;
+import compass.career.evaluationsapi.event.RecommendationsRecomputedEvent;
+import compass.career.evaluationsapi.exception.TokenBudgetExceededException;
 import compass.career.evaluationsapi.mapper.AdminMapper;
 import compass.career.evaluationsapi.mapper.SpecializationMapper;
 import compass.career.evaluationsapi.model.*;
 import compass.career.evaluationsapi.repository.*;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,37 +37,63 @@ public class SpecializationServiceImpl implements SpecializationService {
 
     private final SpecializationAreaRepository specializationAreaRepository;
     private final SpecializationRecommendationRepository specializationRecommendationRepository;
-    private final CompletedEvaluationRepository completedEvaluationRepository;
+    private final UserProfileService userProfileService;
     private final SocialMediaApiService socialMediaApiService;
     private final CareerRepository careerRepository;
     private final GroqService groqService;
     private final UsersApiClient usersApiClient;
-    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final GroqResponseParser groqResponseParser;
+    private final RecommendationRepairer recommendationRepairer;
+    private final LocalRecommendationScorer localRecommendationScorer;
+    private final CatalogPromptEncoder catalogPromptEncoder;
+    private final ContentETags contentETags;
+    private final RecommendationInputFetcher recommendationInputFetcher;
+    private final SpecializationCatalogCache specializationCatalogCache;
+
+    private static final int MAX_CACHED_DETAILS = 5_000;
 
     // Caché simple de recomendaciones (1 hora)
     private final Map<Integer, CachedSpecializationRecommendations> cache = new ConcurrentHashMap<>();
 
+    // Detalle base de cada especialización con su ETag; se invalida con CatalogChangedEvent
+    // y, como mucho, tras catalog.cache.ttl: el evento sólo llega a la instancia que hizo el cambio
+    private final BoundedTtlCache<Integer, Versioned<SpecializationDetailResponse>> detailCache = new BoundedTtlCache<>(MAX_CACHED_DETAILS);
+    private final AtomicLong detailGeneration = new AtomicLong();
+
+    @Value("${catalog.cache.ttl:PT1M}")
+    private Duration detailTtl;
+
     @Override
     @Transactional
     public List<SpecializationRecommendationResponse> getRecommendedSpecializations(Integer userId) {
         log.info("Generating specialization recommendations for user {}", userId);
 
-        // Validar que el usuario existe
-        if (!usersApiClient.userExists(userId)) {
-            throw new IllegalArgumentException("User not found");
-        }
+        // La validación en UsersAPI corre en paralelo con la caché y la consulta a BD; ningún
+        // resultado se devuelve antes de confirmar que el usuario existe
+        List<SpecializationRecommendation> existingRecommendations;
+        try (RecommendationInputFetcher.Scope inputs = recommendationInputFetcher.open()) {
+            Future<Boolean> userExists = inputs.fork(() -> usersApiClient.userExists(userId));
+
+            // Verificar caché
+            CachedSpecializationRecommendations cached = cache.get(userId);
+            existingRecommendations = cached != null && !cached.isExpired()
+                    ? List.of()
+                    : specializationRecommendationRepository.findByUserIdOrderByCompatibilityPercentageDesc(userId);
+
+            // Validar que el usuario existe
+            if (!inputs.join(userExists)) {
+                throw new IllegalArgumentException("User not found");
+            }
 
-        // Verificar caché
-        CachedSpecializationRecommendations cached = cache.get(userId);
-        if (cached != null && !cached.isExpired()) {
-            log.info("Returning cached specialization recommendations for user {}", userId);
-            return cached.getRecommendations();
+            if (cached != null && !cached.isExpired()) {
+                log.info("Returning cached specialization recommendations for user {}", userId);
+                return cached.getRecommendations();
+            }
         }
 
         // Verificar si ya existen recomendaciones en BD
-        List<SpecializationRecommendation> existingRecommendations =
-                specializationRecommendationRepository.findByUserIdOrderByCompatibilityPercentageDesc(userId);
-
         if (!existingRecommendations.isEmpty()) {
             log.info("Found {} existing specialization recommendations in database for user {}",
                     existingRecommendations.size(), userId);
@@ -69,30 +106,75 @@ public class SpecializationServiceImpl implements SpecializationService {
         }
 
         // Generar nuevas recomendaciones usando Groq AI
+        // Con el circuito de Groq abierto, CallNotPermittedException se propaga y se responde 503 sin esperar
+        List<SpecializationRecommendation> generated = generateRecommendations(userId);
+
+        // Guardar recomendaciones y construir respuesta
+        List<SpecializationRecommendationResponse> responses = specializationRecommendationRepository.saveAll(generated).stream()
+                .map(SpecializationMapper::toRecommendationResponse)
+                .collect(Collectors.toList());
+
+        // Guardar en caché
+        cache.put(userId, new CachedSpecializationRecommendations(responses));
+
+        log.info("Successfully generated and saved {} specialization recommendations for user {}", responses.size(), userId);
+        return responses;
+    }
+
+    /**
+     * Sin transacción alrededor de Groq a propósito: la llamada puede tardar más de un minuto y el job
+     * masivo corre varias en paralelo, así que sólo el reemplazo de filas toma una conexión.
+     */
+    @Override
+    public void refreshRecommendations(Integer userId) {
+        // Si Groq falla (o el circuito está abierto) la excepción se propaga y se conservan las filas actuales
+        List<SpecializationRecommendation> generated = generateRecommendations(userId);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            specializationRecommendationRepository.deleteByUserId(userId);
+            specializationRecommendationRepository.flush();
+            specializationRecommendationRepository.saveAll(generated);
+        });
+        cache.remove(userId);
+
+        log.info("Refreshed {} specialization recommendations for user {}", generated.size(), userId);
+    }
+
+    /**
+     * Construye (sin persistir) las recomendaciones de especialización del usuario con Groq AI.
+     */
+    private List<SpecializationRecommendation> generateRecommendations(Integer userId) {
         log.info("Generating NEW specialization recommendations using Groq AI for user {}", userId);
 
-        // 1. Obtener resultados de los tests
-        Map<String, Object> personalityResults = getTestResults(userId, "personality");
-        Map<String, Object> vocationalResults = getTestResults(userId, "vocational_interests");
-        Map<String, Object> cognitiveResults = getTestResults(userId, "cognitive_skills");
+        UserProfile profile;
+        List<SpecializationArea> allSpecializations;
+        Map<String, Integer> userSkills;
+        try (RecommendationInputFetcher.Scope inputs = recommendationInputFetcher.open()) {
+            // Las habilidades vienen de UsersAPI y se piden mientras este hilo consulta la BD (las
+            // consultas se quedan aquí para seguir dentro de la transacción de la petición)
+            Future<SkillsDTO> skills = inputs.fork(() -> usersApiClient.getUserSkills(userId));
 
-        if (personalityResults.isEmpty() && vocationalResults.isEmpty() && cognitiveResults.isEmpty()) {
-            throw new IllegalStateException("User must complete at least one evaluation to get recommendations");
-        }
+            // 1. Obtener el perfil del usuario (fila de user_profiles mantenida en cada evaluación)
+            profile = userProfileService.getProfile(userId);
 
-        // 2. Obtener habilidades del usuario desde UsersAPI
-        SkillsDTO userSkillsDTO = usersApiClient.getUserSkills(userId);
-        Map<String, Integer> userSkills = userSkillsDTO != null ? userSkillsDTO.getSkills() : new HashMap<>();
+            if (profile.isEmpty()) {
+                throw new IllegalStateException("User must complete at least one evaluation to get recommendations");
+            }
+
+            // 2. Obtener todas las especializaciones disponibles
+            allSpecializations = specializationAreaRepository.findAll();
+            if (allSpecializations.isEmpty()) {
+                throw new IllegalStateException("No specialization areas available in the system");
+            }
 
-        // 3. Obtener todas las especializaciones disponibles
-        List<SpecializationArea> allSpecializations = specializationAreaRepository.findAll();
-        if (allSpecializations.isEmpty()) {
-            throw new IllegalStateException("No specialization areas available in the system");
+            // 3. Habilidades del usuario desde UsersAPI
+            SkillsDTO userSkillsDTO = inputs.join(skills);
+            userSkills = userSkillsDTO != null ? userSkillsDTO.getSkills() : new HashMap<>();
         }
 
         // 4. Preparar información de especializaciones para Groq AI
-        List<SpecializationInfo> specializationInfoList = allSpecializations.stream()
-                .map(s -> new SpecializationInfo(
+        List<GroqService.SpecializationInfo> specializationInfoList = allSpecializations.stream()
+                .map(s -> new GroqService.SpecializationInfo(
                         s.getId(),
                         s.getName(),
                         s.getDescription(),
@@ -106,56 +188,52 @@ public class SpecializationServiceImpl implements SpecializationService {
         List<SpecializationRecommendationResult> aiRecommendations;
         try {
             aiRecommendations = generateSpecializationRecommendations(
-                    personalityResults,
-                    vocationalResults,
-                    cognitiveResults,
+                    profile,
                     userSkills,
                     specializationInfoList
             );
+        } catch (CallNotPermittedException | TokenBudgetExceededException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error generating specialization recommendations with Groq AI", e);
             throw new RuntimeException("Failed to generate specialization recommendations", e);
         }
 
-        // 6. Guardar recomendaciones en la base de datos
-        List<SpecializationRecommendation> savedRecommendations = new ArrayList<>();
-        for (SpecializationRecommendationResult aiRec : aiRecommendations) {
-            SpecializationArea specialization = specializationAreaRepository.findById(aiRec.getSpecializationId())
-                    .orElseThrow(() -> new EntityNotFoundException("Specialization not found: " + aiRec.getSpecializationId()));
+        // 6. Validar contra el catálogo y reparar localmente (ids inválidos, duplicados, rangos, huecos)
+        Map<Integer, SpecializationArea> specializationsById = allSpecializations.stream()
+                .collect(Collectors.toMap(SpecializationArea::getId, sa -> sa));
+
+        List<RecommendationRepairer.Candidate> candidates = aiRecommendations.stream()
+                .map(r -> new RecommendationRepairer.Candidate(r.getSpecializationId(), r.getCompatibilityPercentage()))
+                .collect(Collectors.toList());
+        List<RecommendationRepairer.Candidate> repaired = recommendationRepairer.repair("specializations", candidates,
+                specializationsById.keySet(), () -> {
+                    LocalRecommendationScorer.Scoring scoring = localRecommendationScorer.forCatalog();
+                    return id -> scoring.score(profile, specializationsById.get(id));
+                });
 
+        // 7. Construir las entidades de recomendación
+        List<SpecializationRecommendation> recommendations = new ArrayList<>();
+        for (RecommendationRepairer.Candidate candidate : repaired) {
             SpecializationRecommendation recommendation = new SpecializationRecommendation();
             recommendation.setUserId(userId);
-            recommendation.setSpecializationArea(specialization);
-            recommendation.setCompatibilityPercentage(BigDecimal.valueOf(aiRec.getCompatibilityPercentage()));
-
-            savedRecommendations.add(specializationRecommendationRepository.save(recommendation));
+            recommendation.setSpecializationArea(specializationsById.get(candidate.id()));
+            recommendation.setCompatibilityPercentage(BigDecimal.valueOf(candidate.compatibilityPercentage()));
+            recommendations.add(recommendation);
         }
 
-        // 7. Construir respuesta
-        List<SpecializationRecommendationResponse> responses = savedRecommendations.stream()
-                .map(SpecializationMapper::toRecommendationResponse)
-                .collect(Collectors.toList());
-
-        // 8. Guardar en caché
-        cache.put(userId, new CachedSpecializationRecommendations(responses));
-
-        log.info("Successfully generated and saved {} specialization recommendations for user {}", responses.size(), userId);
-        return responses;
+        return recommendations;
     }
 
     private List<SpecializationRecommendationResult> generateSpecializationRecommendations(
-            Map<String, Object> personalityResults,
-            Map<String, Object> vocationalResults,
-            Map<String, Object> cognitiveResults,
+            UserProfile profile,
             Map<String, Integer> userSkills,
-            List<SpecializationInfo> availableSpecializations) {
+            List<GroqService.SpecializationInfo> availableSpecializations) {
 
         log.info("Calling Groq AI for {} specializations", availableSpecializations.size());
 
         String prompt = buildSpecializationPrompt(
-                personalityResults,
-                vocationalResults,
-                cognitiveResults,
+                profile,
                 userSkills,
                 availableSpecializations
         );
@@ -165,25 +243,24 @@ public class SpecializationServiceImpl implements SpecializationService {
                     "Eres un consejero académico experto que analiza perfiles de estudiantes para recomendar " +
                             "especializaciones académicas. Debes considerar los resultados de tests vocacionales, " +
                             "habilidades actuales del estudiante y las características de cada especialización. " +
-                            "IMPORTANTE: Debes devolver SOLO un JSON válido sin texto adicional."
+                            "IMPORTANTE: Debes devolver SOLO un JSON válido sin texto adicional.",
+                    GroqService.OPERATION_SPECIALIZATION_RECOMMENDATIONS,
+                    profile.getUserId()
             );
 
-            Map<String, Object> jsonResponse = objectMapper.readValue(response, Map.class);
-
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> recommendations = (List<Map<String, Object>>) jsonResponse.get("recommendations");
-
             List<SpecializationRecommendationResult> result = new ArrayList<>();
-            for (Map<String, Object> rec : recommendations) {
+            for (GroqResponseParser.RecommendationItem item : groqResponseParser.parseRecommendations(response, "specializationId")) {
                 SpecializationRecommendationResult recommendation = new SpecializationRecommendationResult();
-                recommendation.setSpecializationId(((Number) rec.get("specializationId")).intValue());
-                recommendation.setCompatibilityPercentage(((Number) rec.get("compatibilityPercentage")).doubleValue());
-                recommendation.setReason((String) rec.get("reason"));
+                recommendation.setSpecializationId(item.id());
+                recommendation.setCompatibilityPercentage(item.compatibilityPercentage());
+                recommendation.setReason(item.reason());
                 result.add(recommendation);
             }
 
             return result;
 
+        } catch (CallNotPermittedException | TokenBudgetExceededException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error parsing Groq AI response for specializations", e);
             throw new RuntimeException("Failed to parse specialization recommendations", e);
@@ -191,57 +268,12 @@ public class SpecializationServiceImpl implements SpecializationService {
     }
 
     private String buildSpecializationPrompt(
-            Map<String, Object> personalityResults,
-            Map<String, Object> vocationalResults,
-            Map<String, Object> cognitiveResults,
+            UserProfile profile,
             Map<String, Integer> userSkills,
-            List<SpecializationInfo> availableSpecializations) {
+            List<GroqService.SpecializationInfo> availableSpecializations) {
 
         StringBuilder prompt = new StringBuilder();
-        prompt.append("# PERFIL DEL ESTUDIANTE\n\n");
-
-        if (personalityResults != null && !personalityResults.isEmpty()) {
-            prompt.append("## 1. Test de Personalidad (Modelo RIASEC):\n");
-            @SuppressWarnings("unchecked")
-            Map<String, Object> dimensions = (Map<String, Object>) personalityResults.get("dimensions");
-            if (dimensions != null) {
-                dimensions.forEach((category, score) ->
-                        prompt.append(String.format("- %s: %.1f%%\n", category, ((Number) score).doubleValue()))
-                );
-            }
-            prompt.append("\n");
-        }
-
-        if (vocationalResults != null && !vocationalResults.isEmpty()) {
-            prompt.append("## 2. Test de Intereses Vocacionales:\n");
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> topAreas = (List<Map<String, Object>>) vocationalResults.get("topAreas");
-            if (topAreas != null) {
-                for (Map<String, Object> area : topAreas) {
-                    prompt.append(String.format("- %s: %.1f%%\n",
-                            area.get("area"),
-                            ((Number) area.get("percentage")).doubleValue()));
-                }
-            }
-            prompt.append("\n");
-        }
-
-        if (cognitiveResults != null && !cognitiveResults.isEmpty()) {
-            prompt.append("## 3. Test de Habilidades Cognitivas:\n");
-            @SuppressWarnings("unchecked")
-            Map<String, Object> cognitiveAreas = (Map<String, Object>) cognitiveResults.get("cognitiveAreas");
-            if (cognitiveAreas != null) {
-                cognitiveAreas.forEach((area, data) -> {
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> areaData = (Map<String, Object>) data;
-                    prompt.append(String.format("- %s: %.1f%% (Nivel: %s)\n",
-                            area,
-                            ((Number) areaData.get("score")).doubleValue(),
-                            areaData.get("level")));
-                });
-            }
-            prompt.append("\n");
-        }
+        prompt.append(groqService.buildStudentProfileSection(profile));
 
         if (!userSkills.isEmpty()) {
             prompt.append("## 4. Habilidades Actuales del Estudiante:\n");
@@ -252,23 +284,7 @@ public class SpecializationServiceImpl implements SpecializationService {
         }
 
         prompt.append("# ESPECIALIZACIONES ACADÉMICAS DISPONIBLES\n\n");
-        for (SpecializationInfo spec : availableSpecializations) {
-            prompt.append(String.format("- **ID:** %d | **Nombre:** %s | **Carrera:** %s\n",
-                    spec.getId(),
-                    spec.getName(),
-                    spec.getCareerName()
-            ));
-            if (spec.getDescription() != null && !spec.getDescription().isEmpty()) {
-                prompt.append(String.format("  Descripción: %s\n", spec.getDescription()));
-            }
-            if (spec.getApplicationFields() != null && !spec.getApplicationFields().isEmpty()) {
-                prompt.append(String.format("  Campos de aplicación: %s\n", spec.getApplicationFields()));
-            }
-            if (spec.getJobProjection() != null && !spec.getJobProjection().isEmpty()) {
-                prompt.append(String.format("  Proyección laboral: %s\n", spec.getJobProjection()));
-            }
-            prompt.append("\n");
-        }
+        prompt.append(catalogPromptEncoder.encodeSpecializations(availableSpecializations));
 
         prompt.append("# INSTRUCCIONES\n\n");
         prompt.append("1. Analiza la compatibilidad entre el perfil del estudiante y cada especialización disponible\n");
@@ -301,52 +317,63 @@ public class SpecializationServiceImpl implements SpecializationService {
         return prompt.toString();
     }
 
-    private Map<String, Object> getTestResults(Integer userId, String testTypeName) {
-        List<CompletedEvaluation> evaluations = completedEvaluationRepository.findByUserIdOrderByCompletionDateDesc(userId);
-
-        Optional<CompletedEvaluation> relevantEvaluation = evaluations.stream()
-                .filter(e -> testTypeName.equals(e.getTest().getTestType().getName()))
-                .findFirst();
-
-        if (relevantEvaluation.isEmpty()) {
-            log.debug("User {} has not completed {} test", userId, testTypeName);
-            return Collections.emptyMap();
+    @Override
+    public Versioned<SpecializationDetailResponse> getSpecializationDetails(Integer specializationId) {
+        Versioned<SpecializationDetailResponse> cached = detailCache.get(specializationId);
+        if (cached != null) {
+            return cached;
         }
 
-        CompletedEvaluation evaluation = relevantEvaluation.get();
-        if (evaluation.getEvaluationResult() == null) {
-            log.warn("No result found for evaluation {}", evaluation.getId());
-            return Collections.emptyMap();
-        }
+        long generation = detailGeneration.get();
+        SpecializationArea specialization = specializationAreaRepository.findById(specializationId)
+                .orElseThrow(() -> new EntityNotFoundException("Specialization area not found"));
 
-        try {
-            String jsonResult = evaluation.getEvaluationResult().getResultJson();
-            return objectMapper.readValue(jsonResult, Map.class);
-        } catch (Exception e) {
-            log.error("Error parsing {} test results for user {}", testTypeName, userId, e);
-            return Collections.emptyMap();
+        SpecializationDetailResponse detail = SpecializationMapper.toDetailResponse(specialization);
+        Versioned<SpecializationDetailResponse> versioned = new Versioned<>(detail, contentETags.of(detail));
+
+        // Si el catálogo cambió durante la lectura, no se guarda una versión que ya puede ser antigua
+        if (detailGeneration.get() == generation) {
+            detailCache.put(specializationId, versioned, detailTtl);
         }
+        return versioned;
     }
 
+    /**
+     * Sin transacción a propósito: las búsquedas en Reddit pueden tardar hasta social.reddit.deadline
+     * y no deben retener una conexión a la base de datos.
+     */
     @Override
-    @Transactional(readOnly = true)
-    public SpecializationDetailResponse getSpecializationDetails(Integer specializationId) {
-        SpecializationArea specialization = specializationAreaRepository.findById(specializationId)
-                .orElseThrow(() -> new EntityNotFoundException("Specialization area not found"));
+    public Versioned<Object> getSpecializationSocialData(Integer specializationId) {
+        String specializationName = getSpecializationDetails(specializationId).body().getName();
+        Object socialMediaData = socialMediaApiService.getSpecializationInformation(specializationName);
 
-        Object socialMediaData = socialMediaApiService.getSpecializationInformation(specialization.getName());
+        return new Versioned<>(socialMediaData, contentETags.of(socialMediaData));
+    }
 
-        return SpecializationMapper.toDetailResponse(specialization, socialMediaData);
+    // El detalle incluye el nombre de la carrera, así que un cambio en carreras también lo invalida
+    @TransactionalEventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        detailGeneration.incrementAndGet();
+        if (event.catalog() == CatalogChangedEvent.Catalog.SPECIALIZATIONS) {
+            event.ids().forEach(detailCache::remove);
+        } else {
+            detailCache.clear();
+        }
     }
 
+    // Sin transacción: se sirve desde SpecializationCatalogCache, que sólo consulta la BD en un fallo de caché
     @Override
-    @Transactional(readOnly = true)
-    public List<SpecializationAreaResponse> getAllSpecializations() {
-        List<SpecializationAreaResponse> specializations = specializationAreaRepository.findAll().stream()
-                .map(AdminMapper::toSpecializationResponse)
-                .collect(Collectors.toList());
+    public Versioned<List<SpecializationAreaResponse>> getAllSpecializations(Integer careerId, int page, int pageSize) {
+        log.debug("Fetching specializations with pagination: careerId={}, page={}, pageSize={}", careerId, page, pageSize);
+
+        if (page < 0 || pageSize <= 0) {
+            throw new IllegalArgumentException("Page must be >= 0 and pageSize must be > 0");
+        }
+
+        Versioned<List<SpecializationAreaResponse>> specializations =
+                specializationCatalogCache.getPage(careerId, page, pageSize);
 
-        if (specializations.isEmpty()) {
+        if (specializations.body().isEmpty() && page == 0 && careerId == null) {
             throw new IllegalArgumentException("No hay especializaciones disponibles en el sistema");
         }
 
@@ -354,12 +381,9 @@ public class SpecializationServiceImpl implements SpecializationService {
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public SpecializationAreaResponse getSpecializationById(Integer specializationId) {
-        SpecializationArea specialization = specializationAreaRepository.findById(specializationId)
+    public Versioned<SpecializationAreaResponse> getSpecializationById(Integer specializationId) {
+        return specializationCatalogCache.getById(specializationId)
                 .orElseThrow(() -> new EntityNotFoundException("The requested specialization area has not been found"));
-
-        return AdminMapper.toSpecializationResponse(specialization);
     }
 
     @Override
@@ -370,6 +394,7 @@ public class SpecializationServiceImpl implements SpecializationService {
 
         SpecializationArea specialization = AdminMapper.toSpecializationEntity(request, career);
         SpecializationArea saved = specializationAreaRepository.save(specialization);
+        eventPublisher.publishEvent(CatalogChangedEvent.specializations(saved.getId()));
         return AdminMapper.toSpecializationResponse(saved);
     }
 
@@ -384,9 +409,20 @@ public class SpecializationServiceImpl implements SpecializationService {
 
         AdminMapper.copyToSpecializationEntity(request, specialization, career);
         SpecializationArea saved = specializationAreaRepository.save(specialization);
+        eventPublisher.publishEvent(CatalogChangedEvent.specializations(saved.getId()));
         return AdminMapper.toSpecializationResponse(saved);
     }
 
+    /**
+     * Descarta la caché de los usuarios cuyas recomendaciones se recalcularon tras un cambio de catálogo.
+     */
+    @EventListener
+    public void onRecommendationsRecomputed(RecommendationsRecomputedEvent event) {
+        if (event.catalog() == CatalogChangedEvent.Catalog.SPECIALIZATIONS) {
+            event.userIds().forEach(cache::remove);
+        }
+    }
+
     // Clases internas
     private static class CachedSpecializationRecommendations {
         private final List<SpecializationRecommendationResponse> recommendations;
@@ -406,32 +442,6 @@ public class SpecializationServiceImpl implements SpecializationService {
         }
     }
 
-    private static class SpecializationInfo {
-        private Integer id;
-        private String name;
-        private String description;
-        private String applicationFields;
-        private String jobProjection;
-        private String careerName;
-
-        public SpecializationInfo(Integer id, String name, String description,
-                                  String applicationFields, String jobProjection, String careerName) {
-            this.id = id;
-            this.name = name;
-            this.description = description;
-            this.applicationFields = applicationFields;
-            this.jobProjection = jobProjection;
-            this.careerName = careerName;
-        }
-
-        public Integer getId() { return id; }
-        public String getName() { return name; }
-        public String getDescription() { return description; }
-        public String getApplicationFields() { return applicationFields; }
-        public String getJobProjection() { return jobProjection; }
-        public String getCareerName() { return careerName; }
-    }
-
     private static class SpecializationRecommendationResult {
         private Integer specializationId;
         private Double compatibilityPercentage;
@@ -1,9 +1,8 @@
 package compass.career.evaluationsapi.service;
 
-import compass.career.evaluationsapi.dto.CreateTestRequest;
-import compass.career.evaluationsapi.dto.TestListResponse;
-import compass.career.evaluationsapi.dto.TestResponse;
+import compass.career.evaluationsapi.dto.*;
 
+import java.io.InputStream;
 import java.util.List;
 
 public interface TestService {
@@ -11,4 +10,5 @@ public interface TestService {
     TestResponse getTestDetails(Integer testId);
     TestResponse createTest(CreateTestRequest request);
     TestResponse updateTest(Integer testId, CreateTestRequest request);
+    TestImportResponse importTest(TestImportRequest request, String contentType, InputStream body);
 }
\ No newline at end of file
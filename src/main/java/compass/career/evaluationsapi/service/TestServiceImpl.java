@@ -1,24 +1,26 @@
 package compass.career.evaluationsapi.service;
 
-import compass.career.evaluationsapi.dto.CreateTestRequest;
-import compass.career.evaluationsapi.dto.TestListResponse;
-import compass.career.evaluationsapi.dto.TestResponse;
+import compass.career.evaluationsapi.dto.*;
 import compass.career.evaluationsapi.mapper.AdminMapper;
 import compass.career.evaluationsapi.mapper.TestMapper;
 import compass.career.evaluationsapi.model.Question;
 import compass.career.evaluationsapi.model.Test;
 import compass.career.evaluationsapi.model.TestType;
+import compass.career.evaluationsapi.repository.QuestionBatchRepository;
 import compass.career.evaluationsapi.repository.QuestionRepository;
 import compass.career.evaluationsapi.repository.TestRepository;
 import compass.career.evaluationsapi.repository.TestTypeRepository;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.Optional;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,11 +31,25 @@ public class TestServiceImpl implements TestService {
     private final TestRepository testRepository;
     private final TestTypeRepository testTypeRepository;
     private final QuestionRepository questionRepository;
+    private final QuestionBatchRepository questionBatchRepository;
+    private final QuestionBankReader questionBankReader;
+    private final Validator validator;
+
+    // Preguntas por lote de INSERT en la importación en streaming
+    @Value("${tests.import.batch-size:500}")
+    private int importBatchSize;
+
+    @Value("${tests.import.max-questions:200000}")
+    private int importMaxQuestions;
+
+    // Errores por pregunta que se incluyen en la respuesta de una importación rechazada
+    @Value("${tests.import.max-reported-errors:20}")
+    private int importMaxReportedErrors;
 
     @Override
     @Transactional(readOnly = true)
     public List<TestListResponse> getAllTests() {
-        List<TestListResponse> tests = testRepository.findAll().stream()
+        List<TestListResponse> tests = testRepository.findAllListViews().stream()
                 .map(AdminMapper::toTestListResponse)
                 .collect(Collectors.toList());
 
@@ -71,23 +87,7 @@ public class TestServiceImpl implements TestService {
         // ========================================
         // ✅ NUEVA VALIDACIÓN: Un solo test activo por tipo
         // ========================================
-        Optional<Test> existingActiveTest = testRepository.findByTestTypeIdAndActiveTrue(testType.getId());
-
-        if (existingActiveTest.isPresent()) {
-            Test existing = existingActiveTest.get();
-            String testTypeName = getTestTypeDisplayName(testType.getName());
-
-            throw new IllegalStateException(
-                    String.format(
-                            "A test of type '%s' already exists (ID: %d, Name: '%s'). " +
-                                    "Only one active test per type is allowed. " +
-                                    "Please deactivate or update the existing test instead of creating a new one.",
-                            testTypeName,
-                            existing.getId(),
-                            existing.getName()
-                    )
-            );
-        }
+        assertNoActiveTestOfType(testType);
 
         log.info("Creating new test of type: {} - {}", testType.getName(), request.getName());
 
@@ -166,6 +166,154 @@ public class TestServiceImpl implements TestService {
         return TestMapper.toResponse(saved);
     }
 
+    /**
+     * Crea el test y sus preguntas leyendo el cuerpo pieza a pieza (NDJSON o CSV, con o sin gzip) y
+     * escribiendo por lotes de tests.import.batch-size con JDBC. Se validan todas las preguntas; si
+     * alguna no es válida, o no llegan a 100, se revierte la importación completa y se informan los
+     * primeros errores con su línea.
+     */
+    @Override
+    @Transactional
+    public TestImportResponse importTest(TestImportRequest request, String contentType, InputStream body) {
+        QuestionBankReader.Format format = QuestionBankReader.Format.fromContentType(contentType);
+        long start = System.nanoTime();
+
+        TestType testType = testTypeRepository.findById(request.getTestTypeId())
+                .orElseThrow(() -> new EntityNotFoundException("The test type has not been found"));
+        assertNoActiveTestOfType(testType);
+
+        Test test = new Test();
+        test.setTestType(testType);
+        test.setName(request.getName());
+        test.setDescription(request.getDescription());
+        test.setQuestionsToShow(request.getQuestionsToShow());
+        test.setActive(true);
+        Test saved = testRepository.save(test);
+
+        log.info("Importing {} question bank for new test of type: {} - {}", format, testType.getName(), request.getName());
+
+        List<QuestionRequest> batch = new ArrayList<>(importBatchSize);
+        Set<Integer> orderNumbers = new HashSet<>();
+        List<String> errors = new ArrayList<>();
+        int invalid = 0;
+        int questions = 0;
+        int options = 0;
+        int batches = 0;
+        boolean compressed;
+
+        try (QuestionBankReader.Source source = questionBankReader.open(body, format)) {
+            QuestionBankReader.Item item;
+            while ((item = source.next()) != null) {
+                String error = item.error() != null ? item.error() : validateQuestion(item.question(), orderNumbers);
+                if (error != null) {
+                    invalid++;
+                    if (errors.size() < importMaxReportedErrors) {
+                        errors.add("line " + item.line() + ": " + error);
+                    }
+                    continue;
+                }
+
+                if (++questions > importMaxQuestions) {
+                    throw new IllegalArgumentException("A test cannot have more than " + importMaxQuestions + " questions");
+                }
+                // Tras el primer error ya no se escribe: la importación se revertirá, sólo se siguen validando
+                if (invalid > 0) {
+                    continue;
+                }
+
+                batch.add(item.question());
+                if (batch.size() >= importBatchSize) {
+                    options += questionBatchRepository.insertAll(saved.getId(), batch);
+                    batches++;
+                    batch.clear();
+                }
+            }
+            compressed = source.compressed();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("The import body could not be read: " + e.getMessage(), e);
+        }
+
+        if (invalid > 0) {
+            throw new IllegalArgumentException(String.format("%d invalid questions, nothing was imported. %s",
+                    invalid, String.join("; ", errors)));
+        }
+        if (questions < 100) {
+            throw new IllegalArgumentException("Test must have at least 100 questions");
+        }
+
+        if (!batch.isEmpty()) {
+            options += questionBatchRepository.insertAll(saved.getId(), batch);
+            batches++;
+        }
+
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("Test imported successfully - ID: {}, Type: {}, Questions: {}, Options: {}, Batches: {}, {} ms",
+                saved.getId(), testType.getName(), questions, options, batches, durationMs);
+
+        return TestImportResponse.builder()
+                .testId(saved.getId())
+                .name(saved.getName())
+                .testType(testType.getName())
+                .format(format.name())
+                .compressed(compressed)
+                .questionsImported(questions)
+                .optionsImported(options)
+                .batches(batches)
+                .durationMs(durationMs)
+                .build();
+    }
+
+    /**
+     * Restricciones de QuestionRequest y de cada opción, y orderNumber único dentro del test.
+     *
+     * @return la descripción de los problemas, o null si la pregunta es válida
+     */
+    private String validateQuestion(QuestionRequest question, Set<Integer> orderNumbers) {
+        List<String> problems = new ArrayList<>();
+        validator.validate(question).forEach(v -> problems.add(v.getPropertyPath() + " " + v.getMessage()));
+
+        if (question.getOptions() != null) {
+            for (int i = 0; i < question.getOptions().size(); i++) {
+                AnswerOptionRequest option = question.getOptions().get(i);
+                if (option == null) {
+                    problems.add("options[" + i + "] must not be null");
+                    continue;
+                }
+                int index = i;
+                validator.validate(option).forEach(v ->
+                        problems.add("options[" + index + "]." + v.getPropertyPath() + " " + v.getMessage()));
+            }
+        }
+
+        if (problems.isEmpty() && !orderNumbers.add(question.getOrderNumber())) {
+            problems.add("orderNumber " + question.getOrderNumber() + " is duplicated");
+        }
+        return problems.isEmpty() ? null : String.join(", ", problems);
+    }
+
+    /**
+     * Un solo test activo por tipo
+     */
+    private void assertNoActiveTestOfType(TestType testType) {
+        Optional<Test> existingActiveTest = testRepository.findByTestTypeIdAndActiveTrue(testType.getId());
+
+        if (existingActiveTest.isPresent()) {
+            Test existing = existingActiveTest.get();
+            String testTypeName = getTestTypeDisplayName(testType.getName());
+
+            throw new IllegalStateException(
+                    String.format(
+                            "A test of type '%s' already exists (ID: %d, Name: '%s'). " +
+                                    "Only one active test per type is allowed. " +
+                                    "Please deactivate or update the existing test instead of creating a new one.",
+                            testTypeName,
+                            existing.getId(),
+                            existing.getName()
+                    )
+            );
+        }
+    }
+
     /**
      * Convierte el nombre técnico del tipo de test a un nombre legible
      */
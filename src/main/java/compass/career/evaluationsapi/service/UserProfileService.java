@@ -0,0 +1,14 @@
+package compass.career.evaluationsapi.service;
+
+import compass.career.evaluationsapi.model.UserProfile;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+public interface UserProfileService {
+    void updatePersonality(Integer userId, Map<String, Double> dimensions);
+    void updateVocationalInterests(Integer userId, List<Map.Entry<String, BigDecimal>> topAreas);
+    void updateCognitiveSkills(Integer userId, Map<String, BigDecimal> areaScores);
+    UserProfile getProfile(Integer userId);
+}
@@ -0,0 +1,178 @@
+package compass.career.evaluationsapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import compass.career.evaluationsapi.model.UserProfile;
+import compass.career.evaluationsapi.repository.CompletedEvaluationRepository;
+import compass.career.evaluationsapi.repository.UserProfileRepository;
+import compass.career.evaluationsapi.repository.projection.LatestEvaluationResultView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserProfileServiceImpl implements UserProfileService {
+
+    private final UserProfileRepository userProfileRepository;
+    private final CompletedEvaluationRepository completedEvaluationRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional
+    public void updatePersonality(Integer userId, Map<String, Double> dimensions) {
+        UserProfile profile = lockOrCreate(userId);
+        applyPersonality(profile, dimensions);
+        save(profile);
+    }
+
+    @Override
+    @Transactional
+    public void updateVocationalInterests(Integer userId, List<Map.Entry<String, BigDecimal>> topAreas) {
+        UserProfile profile = lockOrCreate(userId);
+        profile.setVocationalAreas(topAreas.stream().map(Map.Entry::getKey).toArray(String[]::new));
+        profile.setVocationalPercentages(topAreas.stream().map(e -> e.getValue().doubleValue()).toArray(Double[]::new));
+        save(profile);
+    }
+
+    @Override
+    @Transactional
+    public void updateCognitiveSkills(Integer userId, Map<String, BigDecimal> areaScores) {
+        UserProfile profile = lockOrCreate(userId);
+        Map<String, Double> scores = new HashMap<>();
+        areaScores.forEach((area, score) -> scores.put(area, score.doubleValue()));
+        applyCognitiveSkills(profile, scores);
+        save(profile);
+    }
+
+    /**
+     * Devuelve el perfil del usuario. Los usuarios que completaron evaluaciones antes de que
+     * existiera user_profiles no tienen fila: se reconstruye una vez a partir de result_json.
+     */
+    @Override
+    @Transactional
+    public UserProfile getProfile(Integer userId) {
+        return userProfileRepository.findById(userId)
+                .orElseGet(() -> backfillFromResults(userId));
+    }
+
+    private UserProfile backfillFromResults(Integer userId) {
+        UserProfile profile = newProfile(userId);
+
+        for (LatestEvaluationResultView latest : completedEvaluationRepository.findLatestResultsByUserId(userId)) {
+            if (latest.getResultJson() == null) {
+                log.warn("No result found for evaluation {}", latest.getEvaluationId());
+                continue;
+            }
+
+            try {
+                Map<String, Object> result = objectMapper.readValue(latest.getResultJson(), Map.class);
+                switch (latest.getTestType()) {
+                    case "personality" -> applyPersonality(profile, toDoubleMap(result.get("dimensions")));
+                    case "vocational_interests" -> applyVocationalResult(profile, result.get("topAreas"));
+                    case "cognitive_skills" -> applyCognitiveResult(profile, result.get("cognitiveAreas"));
+                    default -> log.debug("Ignoring unknown test type {} for user {}", latest.getTestType(), userId);
+                }
+            } catch (Exception e) {
+                log.error("Error parsing {} test results for user {}", latest.getTestType(), userId, e);
+            }
+        }
+
+        if (profile.isEmpty()) {
+            return profile;
+        }
+
+        // Si un envío creó la fila mientras tanto, su versión es más reciente que la reconstruida
+        if (userProfileRepository.insertIfMissing(userId) == 0) {
+            return userProfileRepository.findById(userId).orElse(profile);
+        }
+
+        log.info("Backfilled profile row for user {}", userId);
+        return save(profile);
+    }
+
+    private void applyPersonality(UserProfile profile, Map<String, Double> dimensions) {
+        profile.setOpenness(dimensions.get("openness"));
+        profile.setConscientiousness(dimensions.get("conscientiousness"));
+        profile.setExtraversion(dimensions.get("extraversion"));
+        profile.setAgreeableness(dimensions.get("agreeableness"));
+        profile.setNeuroticism(dimensions.get("neuroticism"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void applyVocationalResult(UserProfile profile, Object topAreas) {
+        if (!(topAreas instanceof List<?> areas)) {
+            return;
+        }
+
+        List<String> names = new ArrayList<>();
+        List<Double> percentages = new ArrayList<>();
+        for (Object item : areas) {
+            Map<String, Object> area = (Map<String, Object>) item;
+            names.add((String) area.get("area"));
+            percentages.add(((Number) area.get("percentage")).doubleValue());
+        }
+
+        profile.setVocationalAreas(names.toArray(String[]::new));
+        profile.setVocationalPercentages(percentages.toArray(Double[]::new));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void applyCognitiveResult(UserProfile profile, Object cognitiveAreas) {
+        if (!(cognitiveAreas instanceof Map<?, ?> areas)) {
+            return;
+        }
+
+        Map<String, Double> scores = new HashMap<>();
+        areas.forEach((area, data) ->
+                scores.put((String) area, ((Number) ((Map<String, Object>) data).get("score")).doubleValue()));
+        applyCognitiveSkills(profile, scores);
+    }
+
+    private void applyCognitiveSkills(UserProfile profile, Map<String, Double> scores) {
+        List<Map.Entry<String, Double>> sorted = scores.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                .toList();
+
+        profile.setCognitiveAreas(sorted.stream().map(Map.Entry::getKey).toArray(String[]::new));
+        profile.setCognitiveScores(sorted.stream().map(Map.Entry::getValue).toArray(Double[]::new));
+    }
+
+    private Map<String, Double> toDoubleMap(Object value) {
+        Map<String, Double> result = new HashMap<>();
+        if (value instanceof Map<?, ?> map) {
+            map.forEach((k, v) -> {
+                if (v instanceof Number number) {
+                    result.put((String) k, number.doubleValue());
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Fila del usuario bloqueada hasta el fin de la transacción. Se inserta con ON CONFLICT en lugar
+     * de buscar y crear, para que dos primeros envíos simultáneos no choquen con la clave primaria.
+     */
+    private UserProfile lockOrCreate(Integer userId) {
+        userProfileRepository.insertIfMissing(userId);
+        return userProfileRepository.findForUpdate(userId)
+                .orElseThrow(() -> new IllegalStateException("Profile row missing for user " + userId));
+    }
+
+    private UserProfile newProfile(Integer userId) {
+        UserProfile profile = new UserProfile();
+        profile.setUserId(userId);
+        return profile;
+    }
+
+    private UserProfile save(UserProfile profile) {
+        profile.setUpdatedAt(LocalDateTime.now());
+        return userProfileRepository.save(profile);
+    }
+}
@@ -0,0 +1,3 @@
+-- Versión del catálogo de carreras con la que se generó cada recomendación (ver CatalogVersion).
+-- Las filas anteriores quedan en NULL y nunca se reutilizan para otros usuarios.
+ALTER TABLE career_recommendations ADD COLUMN IF NOT EXISTS catalog_version VARCHAR(32);
@@ -0,0 +1,9 @@
+-- Índice para la última evaluación de cada test de un usuario (ver
+-- CompletedEvaluationRepository.findLatestResultsByUserId). Sólo sirve al filtro por user_id: la
+-- consulta agrupa por test_types.name, que está en otra tabla, así que PostgreSQL ordena en memoria
+-- las pocas filas del usuario. Las demás columnas siguen el desempate de la consulta
+-- (completion_date DESC NULLS LAST, id DESC) para que el orden dentro de cada test ya venga del índice.
+CREATE INDEX IF NOT EXISTS idx_completed_evaluations_user_test_date_id
+    ON completed_evaluations (user_id, test_id, completion_date DESC NULLS LAST, id DESC);
+-- Versión anterior sin id; se elimina después de crear la nueva
+DROP INDEX IF EXISTS idx_completed_evaluations_user_test_date;
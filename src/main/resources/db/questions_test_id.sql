@@ -0,0 +1,3 @@
+-- Índice para agrupar y filtrar preguntas por test (ver TestRepository.findAllListViews y
+-- QuestionRepository.findByTestIdAndActiveTrue); PostgreSQL no indexa las claves foráneas.
+CREATE INDEX IF NOT EXISTS idx_questions_test_id_active ON questions (test_id, active);
@@ -0,0 +1,23 @@
+-- Checkpoints del refresco masivo de recomendaciones (ver RecommendationRefreshJob).
+CREATE TABLE IF NOT EXISTS recommendation_refresh_jobs (
+    id                       BIGSERIAL PRIMARY KEY,
+    status                   VARCHAR(20) NOT NULL,
+    include_specializations  BOOLEAN NOT NULL DEFAULT FALSE,
+    last_user_id             INTEGER,
+    completed_after_cursor   INTEGER[],
+    processed_count          INTEGER NOT NULL DEFAULT 0,
+    failed_count             INTEGER NOT NULL DEFAULT 0,
+    skipped_count            INTEGER NOT NULL DEFAULT 0,
+    tokens_used              BIGINT NOT NULL DEFAULT 0,
+    token_budget             BIGINT NOT NULL,
+    message                  VARCHAR(500),
+    started_at               TIMESTAMP NOT NULL,
+    updated_at               TIMESTAMP NOT NULL,
+    finished_at              TIMESTAMP
+);
+
+-- Tablas creadas antes de completed_after_cursor
+ALTER TABLE recommendation_refresh_jobs ADD COLUMN IF NOT EXISTS completed_after_cursor INTEGER[];
+
+-- Cursor del job: usuarios con evaluaciones recorridos en orden de id
+CREATE INDEX IF NOT EXISTS idx_completed_evaluations_user_id ON completed_evaluations (user_id);
@@ -0,0 +1,6 @@
+-- Leases de tareas programadas que deben ejecutarse en un solo nodo (ver SchedulerLockService).
+CREATE TABLE IF NOT EXISTS scheduler_locks (
+    lock_name     VARCHAR(100) PRIMARY KEY,
+    locked_by     VARCHAR(200),
+    locked_until  TIMESTAMP WITH TIME ZONE NOT NULL
+);
@@ -0,0 +1,6 @@
+-- Caché persistente (L2) de búsquedas en Reddit (ver SocialDataCache).
+CREATE TABLE IF NOT EXISTS social_data_cache (
+    cache_key   VARCHAR(500) PRIMARY KEY,
+    payload     TEXT NOT NULL,
+    fetched_at  TIMESTAMP WITH TIME ZONE NOT NULL
+);
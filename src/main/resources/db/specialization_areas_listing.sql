@@ -0,0 +1,4 @@
+-- Índices del listado paginado de especializaciones (ver SpecializationAreaRepository.findAllViews):
+-- orden por nombre del catálogo completo y filtrado por carrera con el mismo orden.
+CREATE INDEX IF NOT EXISTS idx_specialization_areas_name ON specialization_areas (name, id);
+CREATE INDEX IF NOT EXISTS idx_specialization_areas_career_name ON specialization_areas (career_id, name, id);
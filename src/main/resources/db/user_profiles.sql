@@ -0,0 +1,18 @@
+-- Perfil desnormalizado por usuario (ver UserProfile). spring.jpa.hibernate.ddl-auto=none,
+-- por lo que esta tabla debe crearse manualmente en cada entorno.
+-- Las áreas van en arreglos paralelos (nombre y valor en la misma posición) y no en columnas fijas:
+-- las vocacionales salen de la tabla vocational_areas y las cognitivas de answer_options.category,
+-- ambas editables por un administrador, y el orden del arreglo conserva el ranking del resultado.
+CREATE TABLE IF NOT EXISTS user_profiles (
+    user_id                 INTEGER PRIMARY KEY,
+    openness                DOUBLE PRECISION,
+    conscientiousness       DOUBLE PRECISION,
+    extraversion            DOUBLE PRECISION,
+    agreeableness           DOUBLE PRECISION,
+    neuroticism             DOUBLE PRECISION,
+    vocational_areas        TEXT[],
+    vocational_percentages  DOUBLE PRECISION[],
+    cognitive_areas         TEXT[],
+    cognitive_scores        DOUBLE PRECISION[],
+    updated_at              TIMESTAMP NOT NULL DEFAULT now()
+);
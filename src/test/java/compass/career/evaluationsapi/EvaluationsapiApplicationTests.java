@@ -3,7 +3,18 @@ package compass.career.evaluationsapi;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// Valores de prueba para las variables de entorno; Hibernate no consulta la BD al arrancar
+@SpringBootTest(properties = {
+		"DATABASE_URL=jdbc:postgresql://localhost:5432/evaluations",
+		"DATABASE_USERNAME=test",
+		"DATABASE_PASSWORD=test",
+		"JWT_SECRET_KEY=dGVzdC1zZWNyZXQta2V5LWZvci1jb250ZXh0LWxvYWRzLTEyMzQ1Ng==",
+		"GROQ_API_KEY=test",
+		"AZURE_COGNITIVE_ENDPOINT=http://localhost",
+		"AZURE_COGNITIVE_API_KEY=test",
+		"spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false",
+		"eureka.client.enabled=false"
+})
 class EvaluationsapiApplicationTests {
 
 	@Test
@@ -0,0 +1,138 @@
+package compass.career.evaluationsapi.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+
+/**
+ * Comparación manual (no forma parte de la suite de tests) de bytes asignados y tiempo por llamada
+ * entre el parseo anterior del listing (Map completo + extracción) y RedditListingParser, sobre un
+ * listing sintético de 10 posts con selftext largo y los campos habituales de Reddit.
+ * Ejecutar desde el IDE o con: java -cp target/test-classes:target/classes:... RedditListingParserBenchmark
+ */
+public class RedditListingParserBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 5_000;
+    private static final int MEASURED_ITERATIONS = 20_000;
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        RedditListingParser parser = new RedditListingParser(objectMapper);
+        byte[] body = objectMapper.writeValueAsBytes(buildListing());
+
+        System.out.printf("Listing size: %,d bytes%n", body.length);
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            parseWithMaps(objectMapper, body);
+            parser.parse(new ByteArrayInputStream(body));
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long sink = 0;
+
+        long bytesBefore = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += parseWithMaps(objectMapper, body).size();
+        }
+        long mapsNanos = System.nanoTime() - start;
+        long mapsBytes = threads.getThreadAllocatedBytes(thread) - bytesBefore;
+
+        bytesBefore = threads.getThreadAllocatedBytes(thread);
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += parser.parse(new ByteArrayInputStream(body)).size();
+        }
+        long streamingNanos = System.nanoTime() - start;
+        long streamingBytes = threads.getThreadAllocatedBytes(thread) - bytesBefore;
+
+        System.out.printf("Map-based:  %,d bytes/op, %,d ns/op%n", mapsBytes / MEASURED_ITERATIONS, mapsNanos / MEASURED_ITERATIONS);
+        System.out.printf("Streaming:  %,d bytes/op, %,d ns/op%n", streamingBytes / MEASURED_ITERATIONS, streamingNanos / MEASURED_ITERATIONS);
+        System.out.printf("(checksum %d)%n", sink);
+    }
+
+    // Copia del camino anterior: listing completo a Map y extracción de los campos usados
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> parseWithMaps(ObjectMapper objectMapper, byte[] body) throws Exception {
+        Map<String, Object> redditResponse = objectMapper.readValue(body, Map.class);
+        Map<String, Object> data = (Map<String, Object>) redditResponse.get("data");
+        List<Map<String, Object>> children = (List<Map<String, Object>>) data.get("children");
+
+        List<Map<String, Object>> posts = new ArrayList<>();
+        int totalUpvotes = 0;
+        int totalComments = 0;
+        for (Map<String, Object> child : children) {
+            Map<String, Object> postData = (Map<String, Object>) child.get("data");
+
+            Map<String, Object> post = new HashMap<>();
+            post.put("title", postData.get("title"));
+            post.put("author", postData.get("author"));
+            post.put("score", postData.get("score"));
+            post.put("numComments", postData.get("num_comments"));
+            post.put("url", "https://reddit.com" + postData.get("permalink"));
+            post.put("subreddit", postData.get("subreddit"));
+            post.put("created", postData.get("created_utc"));
+
+            String selftext = (String) postData.get("selftext");
+            if (selftext != null && !selftext.isEmpty()) {
+                post.put("snippet", selftext.length() > 200 ? selftext.substring(0, 200) + "..." : selftext);
+            }
+            posts.add(post);
+
+            totalUpvotes += ((Number) postData.get("score")).intValue();
+            totalComments += ((Number) postData.get("num_comments")).intValue();
+        }
+
+        Map<String, Object> extracted = new HashMap<>();
+        extracted.put("posts", posts);
+        extracted.put("totalPosts", posts.size());
+        extracted.put("totalUpvotes", totalUpvotes);
+        extracted.put("totalComments", totalComments);
+        extracted.put("averageScore", posts.isEmpty() ? 0 : totalUpvotes / posts.size());
+        return extracted;
+    }
+
+    private static Map<String, Object> buildListing() {
+        String paragraph = "I have been working as a software engineer for five years and wanted to share what "
+                + "the day to day looks like, how interviews went and what I would tell students choosing a major. ";
+
+        List<Map<String, Object>> children = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Map<String, Object> post = new LinkedHashMap<>();
+            post.put("approved_at_utc", null);
+            post.put("subreddit", "cscareerquestions");
+            post.put("selftext", paragraph.repeat(20 + i * 5));
+            post.put("author_fullname", "t2_abc" + i);
+            post.put("title", "Is a computer science degree still worth it in 2025? (" + i + ")");
+            post.put("subreddit_name_prefixed", "r/cscareerquestions");
+            post.put("downs", 0);
+            post.put("upvote_ratio", 0.94);
+            post.put("ups", 120 + i);
+            post.put("thumbnail", "self");
+            post.put("link_flair_richtext", List.of(Map.of("e", "text", "t", "Experienced")));
+            post.put("selftext_html", "&lt;div class=\"md\"&gt;&lt;p&gt;" + paragraph.repeat(20 + i * 5) + "&lt;/p&gt;&lt;/div&gt;");
+            post.put("all_awardings", List.of());
+            post.put("preview", Map.of("images", List.of(Map.of("source", Map.of("url", "https://i.redd.it/x.png", "width", 640, "height", 480)))));
+            post.put("score", 120 + i);
+            post.put("author", "user_" + i);
+            post.put("num_comments", 45 + i);
+            post.put("permalink", "/r/cscareerquestions/comments/abc" + i + "/is_a_cs_degree_still_worth_it/");
+            post.put("url", "https://www.reddit.com/r/cscareerquestions/comments/abc" + i + "/");
+            post.put("created_utc", 1735689600.0 + i);
+            post.put("media", null);
+            post.put("is_video", false);
+            children.add(Map.of("kind", "t3", "data", post));
+        }
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("after", "t3_abc9");
+        data.put("dist", children.size());
+        data.put("modhash", "");
+        data.put("children", children);
+        data.put("before", null);
+        return Map.of("kind", "Listing", "data", data);
+    }
+}
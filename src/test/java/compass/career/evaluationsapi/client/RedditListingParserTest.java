@@ -0,0 +1,138 @@
+package compass.career.evaluationsapi.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RedditListingParserTest {
+
+    private final RedditListingParser parser = new RedditListingParser(new ObjectMapper());
+
+    @Test
+    void extractsTheDisplayedFieldsAndTotals() throws IOException {
+        String body = listing(
+                post("\"title\": \"Primer post\", \"author\": \"ana\", \"subreddit\": \"cscareers\", \"score\": 30,"
+                        + " \"num_comments\": 4, \"created_utc\": 1700000000.0, \"permalink\": \"/r/cscareers/1\","
+                        + " \"selftext\": \"Hola\""),
+                post("\"title\": \"Segundo\", \"score\": 11, \"num_comments\": 2"));
+
+        Map<String, Object> result = parser.parse(body);
+
+        assertThat(result)
+                .containsEntry("totalPosts", 2)
+                .containsEntry("totalUpvotes", 41)
+                .containsEntry("totalComments", 6)
+                .containsEntry("averageScore", 20);
+
+        Map<String, Object> first = posts(result).get(0);
+        assertThat(first)
+                .containsEntry("title", "Primer post")
+                .containsEntry("author", "ana")
+                .containsEntry("subreddit", "cscareers")
+                .containsEntry("url", "https://reddit.com/r/cscareers/1")
+                .containsEntry("snippet", "Hola")
+                .containsEntry("created", 1.7E9);
+        assertThat(((Number) first.get("score")).intValue()).isEqualTo(30);
+        assertThat(((Number) first.get("numComments")).intValue()).isEqualTo(4);
+    }
+
+    @Test
+    void skipsNestedFieldsAndSiblingsItDoesNotUse() throws IOException {
+        String body = "{\"kind\": \"Listing\", \"extra\": [1, {\"a\": [2]}], \"data\": {\"after\": \"t3_x\","
+                + " \"dist\": 1, \"children\": [{\"kind\": \"t3\", \"data\": {"
+                + "\"preview\": {\"images\": [{\"source\": {\"url\": \"x\"}}]},"
+                + " \"all_awardings\": [{\"name\": \"gold\"}], \"title\": \"Con anidados\", \"score\": 5}}],"
+                + " \"before\": null}}";
+
+        Map<String, Object> result = parser.parse(body);
+
+        assertThat(posts(result)).singleElement().satisfies(post -> assertThat(post)
+                .containsOnlyKeys("title", "score", "numComments")
+                .containsEntry("title", "Con anidados"));
+        assertThat(result).containsEntry("totalUpvotes", 5);
+    }
+
+    @Test
+    void truncatesLongSelftextAndOmitsEmptyOnes() throws IOException {
+        String longText = "a".repeat(RedditListingParser.SNIPPET_LENGTH + 50);
+        String body = listing(
+                post("\"title\": \"Largo\", \"selftext\": \"" + longText + "\""),
+                post("\"title\": \"Justo\", \"selftext\": \"" + "b".repeat(RedditListingParser.SNIPPET_LENGTH) + "\""),
+                post("\"title\": \"Vacio\", \"selftext\": \"\""));
+
+        List<Map<String, Object>> posts = posts(parser.parse(body));
+
+        assertThat(posts.get(0).get("snippet")).isEqualTo("a".repeat(RedditListingParser.SNIPPET_LENGTH) + "...");
+        assertThat(posts.get(1).get("snippet")).isEqualTo("b".repeat(RedditListingParser.SNIPPET_LENGTH));
+        assertThat(posts.get(2)).doesNotContainKey("snippet");
+    }
+
+    @Test
+    void nullFieldsKeepTheirDefaults() throws IOException {
+        String body = listing(post("\"title\": null, \"score\": null, \"num_comments\": null, \"permalink\": null"));
+
+        assertThat(posts(parser.parse(body))).singleElement().satisfies(post -> assertThat(post)
+                .containsOnlyKeys("score", "numComments")
+                .containsEntry("score", 0)
+                .containsEntry("numComments", 0));
+    }
+
+    @Test
+    void childrenWithoutDataAreIgnored() throws IOException {
+        String body = "{\"data\": {\"children\": [{\"kind\": \"more\"}, {\"kind\": \"t3\", \"data\": {\"score\": 3}}]}}";
+
+        Map<String, Object> result = parser.parse(body);
+
+        assertThat(result).containsEntry("totalPosts", 1).containsEntry("totalUpvotes", 3);
+    }
+
+    @Test
+    void emptyListingHasZeroAverage() throws IOException {
+        assertThat(parser.parse("{\"data\": {\"children\": []}}"))
+                .containsEntry("totalPosts", 0)
+                .containsEntry("averageScore", 0);
+    }
+
+    @Test
+    void streamAndStringInputsGiveTheSameResult() throws IOException {
+        String body = listing(post("\"title\": \"Acentuación\", \"score\": 7, \"selftext\": \"Ñandú\""));
+
+        assertThat(parser.parse(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8))))
+                .isEqualTo(parser.parse(body));
+    }
+
+    @Test
+    void rejectsBodiesThatAreNotListings() {
+        assertThatThrownBy(() -> parser.parse("[]"))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Malformed Reddit listing");
+        assertThatThrownBy(() -> parser.parse("{\"kind\": \"Listing\"}"))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("no data.children");
+        assertThatThrownBy(() -> parser.parse("{\"data\": {\"after\": null}}"))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> parser.parse("{\"data\": {\"children\": [{\"data\": {\"title\": \"cortado\""))
+                .isInstanceOf(IOException.class);
+    }
+
+    private static String listing(String... children) {
+        return "{\"kind\": \"Listing\", \"data\": {\"children\": [" + String.join(",", children) + "]}}";
+    }
+
+    private static String post(String fields) {
+        return "{\"kind\": \"t3\", \"data\": {" + fields + "}}";
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> posts(Map<String, Object> result) {
+        return (List<Map<String, Object>>) result.get("posts");
+    }
+}
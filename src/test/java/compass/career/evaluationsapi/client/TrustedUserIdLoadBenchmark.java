@@ -0,0 +1,138 @@
+package compass.career.evaluationsapi.client;
+
+import com.sun.net.httpserver.HttpServer;
+import compass.career.evaluationsapi.configuration.JwtUserDetails;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.client.RestTemplate;
+
+import java.lang.reflect.Field;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Prueba de carga manual (no forma parte de la suite de tests) de la verificación de usuario en
+ * UsersApiClient.userExists: ida y vuelta a un UsersAPI simulado con caché fría (primer acceso de
+ * cada usuario), caché caliente y modo trusted-user-id. Argumento opcional: latencia simulada de
+ * UsersAPI en ms (por defecto 5).
+ * Ejecutar desde el IDE o con: java -cp target/test-classes:target/classes:... TrustedUserIdLoadBenchmark
+ */
+public class TrustedUserIdLoadBenchmark {
+
+    private static final int THREADS = 32;
+    private static final int REQUESTS_PER_THREAD = 300;
+
+    public static void main(String[] args) throws Exception {
+        long latencyMs = args.length > 0 ? Long.parseLong(args[0]) : 5;
+
+        // Sin esto el servidor del JDK suma ~40 ms de ACK diferido a cada respuesta con keep-alive
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        HttpServer usersApi = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        usersApi.createContext("/api/v1/users/", exchange -> {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "true".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        usersApi.setExecutor(Executors.newFixedThreadPool(THREADS * 2));
+        usersApi.start();
+
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(50)
+                        .setMaxConnPerRoute(50)
+                        .build())
+                .build()));
+        UserExistenceCache cache = new UserExistenceCache(new SimpleMeterRegistry(),
+                Duration.ofHours(12), Duration.ofSeconds(30), 1_000_000);
+        UsersApiClient client = new UsersApiClient(restTemplate, cache);
+        Field usersApiUrl = UsersApiClient.class.getDeclaredField("usersApiUrl");
+        usersApiUrl.setAccessible(true);
+        usersApiUrl.set(client, "http://127.0.0.1:" + usersApi.getAddress().getPort());
+
+        System.out.printf("UsersAPI latency %d ms, %d threads x %d requests%n", latencyMs, THREADS, REQUESTS_PER_THREAD);
+        System.out.printf("%-28s %12s %10s %10s%n", "mode", "checks/s", "p50 us", "p99 us");
+
+        // Calentamiento del pool de conexiones y del JIT
+        run(client, 0, false);
+
+        AtomicInteger nextUser = new AtomicInteger(1_000_000);
+        report("UsersAPI (cold cache)", run(client, nextUser.getAndAdd(THREADS * REQUESTS_PER_THREAD), false));
+        report("UsersAPI (warm cache)", run(client, 1_000_000, false));
+        report("trusted-user-id", run(client, nextUser.getAndAdd(THREADS * REQUESTS_PER_THREAD), true));
+
+        usersApi.stop(0);
+        System.exit(0);
+    }
+
+    private record Result(long[] latenciesNanos, long elapsedNanos) {
+    }
+
+    // Cada hilo consulta ids consecutivos a partir de firstUserId; en modo trusted el token es el del propio usuario
+    private static Result run(UsersApiClient client, int firstUserId, boolean trusted) throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(THREADS);
+        List<Future<long[]>> futures = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int t = 0; t < THREADS; t++) {
+            int base = firstUserId + t * REQUESTS_PER_THREAD;
+            futures.add(workers.submit(() -> {
+                start.await();
+                long[] latencies = new long[REQUESTS_PER_THREAD];
+                for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                    int userId = base + i;
+                    if (trusted) {
+                        UsernamePasswordAuthenticationToken authentication =
+                                new UsernamePasswordAuthenticationToken("user" + userId + "@example.com", null, List.of());
+                        authentication.setDetails(new JwtUserDetails(userId));
+                        SecurityContextHolder.getContext().setAuthentication(authentication);
+                    }
+                    long begin = System.nanoTime();
+                    if (!client.userExists(userId)) {
+                        throw new IllegalStateException("User " + userId + " reported missing");
+                    }
+                    latencies[i] = System.nanoTime() - begin;
+                    SecurityContextHolder.clearContext();
+                }
+                return latencies;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        long[] all = new long[THREADS * REQUESTS_PER_THREAD];
+        int offset = 0;
+        for (Future<long[]> future : futures) {
+            long[] latencies = future.get();
+            System.arraycopy(latencies, 0, all, offset, latencies.length);
+            offset += latencies.length;
+        }
+        long elapsed = System.nanoTime() - begin;
+        workers.shutdown();
+        return new Result(all, elapsed);
+    }
+
+    private static void report(String mode, Result result) {
+        long[] sorted = result.latenciesNanos().clone();
+        Arrays.sort(sorted);
+        double throughput = sorted.length / (result.elapsedNanos() / 1e9);
+        System.out.printf("%-28s %12.0f %10d %10d%n", mode, throughput,
+                sorted[sorted.length / 2] / 1_000, sorted[(int) (sorted.length * 0.99)] / 1_000);
+    }
+}
@@ -0,0 +1,156 @@
+package compass.career.evaluationsapi.configuration;
+
+import compass.career.evaluationsapi.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.reflect.Proxy;
+import java.security.Key;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Microbenchmark JMH (no forma parte de la suite de tests) del coste por petición de la
+ * autenticación JWT: el camino anterior (clave y parser nuevos y tres verificaciones de firma por
+ * petición) frente a JwtAuthenticationFilter con JwtService actual, con el token ya en caché y con
+ * un token distinto en cada petición.
+ * Ejecutar desde el IDE o, tras mvn test-compile, con:
+ * java -cp target/test-classes:target/classes:... compass.career.evaluationsapi.configuration.JwtAuthenticationFilterBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    // Tokens distintos frente a una caché mucho menor: casi todas las peticiones son un fallo de caché
+    private static final int UNIQUE_TOKENS = 50_000;
+    private static final int TOKEN_CACHE_ENTRIES = 1_000;
+
+    private String secretKey;
+    private String cachedToken;
+    private JwtAuthenticationFilter cachedFilter;
+    private JwtAuthenticationFilter uniqueFilter;
+    private HttpServletRequest cachedRequest;
+    private HttpServletRequest[] uniqueRequests;
+    private HttpServletResponse response;
+    private FilterChain chain;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        secretKey = Encoders.BASE64.encode(secret);
+        Key key = Keys.hmacShaKeyFor(secret);
+
+        uniqueRequests = new HttpServletRequest[UNIQUE_TOKENS];
+        for (int i = 0; i < UNIQUE_TOKENS; i++) {
+            uniqueRequests[i] = request(token(key, i));
+        }
+        cachedToken = token(key, UNIQUE_TOKENS);
+        cachedRequest = request(cachedToken);
+
+        cachedFilter = new JwtAuthenticationFilter(new JwtService(secretKey, TOKEN_CACHE_ENTRIES, Duration.ofMinutes(5)));
+        uniqueFilter = new JwtAuthenticationFilter(new JwtService(secretKey, TOKEN_CACHE_ENTRIES, Duration.ofMinutes(5)));
+        response = proxy(HttpServletResponse.class, null);
+        chain = (request, response) -> { };
+    }
+
+    @Benchmark
+    public Object legacy() {
+        legacyAuthenticate(secretKey, cachedToken);
+        return takeAuthentication();
+    }
+
+    @Benchmark
+    public Object filterCachedToken() throws Exception {
+        cachedFilter.doFilterInternal(cachedRequest, response, chain);
+        return takeAuthentication();
+    }
+
+    @Benchmark
+    public Object filterNewToken() throws Exception {
+        HttpServletRequest request = uniqueRequests[next];
+        next = (next + 1) % UNIQUE_TOKENS;
+        uniqueFilter.doFilterInternal(request, response, chain);
+        return takeAuthentication();
+    }
+
+    // Cada petición empieza sin autenticación, como en un hilo nuevo del servidor
+    private static Object takeAuthentication() {
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthenticationFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    private static String token(Key key, int i) {
+        return Jwts.builder()
+                .setSubject("student" + i + "@example.com")
+                .claim("role", "UNIVERSITY_STUDENT")
+                .claim("userId", i)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    // Copia del camino anterior: extractUsername + isTokenValid + claim "role", cada uno con su propio parser
+    private static void legacyAuthenticate(String secretKey, String jwt) {
+        String userEmail = legacyExtract(secretKey, jwt, Claims::getSubject);
+        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            if (!legacyExtract(secretKey, jwt, Claims::getExpiration).before(new Date())) {
+                String userRole = legacyExtract(secretKey, jwt, claims -> claims.get("role", String.class));
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        userEmail, null, Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + userRole.toUpperCase())));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+            }
+        }
+    }
+
+    private static <T> T legacyExtract(String secretKey, String token, Function<Claims, T> resolver) {
+        Claims claims = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+        return resolver.apply(claims);
+    }
+
+    private static HttpServletRequest request(String token) {
+        String authorization = "Bearer " + token;
+        return proxy(HttpServletRequest.class, (method, args) ->
+                "getHeader".equals(method) && "Authorization".equals(args[0]) ? authorization : null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, java.util.function.BiFunction<String, Object[], Object> handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (p, method, args) -> handler != null ? handler.apply(method.getName(), args) : null);
+    }
+}
@@ -0,0 +1,71 @@
+package compass.career.evaluationsapi.controller;
+
+import compass.career.evaluationsapi.dto.CareerDetailResponse;
+import compass.career.evaluationsapi.dto.Versioned;
+import compass.career.evaluationsapi.service.CareerService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class CareerControllerConditionalTest {
+
+    private static final String DETAIL_ETAG = "\"detail-v1\"";
+    private static final String SOCIAL_ETAG = "\"social-v1\"";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        CareerService careerService = mock(CareerService.class);
+        when(careerService.getCareerDetails(1)).thenReturn(new Versioned<>(
+                CareerDetailResponse.builder().id(1).name("Ingenieria de Software").build(), DETAIL_ETAG));
+        when(careerService.getCareerSocialData(1)).thenReturn(new Versioned<>(Map.of("posts", 3), SOCIAL_ETAG));
+
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new CareerController(careerService, new ConditionalResponses(meterRegistry)))
+                .build();
+    }
+
+    @Test
+    void detailAnswers304WhenTheEtagMatches() throws Exception {
+        mockMvc.perform(get("/api/v1/careers/details/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", DETAIL_ETAG))
+                .andExpect(jsonPath("$.Name").value("Ingenieria de Software"));
+
+        mockMvc.perform(get("/api/v1/careers/details/1").header("If-None-Match", DETAIL_ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        assertThat(count("career-detail", "full")).isEqualTo(1);
+        assertThat(count("career-detail", "not_modified")).isEqualTo(1);
+    }
+
+    @Test
+    void socialDataAnswers304WhenTheEtagMatches() throws Exception {
+        mockMvc.perform(get("/api/v1/careers/details/1/social").header("If-None-Match", "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", SOCIAL_ETAG));
+
+        mockMvc.perform(get("/api/v1/careers/details/1/social").header("If-None-Match", SOCIAL_ETAG))
+                .andExpect(status().isNotModified());
+
+        assertThat(count("career-social", "full")).isEqualTo(1);
+        assertThat(count("career-social", "not_modified")).isEqualTo(1);
+    }
+
+    private double count(String resource, String result) {
+        return meterRegistry.counter("http.conditional.requests", "resource", resource, "result", result).count();
+    }
+}
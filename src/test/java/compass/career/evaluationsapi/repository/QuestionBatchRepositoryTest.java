@@ -0,0 +1,97 @@
+package compass.career.evaluationsapi.repository;
+
+import compass.career.evaluationsapi.dto.AnswerOptionRequest;
+import compass.career.evaluationsapi.dto.QuestionRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers(disabledWithoutDocker = true)
+class QuestionBatchRepositoryTest {
+
+    private static final int BATCH_SIZE = 3;
+    private static final int QUESTIONS = 8;
+    private static final int OPTIONS_PER_QUESTION = 4;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private JdbcTemplate jdbcTemplate;
+    private QuestionBatchRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword()));
+        jdbcTemplate.execute("DROP TABLE IF EXISTS answer_options, questions, tests");
+        jdbcTemplate.execute("CREATE TABLE tests (id INTEGER GENERATED ALWAYS AS IDENTITY PRIMARY KEY, name VARCHAR(200))");
+        // GENERATED ALWAYS: rechaza cualquier INSERT que intente fijar el id
+        jdbcTemplate.execute("CREATE TABLE questions (id INTEGER GENERATED ALWAYS AS IDENTITY PRIMARY KEY,"
+                + " test_id INTEGER NOT NULL REFERENCES tests (id), question_text TEXT NOT NULL,"
+                + " order_number INTEGER, active BOOLEAN)");
+        jdbcTemplate.execute("CREATE TABLE answer_options (id SERIAL PRIMARY KEY,"
+                + " question_id INTEGER NOT NULL REFERENCES questions (id), option_text TEXT NOT NULL,"
+                + " weight_value INTEGER, category VARCHAR(100))");
+        repository = new QuestionBatchRepository(jdbcTemplate);
+    }
+
+    @Test
+    void importsSeveralBatchesAndLinksEachOptionToItsQuestion() {
+        Integer testId = jdbcTemplate.queryForObject("INSERT INTO tests (name) VALUES ('bank') RETURNING id", Integer.class);
+
+        List<QuestionRequest> questions = new ArrayList<>();
+        for (int q = 1; q <= QUESTIONS; q++) {
+            questions.add(question(q));
+        }
+
+        int options = 0;
+        int batches = 0;
+        for (int from = 0; from < questions.size(); from += BATCH_SIZE) {
+            options += repository.insertAll(testId, questions.subList(from, Math.min(from + BATCH_SIZE, questions.size())));
+            batches++;
+        }
+
+        assertThat(batches).isGreaterThan(1);
+        assertThat(options).isEqualTo(QUESTIONS * OPTIONS_PER_QUESTION);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM questions WHERE test_id = ?", Integer.class, testId))
+                .isEqualTo(QUESTIONS);
+
+        // Cada opción cuelga de la pregunta de la que vino
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT q.order_number, o.option_text FROM answer_options o JOIN questions q ON q.id = o.question_id");
+        assertThat(rows).hasSize(QUESTIONS * OPTIONS_PER_QUESTION);
+        assertThat(rows).allSatisfy(row -> assertThat((String) row.get("option_text"))
+                .startsWith("Q" + row.get("order_number") + "-"));
+    }
+
+    @Test
+    void emptyBatchWritesNothing() {
+        assertThat(repository.insertAll(1, List.of())).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM questions", Integer.class)).isZero();
+    }
+
+    private static QuestionRequest question(int orderNumber) {
+        QuestionRequest question = new QuestionRequest();
+        question.setQuestionText("Question " + orderNumber);
+        question.setOrderNumber(orderNumber);
+        question.setOptions(new ArrayList<>());
+        for (int o = 1; o <= OPTIONS_PER_QUESTION; o++) {
+            AnswerOptionRequest option = new AnswerOptionRequest();
+            option.setOptionText("Q" + orderNumber + "-" + o);
+            option.setWeightValue(o);
+            option.setCategory("AREA_" + o);
+            question.getOptions().add(option);
+        }
+        return question;
+    }
+}
@@ -0,0 +1,75 @@
+package compass.career.evaluationsapi.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedTtlCacheTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+
+    @Test
+    void entriesExpireAfterTheirOwnTtl() {
+        BoundedTtlCache<String, Boolean> cache = new BoundedTtlCache<>(10, now::get);
+        cache.put("long", true, Duration.ofNanos(100));
+        cache.put("short", false, Duration.ofNanos(10));
+
+        now.addAndGet(9);
+        assertThat(cache.get("short")).isFalse();
+
+        now.addAndGet(1);
+        assertThat(cache.get("short")).isNull();
+        assertThat(cache.get("long")).isTrue();
+        assertThat(cache.size()).isEqualTo(1);
+
+        now.addAndGet(90);
+        assertThat(cache.get("long")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void expiredEntriesAreEvictedFirstWhenFull() {
+        BoundedTtlCache<Integer, String> cache = new BoundedTtlCache<>(4, now::get);
+        cache.put(1, "expiring", Duration.ofNanos(5));
+        cache.put(2, "a", Duration.ofMinutes(1));
+        cache.put(3, "b", Duration.ofMinutes(1));
+        cache.put(4, "c", Duration.ofMinutes(1));
+
+        now.addAndGet(5);
+        cache.put(5, "d", Duration.ofMinutes(1));
+
+        assertThat(cache.size()).isEqualTo(4);
+        assertThat(cache.get(1)).isNull();
+        assertThat(cache.get(5)).isEqualTo("d");
+    }
+
+    @Test
+    void liveEntriesAreDroppedDownToNinetyPercentWhenNothingExpired() {
+        BoundedTtlCache<Integer, Integer> cache = new BoundedTtlCache<>(100, now::get);
+        for (int i = 0; i < 100; i++) {
+            cache.put(i, i, Duration.ofMinutes(1));
+        }
+
+        cache.put(100, 100, Duration.ofMinutes(1));
+
+        assertThat(cache.size()).isEqualTo(91);
+        assertThat(cache.get(100)).isEqualTo(100);
+    }
+
+    @Test
+    void removeAndClearForgetEntries() {
+        BoundedTtlCache<Integer, Integer> cache = new BoundedTtlCache<>(10, now::get);
+        cache.put(1, 1, Duration.ofMinutes(1));
+        cache.put(2, 2, Duration.ofMinutes(1));
+
+        cache.remove(1);
+        assertThat(cache.get(1)).isNull();
+        assertThat(cache.get(2)).isEqualTo(2);
+
+        cache.clear();
+        assertThat(cache.size()).isZero();
+    }
+}
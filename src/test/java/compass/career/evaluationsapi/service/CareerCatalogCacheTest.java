@@ -0,0 +1,83 @@
+package compass.career.evaluationsapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import compass.career.evaluationsapi.dto.CareerResponse;
+import compass.career.evaluationsapi.dto.Versioned;
+import compass.career.evaluationsapi.event.CatalogChangedEvent;
+import compass.career.evaluationsapi.model.Career;
+import compass.career.evaluationsapi.repository.CareerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CareerCatalogCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong(1_000);
+    private CareerRepository careerRepository;
+    private CareerCatalogCache cache;
+
+    @BeforeEach
+    void setUp() {
+        careerRepository = mock(CareerRepository.class);
+        when(careerRepository.findAll(any(Sort.class))).thenReturn(List.of(career(1, "Derecho")));
+        cache = new CareerCatalogCache(careerRepository, new ContentETags(new ObjectMapper()), meterRegistry, TTL, now::get);
+    }
+
+    @Test
+    void snapshotIsServedUntilTheTtlAndThenReloaded() {
+        Versioned<List<CareerResponse>> first = cache.getPage(0, 10);
+        now.addAndGet(TTL.toNanos() - 1);
+        assertThat(cache.getPage(0, 10)).isSameAs(first);
+        verify(careerRepository, times(1)).findAll(any(Sort.class));
+
+        // Otra instancia editó la carrera: sin evento local, el cambio llega al vencer el TTL
+        when(careerRepository.findAll(any(Sort.class))).thenReturn(List.of(career(1, "Derecho Corporativo")));
+        now.addAndGet(1);
+
+        Versioned<List<CareerResponse>> reloaded = cache.getPage(0, 10);
+        assertThat(reloaded.body()).extracting(CareerResponse::getName).containsExactly("Derecho Corporativo");
+        assertThat(reloaded.etag()).isNotEqualTo(first.etag());
+        assertThat(cache.getById(1)).get().extracting(v -> v.body().getName()).isEqualTo("Derecho Corporativo");
+        assertThat(meterRegistry.counter("catalog.cache.lookups", "catalog", "careers", "result", "expired").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void localCatalogChangeInvalidatesImmediately() {
+        cache.getPage(0, 10);
+        when(careerRepository.findAll(any(Sort.class))).thenReturn(List.of(career(1, "Derecho"), career(2, "Medicina")));
+
+        cache.onCatalogChanged(CatalogChangedEvent.careers(2));
+
+        assertThat(cache.size()).isEqualTo(2);
+        verify(careerRepository, times(2)).findAll(any(Sort.class));
+    }
+
+    @Test
+    void specializationChangesDoNotDropTheCareerSnapshot() {
+        cache.getPage(0, 10);
+        cache.onCatalogChanged(CatalogChangedEvent.specializations(5));
+        cache.getPage(0, 10);
+
+        verify(careerRepository, times(1)).findAll(any(Sort.class));
+    }
+
+    private static Career career(int id, String name) {
+        Career career = new Career();
+        career.setId(id);
+        career.setName(name);
+        return career;
+    }
+}
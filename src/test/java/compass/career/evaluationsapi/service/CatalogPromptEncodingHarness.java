@@ -0,0 +1,192 @@
+package compass.career.evaluationsapi.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import compass.career.evaluationsapi.model.Career;
+import compass.career.evaluationsapi.model.UserProfile;
+import compass.career.evaluationsapi.model.VocationalArea;
+import compass.career.evaluationsapi.repository.VocationalAreaRepository;
+
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Evaluación offline (no forma parte de la suite de tests) de las codificaciones del catálogo.
+ * Para cada perfil grabado en src/test/resources/prompt-eval compara los tokens estimados de la
+ * sección de catálogo y el solapamiento del top 10 que produce un modelo sustituto local: el
+ * catálogo se vuelve a leer desde el texto del prompt y se puntúa con LocalRecommendationScorer,
+ * de modo que lo que el recorte de descripciones elimina también deja de influir en el ranking.
+ * Ejecutar desde el IDE o con: java -cp target/test-classes:target/classes:... CatalogPromptEncodingHarness
+ */
+public class CatalogPromptEncodingHarness {
+
+    private static final int TOP = 10;
+    private static final int[] DESCRIPTION_BUDGETS = {20, 40, 80};
+
+    private static final Pattern MARKDOWN_ROW = Pattern.compile("^- \\*\\*ID:\\*\\* (\\d+) \\| \\*\\*Nombre:\\*\\* (.*?) \\|");
+    private static final String MARKDOWN_DESCRIPTION = "  Descripción: ";
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<VocationalArea> areas = readAreas(objectMapper);
+        List<GroqService.CareerInfo> careers = readCareers(objectMapper);
+        List<UserProfile> profiles = readProfiles(objectMapper);
+
+        LocalRecommendationScorer.Scoring standIn = new LocalRecommendationScorer(repositoryOf(areas)).forCatalog();
+
+        String markdown = new CatalogPromptEncoder("markdown", 0).encodeCareers(careers);
+        int markdownTokens = CatalogPromptEncoder.estimateTokens(markdown);
+        Map<Integer, List<Integer>> baseline = new HashMap<>();
+        for (UserProfile profile : profiles) {
+            baseline.put(profile.getUserId(), rank(standIn, profile, decodeMarkdown(markdown)));
+        }
+
+        System.out.printf("Catalog: %d careers, %d recorded profiles%n", careers.size(), profiles.size());
+        System.out.printf("%-22s %8s %8s %12s %12s%n", "encoding", "tokens", "saved", "top10 mean", "top10 min");
+        System.out.printf("%-22s %8d %8s %12s %12s%n", "markdown", markdownTokens, "-", "1.00", "1.00");
+
+        for (int budget : DESCRIPTION_BUDGETS) {
+            String compact = new CatalogPromptEncoder("compact", budget).encodeCareers(careers);
+            int compactTokens = CatalogPromptEncoder.estimateTokens(compact);
+            List<GroqService.CareerInfo> decoded = decodeCompact(compact);
+
+            double sum = 0;
+            double min = 1;
+            for (UserProfile profile : profiles) {
+                double overlap = overlap(baseline.get(profile.getUserId()), rank(standIn, profile, decoded));
+                sum += overlap;
+                min = Math.min(min, overlap);
+            }
+
+            System.out.printf("%-22s %8d %7.1f%% %12.2f %12.2f%n",
+                    "compact (desc " + budget + ")", compactTokens,
+                    100.0 * (markdownTokens - compactTokens) / markdownTokens,
+                    sum / profiles.size(), min);
+        }
+    }
+
+    private static List<Integer> rank(LocalRecommendationScorer.Scoring scoring, UserProfile profile,
+                                      List<GroqService.CareerInfo> catalog) {
+        return catalog.stream()
+                .sorted(Comparator.comparingDouble((GroqService.CareerInfo c) -> -scoring.score(profile, toCareer(c)))
+                        .thenComparing(GroqService.CareerInfo::getId))
+                .limit(TOP)
+                .map(GroqService.CareerInfo::getId)
+                .collect(Collectors.toList());
+    }
+
+    private static double overlap(List<Integer> expected, List<Integer> actual) {
+        Set<Integer> common = new HashSet<>(expected);
+        common.retainAll(actual);
+        return (double) common.size() / Math.max(1, expected.size());
+    }
+
+    // El modelo sustituto sólo ve lo que el prompt contiene
+    private static List<GroqService.CareerInfo> decodeMarkdown(String section) {
+        List<GroqService.CareerInfo> careers = new ArrayList<>();
+        Integer id = null;
+        String name = null;
+        String description = null;
+
+        for (String line : section.split("\n")) {
+            Matcher row = MARKDOWN_ROW.matcher(line);
+            if (row.find()) {
+                if (id != null) {
+                    careers.add(new GroqService.CareerInfo(id, name, description, null, null));
+                }
+                id = Integer.valueOf(row.group(1));
+                name = row.group(2);
+                description = null;
+            } else if (line.startsWith(MARKDOWN_DESCRIPTION)) {
+                description = line.substring(MARKDOWN_DESCRIPTION.length());
+            }
+        }
+        if (id != null) {
+            careers.add(new GroqService.CareerInfo(id, name, description, null, null));
+        }
+        return careers;
+    }
+
+    private static List<GroqService.CareerInfo> decodeCompact(String section) {
+        List<GroqService.CareerInfo> careers = new ArrayList<>();
+        for (String line : section.split("\n")) {
+            String[] cells = line.split("\\|", -1);
+            if (cells.length == 5 && cells[0].chars().allMatch(Character::isDigit) && !cells[0].isEmpty()) {
+                careers.add(new GroqService.CareerInfo(Integer.valueOf(cells[0]), cells[1], cells[4], null, null));
+            }
+        }
+        return careers;
+    }
+
+    private static Career toCareer(GroqService.CareerInfo info) {
+        Career career = new Career();
+        career.setId(info.getId());
+        career.setName(info.getName());
+        career.setDescription(info.getDescription());
+        return career;
+    }
+
+    private static VocationalAreaRepository repositoryOf(List<VocationalArea> areas) {
+        return (VocationalAreaRepository) Proxy.newProxyInstance(
+                VocationalAreaRepository.class.getClassLoader(),
+                new Class<?>[]{VocationalAreaRepository.class},
+                (proxy, method, methodArgs) -> {
+                    if ("findAll".equals(method.getName()) && method.getParameterCount() == 0) {
+                        return areas;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static List<VocationalArea> readAreas(ObjectMapper objectMapper) throws Exception {
+        List<VocationalArea> areas = new ArrayList<>();
+        for (JsonNode node : read(objectMapper, "vocational-areas.json")) {
+            VocationalArea area = new VocationalArea();
+            area.setName(node.get("name").asText());
+            area.setDescription(node.get("description").asText());
+            areas.add(area);
+        }
+        return areas;
+    }
+
+    private static List<GroqService.CareerInfo> readCareers(ObjectMapper objectMapper) throws Exception {
+        List<GroqService.CareerInfo> careers = new ArrayList<>();
+        for (JsonNode node : read(objectMapper, "careers.json")) {
+            careers.add(new GroqService.CareerInfo(
+                    node.get("id").asInt(),
+                    node.get("name").asText(),
+                    node.get("description").asText(),
+                    node.get("durationSemesters").asInt(),
+                    new BigDecimal(node.get("averageSalary").asText())));
+        }
+        return careers;
+    }
+
+    private static List<UserProfile> readProfiles(ObjectMapper objectMapper) throws Exception {
+        List<UserProfile> profiles = new ArrayList<>();
+        for (JsonNode node : read(objectMapper, "profiles.json")) {
+            UserProfile profile = new UserProfile();
+            profile.setUserId(node.get("userId").asInt());
+            profile.setVocationalAreas(objectMapper.treeToValue(node.get("vocationalAreas"), String[].class));
+            profile.setVocationalPercentages(objectMapper.treeToValue(node.get("vocationalPercentages"), Double[].class));
+            profile.setCognitiveAreas(objectMapper.treeToValue(node.get("cognitiveAreas"), String[].class));
+            profile.setCognitiveScores(objectMapper.treeToValue(node.get("cognitiveScores"), Double[].class));
+            profiles.add(profile);
+        }
+        return profiles;
+    }
+
+    private static JsonNode read(ObjectMapper objectMapper, String fixture) throws Exception {
+        try (InputStream in = CatalogPromptEncodingHarness.class.getResourceAsStream("/prompt-eval/" + fixture)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing fixture /prompt-eval/" + fixture);
+            }
+            return objectMapper.readTree(in);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package compass.career.evaluationsapi.service;
+
+import compass.career.evaluationsapi.event.CatalogChangedEvent;
+import compass.career.evaluationsapi.model.Career;
+import compass.career.evaluationsapi.model.UserProfile;
+import compass.career.evaluationsapi.model.VocationalArea;
+import compass.career.evaluationsapi.repository.CareerRepository;
+import compass.career.evaluationsapi.repository.VocationalAreaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.*;
+
+class GroqModelRouterTest {
+
+    private static final int CATALOG_SIZE = 30;
+    // Sólo el perfil de egreso de estas carreras menciona las palabras clave del área
+    private static final List<Integer> TECH_CAREERS = List.of(21, 22, 23, 24, 25);
+    private static final Duration TTL = Duration.ofMinutes(1);
+
+    private final AtomicLong now = new AtomicLong(1_000);
+
+    private CareerRepository careerRepository;
+    private VocationalAreaRepository vocationalAreaRepository;
+    private GroqModelRouter router;
+
+    @BeforeEach
+    void setUp() {
+        careerRepository = mock(CareerRepository.class);
+        vocationalAreaRepository = mock(VocationalAreaRepository.class);
+        when(careerRepository.findAll()).thenReturn(IntStream.rangeClosed(1, CATALOG_SIZE)
+                .mapToObj(GroqModelRouterTest::career).collect(Collectors.toList()));
+        when(vocationalAreaRepository.findAll()).thenReturn(List.of(
+                new VocationalArea(1, "Tecnologia", "Software, programacion y sistemas", null)));
+
+        router = new GroqModelRouter(new SimpleMeterRegistry(), new LocalRecommendationScorer(vocationalAreaRepository),
+                careerRepository, true, "small", 1200, 10, 0.6, TTL, now::get);
+    }
+
+    @Test
+    void localRankingUsesTheFullCareerEntities() {
+        // Margen 95 - 92 = 3 -> 0.3; las cinco primeras coinciden con el ranking local -> 1.0
+        double confidence = router.confidence(techProfile(), catalogInfo(CATALOG_SIZE),
+                recommendations(TECH_CAREERS, 95, 94, 93, 92, 91, 60, 59, 58, 57, 56));
+
+        assertThat(confidence).isCloseTo(0.65, within(1e-9));
+    }
+
+    @Test
+    void catalogIsLoadedOncePerVersion() {
+        List<GroqService.CareerInfo> catalog = catalogInfo(CATALOG_SIZE);
+        List<GroqService.CareerRecommendation> result = recommendations(TECH_CAREERS, 95, 94, 93, 92, 91, 60, 59, 58, 57, 56);
+
+        router.confidence(techProfile(), catalog, result);
+        router.confidence(techProfile(), catalog, result);
+        verify(careerRepository, times(1)).findAll();
+        verify(vocationalAreaRepository, times(1)).findAll();
+
+        router.onCatalogChanged(CatalogChangedEvent.specializations(1));
+        router.confidence(techProfile(), catalog, result);
+        verify(careerRepository, times(1)).findAll();
+
+        router.onCatalogChanged(CatalogChangedEvent.careers(1));
+        router.confidence(techProfile(), catalog, result);
+        verify(careerRepository, times(2)).findAll();
+    }
+
+    @Test
+    void catalogIsReloadedOnceTheTtlExpires() {
+        List<GroqService.CareerInfo> catalog = catalogInfo(CATALOG_SIZE);
+        List<GroqService.CareerRecommendation> result = recommendations(TECH_CAREERS, 95, 94, 93, 92, 91, 60, 59, 58, 57, 56);
+
+        router.confidence(techProfile(), catalog, result);
+        now.addAndGet(TTL.toNanos() - 1);
+        router.confidence(techProfile(), catalog, result);
+        verify(careerRepository, times(1)).findAll();
+
+        // Cambio hecho en otra instancia: sin evento local, se recarga al vencer el TTL
+        now.addAndGet(1);
+        router.confidence(techProfile(), catalog, result);
+        verify(careerRepository, times(2)).findAll();
+        verify(vocationalAreaRepository, times(2)).findAll();
+    }
+
+    @Test
+    void marginIsOnlyUsedWithEnoughRecommendations() {
+        UserProfile noInterests = new UserProfile();
+
+        // Cuatro carreras: margen 95 - 80 = 15, saturado a 1
+        assertThat(router.confidence(noInterests, catalogInfo(4), recommendations(List.of(1, 2, 3, 4), 95, 90, 85, 80)))
+                .isEqualTo(1.0);
+
+        // Con tres no hay 4.ª posición contra la que medir ni ranking local: no hay señal
+        assertThat(router.confidence(noInterests, catalogInfo(3), recommendations(List.of(1, 2, 3), 95, 50, 10)))
+                .isZero();
+    }
+
+    @Test
+    void duplicatedOrUnknownIdsDoNotCompleteTheTop() {
+        List<GroqService.CareerRecommendation> result = recommendations(List.of(1, 1, 2, 2, 3, 3, 4, 4, 99, 100),
+                95, 94, 93, 92, 91, 90, 89, 88, 87, 86);
+
+        assertThat(router.confidence(techProfile(), catalogInfo(CATALOG_SIZE), result)).isZero();
+    }
+
+    private static UserProfile techProfile() {
+        UserProfile profile = new UserProfile();
+        profile.setUserId(1);
+        profile.setVocationalAreas(new String[]{"Tecnologia"});
+        profile.setVocationalPercentages(new Double[]{90.0});
+        return profile;
+    }
+
+    private static Career career(int id) {
+        Career career = new Career();
+        career.setId(id);
+        career.setName("Carrera " + id);
+        career.setDescription("Plan de estudios general");
+        if (TECH_CAREERS.contains(id)) {
+            career.setGraduateProfile("Desarrolla software y administra sistemas de programacion");
+        }
+        return career;
+    }
+
+    private static List<GroqService.CareerInfo> catalogInfo(int size) {
+        return IntStream.rangeClosed(1, size)
+                .mapToObj(id -> new GroqService.CareerInfo(id, "Carrera " + id, "Plan de estudios general", 8, null))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Las primeras puntuaciones van a los ids dados; el resto del top se completa con carreras sin
+     * afinidad (1, 2, 3...).
+     */
+    private static List<GroqService.CareerRecommendation> recommendations(List<Integer> ids, double... scores) {
+        List<Integer> careerIds = new ArrayList<>(ids);
+        for (int id = 1; careerIds.size() < scores.length; id++) {
+            if (!careerIds.contains(id)) {
+                careerIds.add(id);
+            }
+        }
+
+        List<GroqService.CareerRecommendation> result = new ArrayList<>();
+        for (int i = 0; i < scores.length; i++) {
+            GroqService.CareerRecommendation recommendation = new GroqService.CareerRecommendation();
+            recommendation.setCareerId(careerIds.get(i));
+            recommendation.setCompatibilityPercentage(scores[i]);
+            result.add(recommendation);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,109 @@
+package compass.career.evaluationsapi.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Comparación manual (no forma parte de la suite de tests) entre el parseo anterior basado en mapas
+ * y GroqResponseParser sobre una respuesta realista de 10 recomendaciones.
+ * Ejecutar desde el IDE o con: java -cp target/test-classes:target/classes:... GroqResponseParserBenchmark
+ */
+public class GroqResponseParserBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURED_ITERATIONS = 100_000;
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        GroqResponseParser parser = new GroqResponseParser(objectMapper);
+        String body = buildResponse(objectMapper);
+
+        System.out.printf("Response size: %d bytes%n", body.length());
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            parseWithMaps(objectMapper, body);
+            parseStreaming(parser, body);
+        }
+
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += parseWithMaps(objectMapper, body);
+        }
+        long mapsNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += parseStreaming(parser, body);
+        }
+        long streamingNanos = System.nanoTime() - start;
+
+        System.out.printf("Map-based:  %,d ns/op%n", mapsNanos / MEASURED_ITERATIONS);
+        System.out.printf("Streaming:  %,d ns/op%n", streamingNanos / MEASURED_ITERATIONS);
+        System.out.printf("(checksum %d)%n", sink);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int parseWithMaps(ObjectMapper objectMapper, String body) throws Exception {
+        Map<String, Object> envelope = objectMapper.readValue(body, new TypeReference<Map<String, Object>>() {});
+        List<Map<String, Object>> choices = (List<Map<String, Object>>) envelope.get("choices");
+        Map<String, Object> message = (Map<String, Object>) choices.get(0).get("message");
+        Map<String, Object> content = objectMapper.readValue((String) message.get("content"),
+                new TypeReference<Map<String, Object>>() {});
+
+        int sum = 0;
+        for (Map<String, Object> rec : (List<Map<String, Object>>) content.get("recommendations")) {
+            sum += ((Number) rec.get("careerId")).intValue();
+            sum += (int) ((Number) rec.get("compatibilityPercentage")).doubleValue();
+        }
+        return sum;
+    }
+
+    private static int parseStreaming(GroqResponseParser parser, String body) throws Exception {
+        GroqResponseParser.Completion completion = parser.parseCompletion(body);
+
+        int sum = 0;
+        for (GroqResponseParser.RecommendationItem item : parser.parseRecommendations(completion.content(), "careerId")) {
+            sum += item.id();
+            sum += item.compatibilityPercentage().intValue();
+        }
+        return sum;
+    }
+
+    private static String buildResponse(ObjectMapper objectMapper) throws Exception {
+        StringBuilder content = new StringBuilder("{\"recommendations\":[");
+        for (int i = 0; i < 10; i++) {
+            if (i > 0) content.append(',');
+            content.append("{\"careerId\":").append(i + 1)
+                    .append(",\"compatibilityPercentage\":").append(95.5 - i * 3.2)
+                    .append(",\"reason\":\"Tu alto interés en el área científica (87%) y tu razonamiento lógico ")
+                    .append("sobresaliente encajan con el perfil de egreso de esta carrera, que combina análisis ")
+                    .append("cuantitativo con trabajo en laboratorio.\"}");
+        }
+        content.append("]}");
+
+        Map<String, Object> envelope = Map.of(
+                "id", "chatcmpl-0b1c2d3e",
+                "object", "chat.completion",
+                "created", 1735689600,
+                "model", "llama-3.3-70b-versatile",
+                "choices", List.of(Map.of(
+                        "index", 0,
+                        "message", Map.of("role", "assistant", "content", content.toString()),
+                        "logprobs", "null",
+                        "finish_reason", "stop")),
+                "usage", Map.of(
+                        "queue_time", 0.021,
+                        "prompt_tokens", 2450,
+                        "prompt_time", 0.12,
+                        "completion_tokens", 780,
+                        "completion_time", 0.9,
+                        "total_tokens", 3230),
+                "system_fingerprint", "fp_abc123",
+                "x_groq", Map.of("id", "req_01"));
+        return objectMapper.writeValueAsString(envelope);
+    }
+}
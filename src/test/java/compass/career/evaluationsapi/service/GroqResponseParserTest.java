@@ -0,0 +1,101 @@
+package compass.career.evaluationsapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GroqResponseParserTest {
+
+    private final GroqResponseParser parser = new GroqResponseParser(new ObjectMapper());
+
+    @Test
+    void readsContentFinishReasonAndUsageFromTheFirstChoice() throws IOException {
+        GroqResponseParser.Completion completion = parser.parseCompletion("""
+                {"id":"x","choices":[
+                  {"index":0,"message":{"role":"assistant","content":"{\\"recommendations\\":[]}"},"finish_reason":"length"},
+                  {"index":1,"message":{"content":"ignored"}}],
+                 "usage":{"prompt_tokens":10,"completion_tokens":5,"total_tokens":15,"extra":{"a":1}}}
+                """);
+
+        assertThat(completion.content()).isEqualTo("{\"recommendations\":[]}");
+        assertThat(completion.truncated()).isTrue();
+        assertThat(completion.usage()).isEqualTo(new GroqResponseParser.Usage(10, 5, 15));
+    }
+
+    @Test
+    void completionWithoutContentIsRejected() {
+        assertThatThrownBy(() -> parser.parseCompletion("{\"choices\":[]}"))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("no message content");
+        assertThatThrownBy(() -> parser.parseCompletion("[1,2]"))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Malformed Groq completion");
+    }
+
+    @Test
+    void numbersAsTextAreConverted() throws IOException {
+        List<GroqResponseParser.RecommendationItem> items = parser.parseRecommendations("""
+                {"recommendations":[{"careerId":"7","compatibilityPercentage":"94.5","reason":"fit"}]}
+                """, "careerId");
+
+        assertThat(items).containsExactly(new GroqResponseParser.RecommendationItem(7, 94.5, "fit"));
+    }
+
+    @Test
+    void nonScalarIdIsSkippedWithoutLosingTheRestOfTheItem() throws IOException {
+        List<GroqResponseParser.RecommendationItem> items = parser.parseRecommendations("""
+                {"recommendations":[
+                  {"careerId":{"value":3,"nested":[1,2]},"compatibilityPercentage":80,"reason":"object id"},
+                  {"careerId":[4],"compatibilityPercentage":[70],"reason":"array id"},
+                  {"careerId":5,"compatibilityPercentage":60,"reason":"ok"}]}
+                """, "careerId");
+
+        assertThat(items).containsExactly(
+                new GroqResponseParser.RecommendationItem(null, 80.0, "object id"),
+                new GroqResponseParser.RecommendationItem(null, null, "array id"),
+                new GroqResponseParser.RecommendationItem(5, 60.0, "ok"));
+    }
+
+    @Test
+    void nonNumericValuesAndNullsAreLeftNull() throws IOException {
+        List<GroqResponseParser.RecommendationItem> items = parser.parseRecommendations("""
+                {"recommendations":[{"specializationId":"abc","compatibilityPercentage":true,"reason":null}]}
+                """, "specializationId");
+
+        assertThat(items).containsExactly(new GroqResponseParser.RecommendationItem(null, null, null));
+    }
+
+    @Test
+    void nonObjectElementsAreDiscardedAndLaterFieldsStillRead() throws IOException {
+        List<GroqResponseParser.RecommendationItem> items = parser.parseRecommendations("""
+                {"recommendations":[1,"text",[{"careerId":9}],{"careerId":2,"compatibilityPercentage":90}],
+                 "notes":{"careerId":3}}
+                """, "careerId");
+
+        assertThat(items).containsExactly(new GroqResponseParser.RecommendationItem(2, 90.0, null));
+    }
+
+    @Test
+    void missingOrEmptyRecommendationsAreRejected() {
+        assertThatThrownBy(() -> parser.parseRecommendations("{\"recommendations\":[]}", "careerId"))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("no recommendations");
+        assertThatThrownBy(() -> parser.parseRecommendations("{\"recommendations\":{\"careerId\":1}}", "careerId"))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("no recommendations");
+        assertThatThrownBy(() -> parser.parseRecommendations("Here are your recommendations", "careerId"))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void truncatedContentFailsInsteadOfReturningPartialItems() {
+        assertThatThrownBy(() -> parser.parseRecommendations(
+                "{\"recommendations\":[{\"careerId\":1,\"compatibilityPercentage\":90},{\"careerId\":2,\"compat", "careerId"))
+                .isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,101 @@
+package compass.career.evaluationsapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import compass.career.evaluationsapi.controller.RestExceptionHandler;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GroqServiceCircuitBreakerTest {
+
+    private static final int WINDOW = 4;
+
+    private final AtomicInteger groqRequests = new AtomicInteger();
+    private HttpServer groq;
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private GroqService groqService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        groq = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        groq.createContext("/", exchange -> {
+            groqRequests.incrementAndGet();
+            byte[] body = "{\"error\":\"upstream unavailable\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(500, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        groq.start();
+
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(WINDOW)
+                .minimumNumberOfCalls(WINDOW)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build());
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ObjectMapper objectMapper = new ObjectMapper();
+        groqService = new GroqService(
+                "test-key",
+                "http://127.0.0.1:" + groq.getAddress().getPort() + "/openai/v1/chat/completions",
+                "llama-3.3-70b-versatile",
+                2000,
+                0.3,
+                objectMapper,
+                new GroqResponseParser(objectMapper),
+                new GroqTokenMeter(meterRegistry, false, 1_000_000, Duration.ofHours(1), 50_000, Duration.ofDays(1), false, 512),
+                new CatalogPromptEncoder("markdown", 40),
+                new GroqModelRouter(meterRegistry, null, null, false, "llama-3.1-8b-instant", 1200, 10, 0.6, Duration.ofMinutes(1)),
+                circuitBreakerRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        groq.stop(0);
+    }
+
+    @Test
+    void opensAfterFailuresAndThenFailsFastWithoutCallingGroq() {
+        for (int i = 0; i < WINDOW; i++) {
+            assertThatThrownBy(() -> groqService.callGroqAPI("prompt", "system", "test", 1))
+                    .hasMessageContaining("Groq API error: 500");
+        }
+
+        assertThat(circuitBreakerRegistry.circuitBreaker("groq").getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        assertThatThrownBy(() -> groqService.callGroqAPI("prompt", "system", "test", 1))
+                .isInstanceOf(CallNotPermittedException.class);
+        assertThat(groqRequests.get()).isEqualTo(WINDOW);
+    }
+
+    @Test
+    void openCircuitIsReportedAsServiceUnavailable() {
+        CircuitBreaker breaker = circuitBreakerRegistry.circuitBreaker("groq");
+        breaker.transitionToOpenState();
+
+        CallNotPermittedException exception = CallNotPermittedException.createCallNotPermittedException(breaker);
+        ResponseEntity<Map<String, Object>> response = new RestExceptionHandler().handleCallNotPermitted(exception);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getBody()).containsEntry("code", "EXTERNAL_SERVICE_CIRCUIT_OPEN");
+    }
+}
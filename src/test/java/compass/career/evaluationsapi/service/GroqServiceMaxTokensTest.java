@@ -0,0 +1,98 @@
+package compass.career.evaluationsapi.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GroqServiceMaxTokensTest {
+
+    private static final String OPERATION = "test";
+    private static final int CONFIGURED_MAX = 2_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // max_tokens de cada petición recibida
+    private final List<Integer> requestedMaxTokens = new CopyOnWriteArrayList<>();
+    private HttpServer groq;
+    private GroqTokenMeter tokenMeter;
+    private GroqService groqService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        groq = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        groq.createContext("/", exchange -> {
+            JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+            int maxTokens = request.get("max_tokens").asInt();
+            requestedMaxTokens.add(maxTokens);
+
+            // La respuesta necesita 1500 tokens: con un límite menor llega cortada
+            boolean truncated = maxTokens < 1_500;
+            String body = "{\"choices\": [{\"message\": {\"content\": \"" + (truncated ? "{\\\"cut" : "{}") + "\"},"
+                    + " \"finish_reason\": \"" + (truncated ? "length" : "stop") + "\"}],"
+                    + " \"usage\": {\"prompt_tokens\": 100, \"completion_tokens\": " + Math.min(maxTokens, 1_500)
+                    + ", \"total_tokens\": " + (100 + Math.min(maxTokens, 1_500)) + "}}";
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+        });
+        groq.start();
+
+        tokenMeter = new GroqTokenMeter(meterRegistry, false, 1_000_000, Duration.ofHours(1), 50_000,
+                Duration.ofDays(1), true, 512);
+        groqService = new GroqService(
+                "test-key",
+                "http://127.0.0.1:" + groq.getAddress().getPort() + "/openai/v1/chat/completions",
+                "llama-3.3-70b-versatile",
+                CONFIGURED_MAX,
+                0.3,
+                objectMapper,
+                new GroqResponseParser(objectMapper),
+                tokenMeter,
+                new CatalogPromptEncoder("markdown", 40),
+                new GroqModelRouter(meterRegistry, null, null, false, "llama-3.1-8b-instant", 1200, 10, 0.6, Duration.ofMinutes(1)),
+                CircuitBreakerRegistry.ofDefaults());
+    }
+
+    @AfterEach
+    void tearDown() {
+        groq.stop(0);
+    }
+
+    @Test
+    void truncatedAnswerUnderTheAdaptiveLimitIsRetriedWithTheConfiguredMax() throws Exception {
+        // Respuestas recientes de 800 tokens: el límite ajustado queda en 1000
+        tokenMeter.record(OPERATION, null, 100, 800, false);
+
+        String content = groqService.callGroqAPI("prompt", "system", OPERATION, 1);
+
+        assertThat(content).isEqualTo("{}");
+        assertThat(requestedMaxTokens).containsExactly(1_000, CONFIGURED_MAX);
+        assertThat(meterRegistry.counter("groq.max-tokens.retries", "operation", OPERATION).count()).isEqualTo(1);
+        // Se contabilizan las dos llamadas
+        assertThat(tokenMeter.getTotalTokens()).isEqualTo(900 + 1_100 + 1_600);
+    }
+
+    @Test
+    void answerFittingTheAdaptiveLimitIsNotRetried() throws Exception {
+        tokenMeter.record(OPERATION, null, 100, 1_400, false);
+
+        groqService.callGroqAPI("prompt", "system", OPERATION, 1);
+
+        assertThat(requestedMaxTokens).containsExactly(1_750);
+        assertThat(meterRegistry.find("groq.max-tokens.retries").counter()).isNull();
+    }
+}
@@ -0,0 +1,149 @@
+package compass.career.evaluationsapi.service;
+
+import compass.career.evaluationsapi.controller.RestExceptionHandler;
+import compass.career.evaluationsapi.exception.TokenBudgetExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class GroqTokenMeterTest {
+
+    private static final String OPERATION = "career_recommendations";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    // Global: 1.000 tokens por hora; usuario: 300 tokens por día
+    private GroqTokenMeter meter(boolean budgetEnabled) {
+        return new GroqTokenMeter(meterRegistry, budgetEnabled, 1_000, Duration.ofHours(1), 300, Duration.ofDays(1),
+                true, 512, now::get);
+    }
+
+    @Test
+    void globalWindowRejectsUntilItRolls() {
+        GroqTokenMeter meter = meter(true);
+        meter.record(OPERATION, null, 600, 400, false);
+
+        now.addAndGet(Duration.ofMinutes(20).toMillis());
+        TokenBudgetExceededException rejected = catchThrowableOfType(
+                TokenBudgetExceededException.class, () -> meter.checkBudget(OPERATION, 7));
+
+        assertThat(rejected.getScope()).isEqualTo("global");
+        assertThat(rejected.getRetryAfterSeconds()).isEqualTo(Duration.ofMinutes(40).toSeconds());
+        assertThat(meterRegistry.counter("groq.budget.rejections", "operation", OPERATION, "scope", "global").count())
+                .isEqualTo(1);
+
+        now.addAndGet(Duration.ofMinutes(40).toMillis());
+        assertThatCode(() -> meter.checkBudget(OPERATION, 7)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void userWindowOnlyAffectsThatUser() {
+        GroqTokenMeter meter = meter(true);
+        meter.record(OPERATION, 1, 200, 100, false);
+
+        TokenBudgetExceededException rejected = catchThrowableOfType(
+                TokenBudgetExceededException.class, () -> meter.checkBudget(OPERATION, 1));
+        assertThat(rejected.getScope()).isEqualTo("user");
+        assertThat(rejected.getRetryAfterSeconds()).isEqualTo(Duration.ofDays(1).toSeconds());
+
+        assertThatCode(() -> meter.checkBudget(OPERATION, 2)).doesNotThrowAnyException();
+        assertThatCode(() -> meter.checkBudget(OPERATION, null)).doesNotThrowAnyException();
+
+        now.addAndGet(Duration.ofDays(1).toMillis());
+        assertThatCode(() -> meter.checkBudget(OPERATION, 1)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void retryAfterIsAtLeastOneSecond() {
+        GroqTokenMeter meter = meter(true);
+        meter.record(OPERATION, null, 1_000, 0, false);
+        now.addAndGet(Duration.ofHours(1).toMillis() - 10);
+
+        TokenBudgetExceededException rejected = catchThrowableOfType(
+                TokenBudgetExceededException.class, () -> meter.checkBudget(OPERATION, null));
+        assertThat(rejected.getRetryAfterSeconds()).isEqualTo(1);
+    }
+
+    @Test
+    void disabledBudgetNeverRejects() {
+        GroqTokenMeter meter = meter(false);
+        meter.record(OPERATION, 1, 50_000, 50_000, false);
+
+        assertThatCode(() -> meter.checkBudget(OPERATION, 1)).doesNotThrowAnyException();
+        assertThat(meter.getTotalTokens()).isEqualTo(100_000);
+    }
+
+    @Test
+    void tokensAreCountedPerOperationAndType() {
+        GroqTokenMeter meter = meter(true);
+        meter.record(OPERATION, 1, 120, 30, false);
+        meter.record(OPERATION, 2, 80, 20, false);
+
+        assertThat(meterRegistry.get("groq.tokens").tags("operation", OPERATION, "type", "prompt").functionCounter().count())
+                .isEqualTo(200);
+        assertThat(meterRegistry.get("groq.tokens").tags("operation", OPERATION, "type", "completion").functionCounter().count())
+                .isEqualTo(50);
+        assertThat(meterRegistry.get("groq.tokens.window.global").gauge().value()).isEqualTo(250);
+    }
+
+    @Test
+    void threadTokensOnlyCountCallsMadeFromTheCurrentThread() throws InterruptedException {
+        GroqTokenMeter meter = meter(true);
+        long before = meter.getThreadTokens();
+        meter.record(OPERATION, 1, 120, 30, false);
+
+        Thread other = new Thread(() -> meter.record(OPERATION, 2, 500, 500, false));
+        other.start();
+        other.join();
+
+        assertThat(meter.getThreadTokens() - before).isEqualTo(150);
+        assertThat(meter.getTotalTokens()).isEqualTo(1_150);
+    }
+
+    @Test
+    void maxTokensFollowsRecentCompletionsWithinBounds() {
+        GroqTokenMeter meter = meter(true);
+        assertThat(meter.maxTokensFor(OPERATION, 2_000)).isEqualTo(2_000);
+
+        meter.record(OPERATION, null, 100, 800, false);
+        meter.record(OPERATION, null, 100, 1_000, false);
+        assertThat(meter.maxTokensFor(OPERATION, 2_000)).isEqualTo(1_250);
+        assertThat(meter.maxTokensFor(OPERATION, 1_100)).isEqualTo(1_100);
+
+        meter.record("small_operation", null, 100, 10, false);
+        assertThat(meter.maxTokensFor("small_operation", 2_000)).isEqualTo(512);
+
+        // Una respuesta truncada devuelve el máximo configurado mientras siga en la muestra
+        meter.record(OPERATION, null, 100, 2_000, true);
+        assertThat(meter.maxTokensFor(OPERATION, 2_000)).isEqualTo(2_000);
+    }
+
+    @Test
+    void budgetRejectionIsMappedTo429WithRetryAfter() {
+        RestExceptionHandler handler = new RestExceptionHandler();
+
+        ResponseEntity<Map<String, Object>> user = handler.handleTokenBudgetExceeded(new TokenBudgetExceededException("user", 90));
+        assertThat(user.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(user.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("90");
+        assertThat(user.getBody())
+                .containsEntry("code", "TOKEN_BUDGET_EXCEEDED")
+                .containsEntry("retryAfterSeconds", 90L)
+                .containsEntry("status", 429);
+        assertThat((String) user.getBody().get("message")).contains("You have reached");
+
+        ResponseEntity<Map<String, Object>> global = handler.handleTokenBudgetExceeded(new TokenBudgetExceededException("global", 5));
+        assertThat(global.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("5");
+        assertThat((String) global.getBody().get("message")).contains("service has reached");
+    }
+}
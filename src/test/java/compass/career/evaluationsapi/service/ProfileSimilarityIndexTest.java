@@ -0,0 +1,129 @@
+package compass.career.evaluationsapi.service;
+
+import compass.career.evaluationsapi.model.UserProfile;
+import compass.career.evaluationsapi.repository.UserProfileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProfileSimilarityIndexTest {
+
+    private UserProfileRepository repository;
+    private ProfileSimilarityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(UserProfileRepository.class);
+        index = new ProfileSimilarityIndex(repository);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "similarityThreshold", 0.95);
+        ReflectionTestUtils.setField(index, "maxCandidates", 5);
+    }
+
+    @Test
+    void returnsNeighboursAboveTheThresholdOrderedBySimilarity() {
+        when(repository.findAll()).thenReturn(List.of(
+                personality(1, 50),
+                personality(2, 60),
+                personality(3, 51),
+                personality(4, 70)));
+        index.refresh();
+
+        List<ProfileSimilarityIndex.Neighbour> neighbours = index.findNeighbours(personality(1, 50));
+
+        // El propio usuario se excluye y el 4 (distancia 0.2 en una dimensión) queda bajo el umbral
+        assertThat(neighbours).extracting(ProfileSimilarityIndex.Neighbour::userId).containsExactly(3, 2);
+        assertThat(neighbours.get(0).similarity()).isCloseTo(1 - Math.sqrt(0.0001 / 5), within(1e-6));
+        assertThat(neighbours.get(1).similarity()).isCloseTo(1 - Math.sqrt(0.01 / 5), within(1e-6));
+    }
+
+    @Test
+    void keepsOnlyTheBestCandidates() {
+        ReflectionTestUtils.setField(index, "maxCandidates", 2);
+        when(repository.findAll()).thenReturn(List.of(
+                personality(1, 52), personality(2, 51), personality(3, 53), personality(4, 54)));
+        index.refresh();
+
+        assertThat(index.findNeighbours(personality(99, 50)))
+                .extracting(ProfileSimilarityIndex.Neighbour::userId)
+                .containsExactly(2, 1);
+    }
+
+    @Test
+    void onlyComparesProfilesWithTheSameCompletedSections() {
+        UserProfile withVocational = personality(2, 50);
+        withVocational.setVocationalAreas(new String[]{"Tecnologia"});
+        withVocational.setVocationalPercentages(new Double[]{80.0});
+        when(repository.findAll()).thenReturn(List.of(withVocational));
+        index.refresh();
+
+        assertThat(index.findNeighbours(personality(1, 50))).isEmpty();
+    }
+
+    @Test
+    void matchesAreasByNameAndRejectsUnknownAreas() {
+        when(repository.findAll()).thenReturn(List.of(
+                vocational(2, new String[]{"Tecnologia", "Arte"}, 80.0, 20.0),
+                vocational(3, new String[]{"Arte", "Tecnologia"}, 80.0, 20.0)));
+        index.refresh();
+
+        // El orden del arreglo no importa: cada área tiene su dimensión
+        assertThat(index.findNeighbours(vocational(1, new String[]{"Arte", "Tecnologia"}, 20.0, 80.0)))
+                .extracting(ProfileSimilarityIndex.Neighbour::userId)
+                .containsExactly(2);
+
+        // Un área fuera del índice con peso alto ya supera la distancia máxima
+        assertThat(index.findNeighbours(vocational(1, new String[]{"Salud"}, 90.0))).isEmpty();
+    }
+
+    @Test
+    void disabledOrEmptyQueriesReturnNothing() {
+        when(repository.findAll()).thenReturn(List.of(personality(2, 50)));
+        index.refresh();
+
+        assertThat(index.findNeighbours(new UserProfile())).isEmpty();
+
+        ReflectionTestUtils.setField(index, "enabled", false);
+        assertThat(index.findNeighbours(personality(1, 50))).isEmpty();
+    }
+
+    @Test
+    void failedRefreshKeepsThePreviousIndex() {
+        when(repository.findAll())
+                .thenReturn(List.of(personality(2, 50)))
+                .thenThrow(new IllegalStateException("database down"));
+        index.refresh();
+        index.refresh();
+
+        assertThat(index.findNeighbours(personality(1, 50)))
+                .extracting(ProfileSimilarityIndex.Neighbour::userId)
+                .containsExactly(2);
+    }
+
+    // Big Five con la apertura indicada y el resto en 50
+    private static UserProfile personality(int userId, double openness) {
+        UserProfile profile = new UserProfile();
+        profile.setUserId(userId);
+        profile.setOpenness(openness);
+        profile.setConscientiousness(50.0);
+        profile.setExtraversion(50.0);
+        profile.setAgreeableness(50.0);
+        profile.setNeuroticism(50.0);
+        return profile;
+    }
+
+    private static UserProfile vocational(int userId, String[] areas, Double... percentages) {
+        UserProfile profile = new UserProfile();
+        profile.setUserId(userId);
+        profile.setVocationalAreas(areas);
+        profile.setVocationalPercentages(percentages);
+        return profile;
+    }
+}
@@ -0,0 +1,104 @@
+package compass.career.evaluationsapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import compass.career.evaluationsapi.dto.QuestionRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Medición manual (no forma parte de la suite de tests) de la lectura en streaming de un banco de
+ * preguntas: NDJSON y CSV, planos y con gzip, con el heap usado tras la lectura. Argumento
+ * opcional: número de preguntas (por defecto 50.000, 4 opciones cada una).
+ * Ejecutar desde el IDE o con: java -Xmx64m -cp target/test-classes:target/classes:... QuestionBankReaderBenchmark
+ */
+public class QuestionBankReaderBenchmark {
+
+    private static final int OPTIONS_PER_QUESTION = 4;
+
+    public static void main(String[] args) throws IOException {
+        int questions = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        QuestionBankReader reader = new QuestionBankReader(new ObjectMapper());
+
+        byte[] ndjson = ndjson(questions);
+        byte[] csv = csv(questions);
+        byte[] ndjsonGzip = gzip(ndjson);
+        byte[] csvGzip = gzip(csv);
+
+        // Calentamiento del JIT
+        for (int i = 0; i < 3; i++) {
+            read(reader, ndjson, QuestionBankReader.Format.NDJSON);
+            read(reader, csv, QuestionBankReader.Format.CSV);
+        }
+
+        System.out.printf("%,d questions x %d options%n", questions, OPTIONS_PER_QUESTION);
+        System.out.printf("%-14s %12s %10s %12s %14s%n", "input", "bytes", "ms", "questions", "heap after MB");
+        report(reader, "ndjson", ndjson, QuestionBankReader.Format.NDJSON);
+        report(reader, "ndjson.gz", ndjsonGzip, QuestionBankReader.Format.NDJSON);
+        report(reader, "csv", csv, QuestionBankReader.Format.CSV);
+        report(reader, "csv.gz", csvGzip, QuestionBankReader.Format.CSV);
+    }
+
+    private static void report(QuestionBankReader reader, String name, byte[] input, QuestionBankReader.Format format)
+            throws IOException {
+        System.gc();
+        long start = System.nanoTime();
+        int read = read(reader, input, format);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        Runtime runtime = Runtime.getRuntime();
+        long usedMb = (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024);
+        System.out.printf("%-14s %,12d %10d %,12d %14d%n", name, input.length, elapsedMs, read, usedMb);
+    }
+
+    private static int read(QuestionBankReader reader, byte[] input, QuestionBankReader.Format format) throws IOException {
+        int count = 0;
+        try (QuestionBankReader.Source source = reader.open(new ByteArrayInputStream(input), format)) {
+            QuestionBankReader.Item item;
+            while ((item = source.next()) != null) {
+                QuestionRequest question = item.question();
+                if (question == null || question.getOptions().size() != OPTIONS_PER_QUESTION) {
+                    throw new IllegalStateException("Unexpected item at line " + item.line() + ": " + item.error());
+                }
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static byte[] ndjson(int questions) {
+        StringBuilder out = new StringBuilder();
+        for (int q = 1; q <= questions; q++) {
+            out.append("{\"questionText\":\"Question ").append(q).append(": how much do you enjoy task ").append(q)
+                    .append("?\",\"orderNumber\":").append(q).append(",\"options\":[");
+            for (int o = 1; o <= OPTIONS_PER_QUESTION; o++) {
+                out.append(o > 1 ? "," : "").append("{\"optionText\":\"Option ").append(o)
+                        .append("\",\"weightValue\":").append(o).append(",\"category\":\"AREA_").append(o).append("\"}");
+            }
+            out.append("]}\n");
+        }
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] csv(int questions) {
+        StringBuilder out = new StringBuilder("questionText,orderNumber,optionText,weightValue,category\r\n");
+        for (int q = 1; q <= questions; q++) {
+            for (int o = 1; o <= OPTIONS_PER_QUESTION; o++) {
+                out.append("\"Question ").append(q).append(", how much do you enjoy \"\"task\"\" ").append(q).append("?\",")
+                        .append(q).append(",Option ").append(o).append(',').append(o).append(",AREA_").append(o).append("\r\n");
+            }
+        }
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] gzip(byte[] input) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(input);
+        }
+        return bytes.toByteArray();
+    }
+}
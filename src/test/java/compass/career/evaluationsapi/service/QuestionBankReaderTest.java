@@ -0,0 +1,175 @@
+package compass.career.evaluationsapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import compass.career.evaluationsapi.dto.AnswerOptionRequest;
+import compass.career.evaluationsapi.service.QuestionBankReader.Format;
+import compass.career.evaluationsapi.service.QuestionBankReader.Item;
+import compass.career.evaluationsapi.service.QuestionBankReader.Source;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class QuestionBankReaderTest {
+
+    private static final String HEADER = "questionText,orderNumber,optionText,weightValue,category\n";
+
+    private final QuestionBankReader reader = new QuestionBankReader(new ObjectMapper());
+
+    @Test
+    void csvGroupsConsecutiveRowsIntoQuestions() throws IOException {
+        List<Item> items = readAll(HEADER
+                + "Te gusta programar?,1,Si,5,TECH\n"
+                + "Te gusta programar?,1,No,0,TECH\n"
+                + "Te gusta dibujar?,2,Si,5,ART\n", Format.CSV);
+
+        assertThat(items).extracting(Item::line).containsExactly(2L, 4L);
+        assertThat(items.get(0).question().getOrderNumber()).isEqualTo(1);
+        assertThat(items.get(0).question().getOptions())
+                .extracting(AnswerOptionRequest::getOptionText, AnswerOptionRequest::getWeightValue, AnswerOptionRequest::getCategory)
+                .containsExactly(
+                        tuple("Si", 5, "TECH"),
+                        tuple("No", 0, "TECH"));
+        assertThat(items.get(1).question().getQuestionText()).isEqualTo("Te gusta dibujar?");
+    }
+
+    @Test
+    void csvQuotedFieldsKeepCommasQuotesAndNewlines() throws IOException {
+        List<Item> items = readAll(HEADER
+                + "\"Elige, por favor\",1,\"Dice \"\"hola\"\"\",1,\n"
+                + "\"Elige, por favor\",1,\"Dos\nlineas\",2,\n"
+                + "Siguiente,2,Si,1,\n", Format.CSV);
+
+        assertThat(items).hasSize(2);
+        assertThat(items.get(0).question().getQuestionText()).isEqualTo("Elige, por favor");
+        assertThat(items.get(0).question().getOptions())
+                .extracting(AnswerOptionRequest::getOptionText)
+                .containsExactly("Dice \"hola\"", "Dos\nlineas");
+        // El salto de línea dentro de comillas también cuenta para la línea de la siguiente pregunta
+        assertThat(items.get(1).line()).isEqualTo(5);
+        assertThat(items.get(0).question().getOptions().get(0).getCategory()).isNull();
+    }
+
+    @Test
+    void csvAcceptsBomCrlfAndBlankLines() throws IOException {
+        List<Item> items = readAll("\uFEFFquestionText,orderNumber,optionText\r\n"
+                + "\r\n"
+                + "Uno,1,Si\r\n"
+                + "\r\n"
+                + "Dos,2,No", Format.CSV);
+
+        assertThat(items).extracting(Item::line).containsExactly(3L, 5L);
+        assertThat(items).extracting(item -> item.question().getQuestionText()).containsExactly("Uno", "Dos");
+        assertThat(items.get(1).question().getOptions().get(0).getWeightValue()).isNull();
+    }
+
+    @Test
+    void csvBadNumbersAreReportedAndReadingContinues() throws IOException {
+        List<Item> items = readAll(HEADER
+                + "Uno,uno,Si,5,\n"
+                + "Dos,2,Si,mucho,\n"
+                + "Tres,3,Si,1,\n", Format.CSV);
+
+        assertThat(items).hasSize(3);
+        assertThat(items.get(0).question()).isNull();
+        assertThat(items.get(0).error()).isEqualTo("orderNumber 'uno' is not an integer");
+        assertThat(items.get(1).line()).isEqualTo(3);
+        assertThat(items.get(1).error()).isEqualTo("weightValue 'mucho' is not an integer");
+        assertThat(items.get(2).error()).isNull();
+        assertThat(items.get(2).question().getOrderNumber()).isEqualTo(3);
+    }
+
+    @Test
+    void csvStructuralProblemsStopTheImport() {
+        assertThatThrownBy(() -> readAll("", Format.CSV))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("empty");
+        assertThatThrownBy(() -> readAll("questionText,optionText\nUno,Si\n", Format.CSV))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("missing 'orderNumber'");
+        assertThatThrownBy(() -> readAll(HEADER + "Uno,1,Si,1,\n\"Dos,2,Si,1,\n", Format.CSV))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("unterminated quoted field");
+    }
+
+    @Test
+    void ndjsonRecoversFromBadItemsButNotFromMalformedJson() throws IOException {
+        List<Item> items = readAll("{\"questionText\": \"Uno\", \"orderNumber\": 1, \"options\": [{\"optionText\": \"Si\", \"weightValue\": 5}]}\n"
+                + "{\"questionText\": \"Dos\", \"orderNumber\": \"dos\", \"options\": []}\n"
+                + "\n"
+                + "{\"questionText\": \"Tres\", \"orderNumber\": 3, \"options\": [{\"optionText\": \"No\"}]}\n", Format.NDJSON);
+
+        assertThat(items).extracting(Item::line).containsExactly(1L, 2L, 4L);
+        assertThat(items.get(0).question().getOptions()).singleElement()
+                .extracting(AnswerOptionRequest::getWeightValue).isEqualTo(5);
+        assertThat(items.get(1).question()).isNull();
+        assertThat(items.get(1).error()).isNotBlank();
+        assertThat(items.get(2).question().getQuestionText()).isEqualTo("Tres");
+
+        assertThatThrownBy(() -> readAll("{\"questionText\": \"Uno\", \"orderNumber\": 1}\n{\"questionText\": \n", Format.NDJSON))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Malformed NDJSON");
+    }
+
+    @Test
+    void gzipBodiesAreDetectedByTheirMagicBytes() throws IOException {
+        String csv = HEADER + "Uno,1,Si,1,\nDos,2,No,0,\n";
+
+        try (Source source = reader.open(new ByteArrayInputStream(gzip(csv)), Format.CSV)) {
+            assertThat(source.compressed()).isTrue();
+            assertThat(source.next().question().getQuestionText()).isEqualTo("Uno");
+            assertThat(source.next().question().getQuestionText()).isEqualTo("Dos");
+            assertThat(source.next()).isNull();
+        }
+        try (Source source = reader.open(new ByteArrayInputStream(gzip("{\"orderNumber\": 7}\n")), Format.NDJSON)) {
+            assertThat(source.compressed()).isTrue();
+            assertThat(source.next().question().getOrderNumber()).isEqualTo(7);
+        }
+        try (Source source = reader.open(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), Format.CSV)) {
+            assertThat(source.compressed()).isFalse();
+        }
+    }
+
+    @Test
+    void formatFollowsTheContentType() {
+        assertThat(Format.fromContentType("text/csv")).isEqualTo(Format.CSV);
+        assertThat(Format.fromContentType("text/csv; charset=UTF-8")).isEqualTo(Format.CSV);
+        assertThat(Format.fromContentType("application/x-ndjson")).isEqualTo(Format.NDJSON);
+        assertThat(Format.fromContentType("application/json")).isEqualTo(Format.NDJSON);
+        assertThat(Format.fromContentType("application/jsonl")).isEqualTo(Format.NDJSON);
+
+        assertThatThrownBy(() -> Format.fromContentType("application/xml"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unsupported import format");
+        assertThatThrownBy(() -> Format.fromContentType("not a type"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<Item> readAll(String body, Format format) throws IOException {
+        List<Item> items = new ArrayList<>();
+        try (Source source = reader.open(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format)) {
+            Item item;
+            while ((item = source.next()) != null) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,118 @@
+package compass.career.evaluationsapi.service;
+
+import compass.career.evaluationsapi.model.Career;
+import compass.career.evaluationsapi.model.CareerRecommendation;
+import compass.career.evaluationsapi.model.UserProfile;
+import compass.career.evaluationsapi.model.VocationalArea;
+import compass.career.evaluationsapi.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RecommendationDeltaServiceImplTest {
+
+    private static final int USER_ID = 1;
+    private static final String OLD_VERSION = "old-catalog";
+
+    private CareerRepository careerRepository;
+    private CareerRecommendationRepository careerRecommendationRepository;
+    private RecommendationDeltaServiceImpl service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        careerRepository = mock(CareerRepository.class);
+        careerRecommendationRepository = mock(CareerRecommendationRepository.class);
+        VocationalAreaRepository vocationalAreaRepository = mock(VocationalAreaRepository.class);
+        UserProfileService userProfileService = mock(UserProfileService.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+
+        when(vocationalAreaRepository.findAll()).thenReturn(List.of(
+                new VocationalArea(1, "Tecnologia", "Software, programacion y sistemas", null)));
+        when(userProfileService.getProfile(USER_ID)).thenReturn(techProfile());
+        when(careerRecommendationRepository.findDistinctUserIds()).thenReturn(List.of(USER_ID));
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any(Consumer.class));
+
+        service = new RecommendationDeltaServiceImpl(careerRepository, careerRecommendationRepository,
+                mock(SpecializationAreaRepository.class), mock(SpecializationRecommendationRepository.class),
+                userProfileService, new LocalRecommendationScorer(vocationalAreaRepository), mock(GroqService.class),
+                transactionTemplate, mock(ApplicationEventPublisher.class));
+        ReflectionTestUtils.setField(service, "engine", "local");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void localEngineOnlyScoresNewCareersAndKeepsTheModelScoreOfEditedOnes() {
+        // Sin palabras clave del área: la afinidad local la dejaría en el mínimo del usuario
+        Career edited = career(1, "Ingenieria Industrial", "Gestion de plantas");
+        Career other = career(2, "Derecho", "Asesoria legal");
+        Career added = career(3, "Ciencia de Datos", "Programacion y sistemas de datos");
+        when(careerRepository.findAllById(List.of(1, 3))).thenReturn(List.of(edited, added));
+        when(careerRepository.findAll()).thenReturn(List.of(edited, other, added));
+        when(careerRecommendationRepository.findByUserIdOrderByCompatibilityPercentageDesc(USER_ID))
+                .thenReturn(new ArrayList<>(List.of(recommendation(10, edited, "92.00"), recommendation(11, other, "40.00"))));
+
+        service.applyCareerDelta(List.of(1, 3));
+
+        ArgumentCaptor<List<CareerRecommendation>> saved = ArgumentCaptor.forClass(List.class);
+        verify(careerRecommendationRepository).saveAll(saved.capture());
+        assertThat(saved.getValue())
+                .extracting(r -> r.getCareer().getId(), CareerRecommendation::getCompatibilityPercentage)
+                .containsExactly(
+                        tuple(1, new BigDecimal("92.00")),
+                        tuple(3, new BigDecimal("92.00")),
+                        tuple(2, new BigDecimal("40.00")));
+        // La editada sigue marcada con el catálogo anterior; las demás pasan al actual
+        assertThat(saved.getValue())
+                .filteredOn(r -> r.getCareer().getId() == 1)
+                .extracting(CareerRecommendation::getCatalogVersion)
+                .containsExactly(OLD_VERSION);
+        assertThat(saved.getValue())
+                .filteredOn(r -> r.getCareer().getId() != 1)
+                .extracting(CareerRecommendation::getCatalogVersion)
+                .doesNotContain(OLD_VERSION);
+    }
+
+    private static UserProfile techProfile() {
+        UserProfile profile = new UserProfile();
+        profile.setUserId(USER_ID);
+        profile.setVocationalAreas(new String[]{"Tecnologia"});
+        profile.setVocationalPercentages(new Double[]{90.0});
+        return profile;
+    }
+
+    private static Career career(int id, String name, String graduateProfile) {
+        Career career = new Career();
+        career.setId(id);
+        career.setName(name);
+        career.setGraduateProfile(graduateProfile);
+        return career;
+    }
+
+    private static CareerRecommendation recommendation(Integer id, Career career, String percentage) {
+        CareerRecommendation recommendation = new CareerRecommendation();
+        recommendation.setId(id);
+        recommendation.setUserId(USER_ID);
+        recommendation.setCareer(career);
+        recommendation.setCompatibilityPercentage(new BigDecimal(percentage));
+        recommendation.setCatalogVersion(OLD_VERSION);
+        return recommendation;
+    }
+}
@@ -0,0 +1,199 @@
+package compass.career.evaluationsapi.service;
+
+import compass.career.evaluationsapi.dto.RecommendationRefreshJobResponse;
+import compass.career.evaluationsapi.dto.RecommendationRefreshRequest;
+import compass.career.evaluationsapi.model.RecommendationRefreshJob;
+import compass.career.evaluationsapi.repository.CompletedEvaluationRepository;
+import compass.career.evaluationsapi.repository.RecommendationRefreshJobRepository;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.stubbing.Answer;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RecommendationRefreshServiceImplTest {
+
+    private static final String LOCK_NAME = "recommendation-refresh";
+    private static final Duration LEASE = Duration.ofMinutes(10);
+
+    private RecommendationRefreshJobRepository jobRepository;
+    private SchedulerLockService schedulerLockService;
+    private TaskExecutor jobExecutor;
+    private RecommendationRefreshServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        jobRepository = mock(RecommendationRefreshJobRepository.class);
+        schedulerLockService = mock(SchedulerLockService.class);
+        jobExecutor = mock(TaskExecutor.class);
+        when(jobRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        service = new RecommendationRefreshServiceImpl(jobRepository, mock(CompletedEvaluationRepository.class),
+                mock(CareerService.class), mock(SpecializationService.class), mock(GroqService.class),
+                schedulerLockService, jobExecutor, mock(ThreadPoolTaskExecutor.class));
+        ReflectionTestUtils.setField(service, "lease", LEASE);
+        ReflectionTestUtils.setField(service, "usdPerMillionTokens", new BigDecimal("0.79"));
+    }
+
+    @Test
+    void resumeIsRejectedWhileAnotherInstanceHoldsTheLease() {
+        when(jobRepository.findById(7L)).thenReturn(Optional.of(job(RecommendationRefreshJob.Status.RUNNING)));
+        when(schedulerLockService.tryAcquire(LOCK_NAME, LEASE)).thenReturn(false);
+
+        assertThatThrownBy(() -> service.resumeJob(7L, null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("another instance");
+
+        verify(jobRepository, never()).save(any());
+        verifyNoInteractions(jobExecutor);
+        verify(schedulerLockService, never()).release(LOCK_NAME);
+    }
+
+    @Test
+    void orphanedRunningJobIsResumedOnceTheLeaseIsFree() {
+        when(jobRepository.findById(7L)).thenReturn(Optional.of(job(RecommendationRefreshJob.Status.RUNNING)));
+        when(schedulerLockService.tryAcquire(LOCK_NAME, LEASE)).thenReturn(false, true);
+
+        assertThatThrownBy(() -> service.resumeJob(7L, null)).isInstanceOf(IllegalStateException.class);
+
+        // El intento rechazado no deja la instancia marcada como ocupada
+        RecommendationRefreshJobResponse response = service.resumeJob(7L, 2_000L);
+
+        assertThat(response.getStatus()).isEqualTo("RUNNING");
+        assertThat(response.getTokenBudget()).isEqualTo(2_000L);
+        verify(jobExecutor).execute(any());
+    }
+
+    @Test
+    void secondResumeOnTheSameInstanceIsRejectedWithoutTouchingTheLease() {
+        when(jobRepository.findById(7L)).thenReturn(Optional.of(job(RecommendationRefreshJob.Status.PAUSED)));
+        when(schedulerLockService.tryAcquire(LOCK_NAME, LEASE)).thenReturn(true);
+
+        service.resumeJob(7L, null);
+        assertThatThrownBy(() -> service.resumeJob(7L, null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("A recommendation refresh job is already running");
+
+        verify(schedulerLockService, times(1)).tryAcquire(eq(LOCK_NAME), any());
+        verify(schedulerLockService, never()).release(LOCK_NAME);
+    }
+
+    @Test
+    void leaseIsReleasedWhenTheJobCannotBeLaunched() {
+        when(jobRepository.findById(7L)).thenReturn(Optional.of(job(RecommendationRefreshJob.Status.PAUSED)));
+        when(schedulerLockService.tryAcquire(LOCK_NAME, LEASE)).thenReturn(true);
+        doThrow(new IllegalStateException("rejected")).when(jobExecutor).execute(any());
+
+        assertThatThrownBy(() -> service.resumeJob(7L, null)).hasMessage("rejected");
+
+        verify(schedulerLockService).release(LOCK_NAME);
+    }
+
+    @Test
+    void usersFinishedAfterACutAreCountedOnceAndSkippedOnResume() {
+        CompletedEvaluationRepository completedEvaluationRepository = mock(CompletedEvaluationRepository.class);
+        CareerService careerService = mock(CareerService.class);
+        GroqService groqService = mock(GroqService.class);
+        List<Runnable> pending = new ArrayList<>();
+        AtomicBoolean reorder = new AtomicBoolean(true);
+        ThreadPoolTaskExecutor workers = new ThreadPoolTaskExecutor() {
+            // Simula workers en paralelo en la primera página: el 3 termina antes de que el 2 encuentre
+            // el circuito abierto; después se ejecuta en orden
+            @Override
+            public void execute(Runnable task) {
+                if (!reorder.get()) {
+                    task.run();
+                    return;
+                }
+                pending.add(task);
+                if (pending.size() == 3) {
+                    reorder.set(false);
+                    pending.get(2).run();
+                    pending.get(0).run();
+                    pending.get(1).run();
+                }
+            }
+        };
+        RecommendationRefreshServiceImpl service = new RecommendationRefreshServiceImpl(jobRepository,
+                completedEvaluationRepository, careerService, mock(SpecializationService.class), groqService,
+                schedulerLockService, Runnable::run, workers);
+        ReflectionTestUtils.setField(service, "lease", LEASE);
+        ReflectionTestUtils.setField(service, "pageSize", 100);
+        ReflectionTestUtils.setField(service, "estimatedTokensPerUser", 100L);
+        ReflectionTestUtils.setField(service, "usdPerMillionTokens", new BigDecimal("0.79"));
+        when(schedulerLockService.tryAcquire(LOCK_NAME, LEASE)).thenReturn(true);
+
+        // Cada refresco gasta 100 tokens en su hilo; el contador global no se usa
+        AtomicLong threadTokens = new AtomicLong();
+        when(groqService.getThreadTokensUsed()).thenAnswer(invocation -> threadTokens.get());
+        when(groqService.getTotalTokensUsed()).thenReturn(1_000_000L);
+        Answer<Object> spend = invocation -> threadTokens.addAndGet(100);
+        doAnswer(spend).when(careerService).refreshRecommendations(anyInt());
+        doThrow(CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("groq")))
+                .doAnswer(spend)
+                .when(careerService).refreshRecommendations(2);
+
+        when(completedEvaluationRepository.findUserIdsAfter(0, 100)).thenReturn(List.of(1, 2, 3));
+        when(completedEvaluationRepository.findUserIdsAfter(1, 100)).thenReturn(List.of(2, 3, 4));
+        when(completedEvaluationRepository.findUserIdsAfter(4, 100)).thenReturn(List.of());
+
+        RecommendationRefreshRequest request = new RecommendationRefreshRequest();
+        request.setTokenBudget(1_000_000L);
+        service.startJob(request);
+
+        ArgumentCaptor<RecommendationRefreshJob> saved = ArgumentCaptor.forClass(RecommendationRefreshJob.class);
+        verify(jobRepository, atLeastOnce()).save(saved.capture());
+        RecommendationRefreshJob job = saved.getValue();
+        assertThat(job.getStatus()).isEqualTo(RecommendationRefreshJob.Status.PAUSED);
+        assertThat(job.getLastUserId()).isEqualTo(1);
+        assertThat(job.getCompletedAfterCursor()).containsExactly(3);
+        assertThat(job.getProcessedCount()).isEqualTo(2);
+        assertThat(job.getTokensUsed()).isEqualTo(200);
+
+        when(jobRepository.findById(7L)).thenReturn(Optional.of(job));
+        service.resumeJob(7L, null);
+
+        assertThat(job.getStatus()).isEqualTo(RecommendationRefreshJob.Status.COMPLETED);
+        assertThat(job.getLastUserId()).isEqualTo(4);
+        assertThat(job.getCompletedAfterCursor()).isNull();
+        assertThat(job.getProcessedCount()).isEqualTo(4);
+        assertThat(job.getTokensUsed()).isEqualTo(400);
+        verify(careerService, times(1)).refreshRecommendations(3);
+        verify(careerService, times(2)).refreshRecommendations(2);
+    }
+
+    private static RecommendationRefreshJob job(RecommendationRefreshJob.Status status) {
+        RecommendationRefreshJob job = new RecommendationRefreshJob();
+        job.setId(7L);
+        job.setStatus(status);
+        job.setIncludeSpecializations(false);
+        job.setProcessedCount(10);
+        job.setFailedCount(0);
+        job.setSkippedCount(0);
+        job.setTokensUsed(1_000L);
+        job.setTokenBudget(1_500L);
+        job.setStartedAt(LocalDateTime.now().minusHours(1));
+        job.setUpdatedAt(LocalDateTime.now().minusMinutes(30));
+        return job;
+    }
+}
@@ -0,0 +1,123 @@
+package compass.career.evaluationsapi.service;
+
+import compass.career.evaluationsapi.service.RecommendationRepairer.Candidate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecommendationRepairerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RecommendationRepairer repairer = new RecommendationRepairer(meterRegistry);
+    private final AtomicInteger affinityBuilds = new AtomicInteger();
+
+    @Test
+    void dropsInvalidEntriesClampsScoresAndSortsDescending() {
+        List<Candidate> candidates = new ArrayList<>(List.of(
+                new Candidate(1, 70.0),
+                new Candidate(99, 95.0),
+                new Candidate(2, 120.0),
+                new Candidate(1, 99.0),
+                new Candidate(3, null),
+                new Candidate(4, Double.NaN),
+                new Candidate(5, -3.0)));
+        candidates.add(new Candidate(null, 50.0));
+
+        List<Candidate> repaired = repairer.repair("careers", candidates, Set.of(1, 2, 3, 4, 5),
+                affinity(id -> 0));
+
+        // Con cinco carreras el objetivo es 5: 3 y 4 se completan por debajo de la peor del modelo (0)
+        assertThat(repaired).extracting(Candidate::id).startsWith(2, 1, 5);
+        assertThat(repaired.subList(0, 3)).extracting(Candidate::compatibilityPercentage).containsExactly(100.0, 70.0, 0.0);
+        assertThat(repaired).hasSize(5);
+
+        assertThat(count("unknown_id")).isEqualTo(2);
+        assertThat(count("duplicate")).isEqualTo(1);
+        assertThat(count("missing_score")).isEqualTo(2);
+        assertThat(count("clamped")).isEqualTo(2);
+        assertThat(count("filled")).isEqualTo(2);
+    }
+
+    @Test
+    void truncatesToTheTopWithoutBuildingTheLocalScorer() {
+        List<Candidate> candidates = IntStream.rangeClosed(1, 13)
+                .mapToObj(id -> new Candidate(id, (double) id))
+                .collect(Collectors.toList());
+
+        List<Candidate> repaired = repairer.repair("careers", candidates, ids(20), affinity(id -> 1));
+
+        assertThat(repaired).hasSize(RecommendationRepairer.TOP_RECOMMENDATIONS);
+        assertThat(repaired.get(0)).isEqualTo(new Candidate(13, 13.0));
+        assertThat(repaired.get(9)).isEqualTo(new Candidate(4, 4.0));
+        assertThat(count("truncated")).isEqualTo(3);
+        assertThat(affinityBuilds).hasValue(0);
+    }
+
+    @Test
+    void fillsGapsByLocalAffinityBelowTheWorstModelScore() {
+        List<Candidate> candidates = List.of(
+                new Candidate(1, 90.0),
+                new Candidate(2, 80.0),
+                new Candidate(3, 60.0));
+
+        // Afinidad local creciente con el id: 20, 19, ... rellenan los siete huecos
+        List<Candidate> repaired = repairer.repair("specializations", candidates, ids(20), affinity(id -> id / 20.0));
+
+        assertThat(repaired).hasSize(RecommendationRepairer.TOP_RECOMMENDATIONS);
+        assertThat(repaired.subList(0, 3)).containsExactlyElementsOf(candidates);
+        assertThat(repaired.subList(3, 10)).extracting(Candidate::id).containsExactly(20, 19, 18, 17, 16, 15, 14);
+        // ceiling * (0.5 + 0.5 * afinidad), nunca por encima de la peor recomendación del modelo
+        assertThat(repaired.get(3).compatibilityPercentage()).isEqualTo(60.0);
+        assertThat(repaired.get(4).compatibilityPercentage()).isEqualTo(58.5);
+        assertThat(repaired.subList(3, 10)).allSatisfy(c -> assertThat(c.compatibilityPercentage()).isLessThanOrEqualTo(60.0));
+        assertThat(affinityBuilds).hasValue(1);
+        assertThat(meterRegistry.counter("recommendations.repair", "catalog", "specializations", "action", "filled").count())
+                .isEqualTo(7);
+    }
+
+    @Test
+    void nothingValidIsFilledEntirelyFromTheLocalRanking() {
+        List<Candidate> repaired = repairer.repair("careers", List.of(new Candidate(42, 99.0)), ids(3),
+                affinity(id -> id == 2 ? 1.0 : 0.0));
+
+        assertThat(repaired).extracting(Candidate::id).startsWith(2).hasSize(3);
+        assertThat(repaired.get(0).compatibilityPercentage()).isEqualTo(100.0);
+        assertThat(repaired.get(1).compatibilityPercentage()).isEqualTo(50.0);
+    }
+
+    @Test
+    void completeAnswerIsReturnedUnchanged() {
+        List<Candidate> candidates = IntStream.rangeClosed(1, 10)
+                .mapToObj(id -> new Candidate(id, 100.0 - id))
+                .collect(Collectors.toList());
+
+        assertThat(repairer.repair("careers", candidates, ids(30), affinity(id -> 1))).containsExactlyElementsOf(candidates);
+        assertThat(affinityBuilds).hasValue(0);
+        assertThat(meterRegistry.getMeters()).isEmpty();
+    }
+
+    private Supplier<ToDoubleFunction<Integer>> affinity(ToDoubleFunction<Integer> function) {
+        return () -> {
+            affinityBuilds.incrementAndGet();
+            return function;
+        };
+    }
+
+    private double count(String action) {
+        return meterRegistry.counter("recommendations.repair", "catalog", "careers", "action", action).count();
+    }
+
+    private static Set<Integer> ids(int size) {
+        return IntStream.rangeClosed(1, size).boxed().collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,195 @@
+package compass.career.evaluationsapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import compass.career.evaluationsapi.model.SocialDataCacheEntry;
+import compass.career.evaluationsapi.repository.SocialDataCacheRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SocialDataCacheTest {
+
+    private static final String KEY = "careers:ingenieria de software";
+    private static final Duration FRESH_TTL = Duration.ofHours(6);
+    private static final Duration STALE_TTL = Duration.ofDays(7);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, SocialDataCacheEntry> rows = new HashMap<>();
+    private final List<Runnable> scheduled = new ArrayList<>();
+    private final AtomicInteger loads = new AtomicInteger();
+    private SocialDataCacheRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        // L2 respaldado por un mapa para poder sembrar filas con la antigüedad deseada
+        repository = mock(SocialDataCacheRepository.class);
+        when(repository.findById(anyString())).thenAnswer(invocation -> Optional.ofNullable(rows.get(invocation.<String>getArgument(0))));
+        when(repository.save(any(SocialDataCacheEntry.class))).thenAnswer(invocation -> {
+            SocialDataCacheEntry row = invocation.getArgument(0);
+            rows.put(row.getCacheKey(), row);
+            return row;
+        });
+    }
+
+    @Test
+    void missingEntryIsLoadedPersistedAndThenServedFromMemory() throws Exception {
+        SocialDataCache cache = cache(scheduled::add);
+
+        assertThat(cache.get(KEY, loader("fresh"))).containsEntry("source", "fresh");
+        assertThat(rows).containsKey(KEY);
+
+        rows.clear();
+        assertThat(cache.get(KEY, loader("other"))).containsEntry("source", "fresh");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void freshDatabaseRowIsServedWithoutCallingReddit() throws Exception {
+        seed(KEY, "database", Duration.ofHours(1));
+
+        assertThat(cache(scheduled::add).get(KEY, loader("reddit"))).containsEntry("source", "database");
+        assertThat(loads).hasValue(0);
+        assertThat(scheduled).isEmpty();
+    }
+
+    @Test
+    void staleEntryIsServedAtOnceAndRefreshedOnlyOnceInBackground() throws Exception {
+        seed(KEY, "stale", Duration.ofDays(1));
+        SocialDataCache cache = cache(scheduled::add);
+
+        assertThat(cache.get(KEY, loader("reddit"))).containsEntry("source", "stale");
+        assertThat(cache.get(KEY, loader("reddit"))).containsEntry("source", "stale");
+        assertThat(scheduled).hasSize(1);
+        assertThat(loads).hasValue(0);
+
+        scheduled.get(0).run();
+        assertThat(loads).hasValue(1);
+        assertThat(cache.get(KEY, loader("other"))).containsEntry("source", "reddit");
+        assertThat(rows.get(KEY).getPayload()).contains("reddit");
+    }
+
+    @Test
+    void failedBackgroundRefreshAllowsAnotherAttempt() throws Exception {
+        seed(KEY, "stale", Duration.ofDays(1));
+        SocialDataCache cache = cache(scheduled::add);
+
+        cache.get(KEY, failingLoader());
+        scheduled.get(0).run();
+
+        assertThat(cache.get(KEY, loader("reddit"))).containsEntry("source", "stale");
+        assertThat(scheduled).hasSize(2);
+    }
+
+    @Test
+    void rejectedRefreshKeepsTheStaleEntryAndRetriesLater() throws Exception {
+        seed(KEY, "stale", Duration.ofDays(1));
+        AtomicInteger attempts = new AtomicInteger();
+        SocialDataCache cache = cache(task -> {
+            attempts.incrementAndGet();
+            throw new TaskRejectedException("queue full");
+        });
+
+        assertThat(cache.get(KEY, loader("reddit"))).containsEntry("source", "stale");
+        assertThat(cache.get(KEY, loader("reddit"))).containsEntry("source", "stale");
+        assertThat(attempts).hasValue(2);
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    void expiredEntryIsReloadedSynchronously() throws Exception {
+        seed(KEY, "expired", Duration.ofDays(8));
+
+        assertThat(cache(scheduled::add).get(KEY, loader("reddit"))).containsEntry("source", "reddit");
+        assertThat(loads).hasValue(1);
+        assertThat(scheduled).isEmpty();
+    }
+
+    @Test
+    void expiredEntryIsServedWhenRedditFails() throws Exception {
+        seed(KEY, "expired", Duration.ofDays(8));
+
+        assertThat(cache(scheduled::add).get(KEY, failingLoader())).containsEntry("source", "expired");
+        assertThat(rows.get(KEY).getPayload()).contains("expired");
+    }
+
+    @Test
+    void missingEntryPropagatesTheFailureAndCachesNothing() {
+        SocialDataCache cache = cache(scheduled::add);
+
+        assertThatThrownBy(() -> cache.get(KEY, failingLoader())).isInstanceOf(IOException.class);
+        assertThat(rows).isEmpty();
+    }
+
+    @Test
+    void newerDatabaseRowReplacesAnOutdatedMemoryEntry() throws Exception {
+        seed(KEY, "stale", Duration.ofDays(1));
+        SocialDataCache cache = cache(scheduled::add);
+        cache.get(KEY, loader("reddit"));
+        scheduled.clear();
+
+        // Otro nodo la renovó mientras tanto
+        seed(KEY, "other-node", Duration.ofMinutes(5));
+
+        assertThat(cache.get(KEY, loader("reddit"))).containsEntry("source", "other-node");
+        assertThat(scheduled).isEmpty();
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    void unreadableRowIsTreatedAsMissing() throws Exception {
+        rows.put(KEY, new SocialDataCacheEntry(KEY, "{not json", Instant.now()));
+
+        assertThat(cache(scheduled::add).get(KEY, loader("reddit"))).containsEntry("source", "reddit");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void needsRefreshLooksAheadOfTheFreshTtl() {
+        SocialDataCache cache = cache(scheduled::add);
+        assertThat(cache.needsRefresh(KEY, Duration.ofHours(1))).isTrue();
+
+        seed(KEY, "database", Duration.ofHours(4));
+        assertThat(cache.needsRefresh(KEY, Duration.ofHours(1))).isFalse();
+        assertThat(cache.needsRefresh(KEY, Duration.ofHours(3))).isTrue();
+    }
+
+    private SocialDataCache cache(TaskExecutor executor) {
+        return new SocialDataCache(repository, objectMapper, executor, FRESH_TTL, STALE_TTL);
+    }
+
+    private void seed(String key, String source, Duration age) {
+        rows.put(key, new SocialDataCacheEntry(key, "{\"source\":\"" + source + "\"}", Instant.now().minus(age)));
+    }
+
+    private Callable<Map<String, Object>> loader(String source) {
+        return () -> {
+            loads.incrementAndGet();
+            return Map.of("source", source);
+        };
+    }
+
+    private static Callable<Map<String, Object>> failingLoader() {
+        return () -> {
+            throw new IOException("reddit unavailable");
+        };
+    }
+}
@@ -0,0 +1,91 @@
+package compass.career.evaluationsapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import compass.career.evaluationsapi.dto.SpecializationAreaResponse;
+import compass.career.evaluationsapi.dto.Versioned;
+import compass.career.evaluationsapi.event.CatalogChangedEvent;
+import compass.career.evaluationsapi.repository.SpecializationAreaRepository;
+import compass.career.evaluationsapi.repository.projection.SpecializationAreaView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SpecializationCatalogCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(1);
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private SpecializationAreaRepository repository;
+    private SpecializationCatalogCache cache;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(SpecializationAreaRepository.class);
+        cache = new SpecializationCatalogCache(repository, new ContentETags(new ObjectMapper()),
+                new SimpleMeterRegistry(), TTL, now::get);
+    }
+
+    @Test
+    void pagesAreReloadedOnceTheTtlExpires() {
+        List<SpecializationAreaView> original = List.of(view(1, "Redes"));
+        List<SpecializationAreaView> edited = List.of(view(1, "Redes y Seguridad"));
+        when(repository.findAllViews(any(Pageable.class))).thenReturn(original);
+        Versioned<List<SpecializationAreaResponse>> first = cache.getPage(null, 0, 10);
+
+        now.addAndGet(TTL.toNanos() - 1);
+        assertThat(cache.getPage(null, 0, 10)).isSameAs(first);
+
+        // Editada en otra instancia: sin evento local, el cambio llega al vencer el TTL
+        when(repository.findAllViews(any(Pageable.class))).thenReturn(edited);
+        now.addAndGet(1);
+
+        Versioned<List<SpecializationAreaResponse>> reloaded = cache.getPage(null, 0, 10);
+        assertThat(reloaded.body()).extracting(SpecializationAreaResponse::getName).containsExactly("Redes y Seguridad");
+        assertThat(reloaded.etag()).isNotEqualTo(first.etag());
+        verify(repository, times(2)).findAllViews(any(Pageable.class));
+    }
+
+    @Test
+    void specializationsByIdExpireToo() {
+        SpecializationAreaView view = view(1, "Redes");
+        when(repository.findViewById(1)).thenReturn(Optional.of(view));
+        cache.getById(1);
+        cache.getById(1);
+        verify(repository, times(1)).findViewById(1);
+
+        now.addAndGet(TTL.toNanos());
+        cache.getById(1);
+        verify(repository, times(2)).findViewById(1);
+    }
+
+    @Test
+    void anyLocalCatalogChangeClearsTheCache() {
+        SpecializationAreaView view = view(1, "Redes");
+        when(repository.findViewById(1)).thenReturn(Optional.of(view));
+        cache.getById(1);
+
+        cache.onCatalogChanged(CatalogChangedEvent.careers(3));
+        cache.getById(1);
+
+        verify(repository, times(2)).findViewById(1);
+    }
+
+    private static SpecializationAreaView view(int id, String name) {
+        SpecializationAreaView view = mock(SpecializationAreaView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getName()).thenReturn(name);
+        when(view.getCareerId()).thenReturn(1);
+        when(view.getCareerName()).thenReturn("Ingenieria de Sistemas");
+        return view;
+    }
+}
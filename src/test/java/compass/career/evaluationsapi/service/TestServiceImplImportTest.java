@@ -0,0 +1,128 @@
+package compass.career.evaluationsapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import compass.career.evaluationsapi.dto.QuestionRequest;
+import compass.career.evaluationsapi.dto.TestImportRequest;
+import compass.career.evaluationsapi.dto.TestImportResponse;
+import compass.career.evaluationsapi.model.TestType;
+import compass.career.evaluationsapi.repository.QuestionBatchRepository;
+import compass.career.evaluationsapi.repository.QuestionRepository;
+import compass.career.evaluationsapi.repository.TestRepository;
+import compass.career.evaluationsapi.repository.TestTypeRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TestServiceImplImportTest {
+
+    private static final String HEADER = "questionText,orderNumber,optionText,weightValue,category\n";
+
+    private QuestionBatchRepository questionBatchRepository;
+    private TestServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        TestRepository testRepository = mock(TestRepository.class);
+        TestTypeRepository testTypeRepository = mock(TestTypeRepository.class);
+        questionBatchRepository = mock(QuestionBatchRepository.class);
+
+        TestType testType = new TestType();
+        testType.setId(1);
+        testType.setName("Vocational");
+        when(testTypeRepository.findById(1)).thenReturn(Optional.of(testType));
+        when(testRepository.findByTestTypeIdAndActiveTrue(1)).thenReturn(Optional.empty());
+        when(testRepository.save(any(compass.career.evaluationsapi.model.Test.class))).thenAnswer(invocation -> {
+            compass.career.evaluationsapi.model.Test test = invocation.getArgument(0);
+            test.setId(10);
+            return test;
+        });
+        when(questionBatchRepository.insertAll(eq(10), anyList()))
+                .thenAnswer(invocation -> invocation.<List<QuestionRequest>>getArgument(1).size() * 2);
+
+        service = new TestServiceImpl(testRepository, testTypeRepository, mock(QuestionRepository.class),
+                questionBatchRepository, new QuestionBankReader(new ObjectMapper()),
+                Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(service, "importBatchSize", 40);
+        ReflectionTestUtils.setField(service, "importMaxQuestions", 1_000);
+        ReflectionTestUtils.setField(service, "importMaxReportedErrors", 5);
+    }
+
+    @Test
+    void importsInBatchesOfTheConfiguredSize() {
+        TestImportResponse response = service.importTest(request(), "text/csv", csv(1, 100));
+
+        assertThat(response.getQuestionsImported()).isEqualTo(100);
+        assertThat(response.getOptionsImported()).isEqualTo(200);
+        assertThat(response.getBatches()).isEqualTo(3);
+        assertThat(response.getFormat()).isEqualTo("CSV");
+        assertThat(response.getCompressed()).isFalse();
+        verify(questionBatchRepository, times(3)).insertAll(eq(10), anyList());
+    }
+
+    @Test
+    void duplicatedOrderNumberRejectsTheWholeImport() {
+        // La pregunta 50 repetida no es consecutiva, así que el CSV la lee como una pregunta más
+        String body = HEADER + rows(1, 100) + "Repetida,50,Si,1,\n";
+
+        assertThatThrownBy(() -> service.importTest(request(), "text/csv", stream(body)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("1 invalid questions")
+                .hasMessageContaining("line 202: orderNumber 50 is duplicated");
+        // Las dos primeras tandas ya se escribieron antes del error; la transacción las revierte
+        verify(questionBatchRepository, times(2)).insertAll(anyInt(), anyList());
+    }
+
+    @Test
+    void invalidQuestionsAreReportedWithTheirLineAndNothingMoreIsWritten() {
+        String body = HEADER + "Sin opcion,1,,1,\n" + rows(2, 100);
+
+        assertThatThrownBy(() -> service.importTest(request(), "text/csv", stream(body)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 2: options[0].optionText");
+        verify(questionBatchRepository, never()).insertAll(anyInt(), anyList());
+    }
+
+    private static TestImportRequest request() {
+        TestImportRequest request = new TestImportRequest();
+        request.setName("Banco importado");
+        request.setTestTypeId(1);
+        request.setQuestionsToShow(20);
+        return request;
+    }
+
+    private static ByteArrayInputStream csv(int from, int to) {
+        return stream(HEADER + rows(from, to));
+    }
+
+    // Dos opciones por pregunta
+    private static String rows(int from, int to) {
+        StringBuilder rows = new StringBuilder();
+        for (int i = from; i <= to; i++) {
+            rows.append("Pregunta ").append(i).append(',').append(i).append(",Si,1,TECH\n");
+            rows.append("Pregunta ").append(i).append(',').append(i).append(",No,0,TECH\n");
+        }
+        return rows.toString();
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}